@@ -21,7 +21,7 @@ public class ChatApp {
         .computeIfAbsent("messages", key -> new ArrayList<>());
 
     // show messages
-    var messagesContainer = Jt.container().use();
+    var messagesContainer = Jt.container().appendOnly().use();
     for (Message message : messages) {
       message.use(messagesContainer);
     }
@@ -0,0 +1,27 @@
+import java.util.List;
+
+import io.javelit.core.Jt;
+
+public class AsyncApp {
+  public static void main(String[] args) {
+    Jt.title("Dashboard").use();
+    var cols = Jt.columns(2).use();
+
+    // both panels load at the same time - the title is displayed immediately
+    Jt.async(() -> slowQuery(List.of(120, 98, 143)), (sales, container) -> {
+      Jt.text("Sales: " + sales).use(container);
+    }).use(cols.col(0));
+    Jt.async(() -> slowQuery(List.of(12, 7, 9)), (returns, container) -> {
+      Jt.text("Returns: " + returns).use(container);
+    }).use(cols.col(1));
+  }
+
+  private static int slowQuery(List<Integer> values) {
+    try {
+      Thread.sleep(2000);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+    return values.stream().mapToInt(Integer::intValue).sum();
+  }
+}
@@ -0,0 +1,17 @@
+import java.util.List;
+
+import io.javelit.core.Jt;
+
+public class FragmentApp {
+  public static void main(String[] args) {
+    Jt.title("Sales report").use();
+    // slow to compute - not recomputed when the fragment is re-run
+    List<Integer> sales = List.of(120, 98, 143, 110);
+    Jt.text("Total: " + sales.stream().mapToInt(Integer::intValue).sum()).use();
+
+    Jt.fragment(container -> {
+      int week = Jt.slider("Week").min(1).max(sales.size()).value(1).use(container).intValue();
+      Jt.text("Sales of week " + week + ": " + sales.get(week - 1)).use(container);
+    }).use();
+  }
+}
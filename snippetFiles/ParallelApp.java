@@ -0,0 +1,22 @@
+import java.util.List;
+
+import io.javelit.core.Jt;
+
+public class ParallelApp {
+  public static void main(String[] args) {
+    Jt.title("Regional dashboard").use();
+    var regions = List.of("North", "South", "East");
+    var cols = Jt.columns(regions.size()).use();
+
+    // the 3 panels are computed at the same time
+    Jt.parallel(List.of(cols.col(0), cols.col(1), cols.col(2)), (i, col) -> {
+      Jt.subheader(regions.get(i)).use(col);
+      Jt.text("Sales: " + slowQuery(regions.get(i))).use(col);
+    });
+  }
+
+  private static int slowQuery(String region) throws InterruptedException {
+    Thread.sleep(1000);
+    return region.length() * 100;
+  }
+}
@@ -0,0 +1,13 @@
+import io.javelit.core.Jt;
+
+public class ProgressApp {
+  public static void main(String[] args) throws InterruptedException {
+    var progress = Jt.progress().text("Processing files...").use();
+    int total = 50;
+    for (int i = 1; i <= total; i++) {
+      Thread.sleep(100);
+      progress.update((double) i / total, "Processed " + i + "/" + total + " files");
+    }
+    Jt.success("All files processed").use();
+  }
+}
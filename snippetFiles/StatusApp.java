@@ -0,0 +1,12 @@
+import io.javelit.components.status.StatusComponent.State;
+import io.javelit.core.Jt;
+
+public class StatusApp {
+  public static void main(String[] args) throws InterruptedException {
+    var status = Jt.status("Downloading data...").use();
+    Thread.sleep(1000);
+    status.update("Training the model...");
+    Thread.sleep(2000);
+    status.update(State.COMPLETE, "Model ready");
+  }
+}
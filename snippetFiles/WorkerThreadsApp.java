@@ -0,0 +1,33 @@
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import io.javelit.core.Jt;
+
+public class WorkerThreadsApp {
+  public static void main(String[] args) {
+    Jt.title("Dashboard").use();
+    var regions = List.of("North", "South", "East");
+    var cols = Jt.columns(regions.size()).use();
+
+    // each panel is computed in its own thread - the app waits for all of them at the end of the try block
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < regions.size(); i++) {
+        var region = regions.get(i);
+        var col = cols.col(i);
+        executor.submit(Jt.withAppContext(() -> {
+          Jt.subheader(region).use(col);
+          Jt.text("Sales: " + slowQuery(region)).use(col);
+        }));
+      }
+    }
+  }
+
+  private static int slowQuery(String region) {
+    try {
+      Thread.sleep(1000);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+    return region.length() * 100;
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.time.Duration;
+import java.util.Map;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * A render server that serializes the delta messages like the real server, without sending them.
+ */
+final class BenchmarkRenderServer implements StateManager.RenderServer {
+
+  // read by the benchmarks to prevent dead code elimination
+  long sentBytes;
+  int sentMessages;
+
+  @Override
+  public void send(final @Nonnull String sessionId,
+                   final @Nullable String renderHtml,
+                   final @Nullable String registrationHtml,
+                   final @Nonnull JtContainer container,
+                   final @Nullable Integer index,
+                   final boolean clearBefore) {
+    final Map<String, Object> message = Server.deltaMessage(renderHtml, registrationHtml, container, index, clearBefore);
+    try {
+      sentBytes += Shared.OBJECT_MAPPER.writeValueAsString(message).length();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    sentMessages++;
+  }
+
+  @Override
+  public void sendStatus(final @Nonnull String sessionId,
+                         final @Nonnull StateManager.ExecutionStatus executionStatus,
+                         final @Nullable Map<String, Integer> unusedComponents,
+                         final @Nullable Map<String, Object> runProfile) {
+  }
+
+  @Override
+  public boolean push(final @Nonnull String sessionId, final @Nonnull String componentKey, final @Nullable Object payload) {
+    return true;
+  }
+
+  @Override
+  public void scheduleFragmentRuns(final @Nonnull String sessionId, final @Nonnull Map<String, Duration> periods) {
+  }
+
+  @Override
+  public void runFragment(final @Nonnull String sessionId, final @Nonnull FragmentComponent fragment) {
+  }
+}
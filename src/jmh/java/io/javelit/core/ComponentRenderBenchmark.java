@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JtComponent#render()} and {@link JtComponent#register()} of the components that can be built outside of a
+ * run. render() is called for each component at each run, register() for the first component of each type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComponentRenderBenchmark {
+
+  private static final List<String> OPTIONS = List.of("first", "second", "third");
+
+  @Param({"text", "markdown", "title", "code", "html", "callout", "button", "checkbox", "toggle", "slider",
+      "numberInput", "textInput", "textArea", "dateInput", "radio", "selectbox", "table"})
+  public String component;
+
+  private JtComponent<?> jtComponent;
+
+  @Setup
+  public void setup() {
+    jtComponent = switch (component) {
+      case "text" -> Jt.text("Some text").help("some help").build();
+      case "markdown" -> Jt.markdown("## A title\nSome _markdown_ with a [link](https://javelit.io)").build();
+      case "title" -> Jt.title("A **title**").build();
+      case "code" -> Jt.code("final int a = 1;\nSystem.out.println(a);").language("java").build();
+      case "html" -> Jt.html("<div><b>Some</b> html</div>").build();
+      case "callout" -> Jt.error("Something **failed**").build();
+      case "button" -> Jt.button("Click **me**").build();
+      case "checkbox" -> Jt.checkbox("Check").build();
+      case "toggle" -> Jt.toggle("Toggle").build();
+      case "slider" -> Jt.slider("Slide").build();
+      case "numberInput" -> Jt.numberInput("Number").build();
+      case "textInput" -> Jt.textInput("Text").build();
+      case "textArea" -> Jt.textArea("Text area").build();
+      case "dateInput" -> Jt.dateInput("Date").build();
+      case "radio" -> Jt.radio("Radio", OPTIONS).build();
+      case "selectbox" -> Jt.selectbox("Select", OPTIONS).build();
+      case "table" -> Jt.table(List.of(Map.of("a", 1, "b", "x"), Map.of("a", 2, "b", "y"))).build();
+      default -> throw new IllegalArgumentException("Unknown component: " + component);
+    };
+  }
+
+  @Benchmark
+  public String render() {
+    return jtComponent.render();
+  }
+
+  @Benchmark
+  public String register() {
+    return jtComponent.register();
+  }
+}
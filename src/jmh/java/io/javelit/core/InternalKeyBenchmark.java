@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.javelit.components.input.SelectBoxComponent;
+import io.javelit.components.input.SliderComponent;
+import io.javelit.components.text.TextComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JtComponentBuilder#generateInternalKey()}: computed for each component, at each run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InternalKeyBenchmark {
+
+  private TextComponent.Builder text;
+  private SliderComponent.Builder slider;
+  private SelectBoxComponent.Builder<String> selectbox;
+
+  @Setup
+  public void setup() {
+    text = Jt.text("Some text").help("some help");
+    slider = Jt.slider("Slide").min(0).max(1000).value(30);
+    selectbox = Jt.selectbox("Pick", List.of("first", "second", "third"));
+  }
+
+  @Benchmark
+  public String text() {
+    return text.generateInternalKey();
+  }
+
+  @Benchmark
+  public String slider() {
+    return slider.generateInternalKey();
+  }
+
+  @Benchmark
+  public String selectbox() {
+    return selectbox.generateInternalKey();
+  }
+}
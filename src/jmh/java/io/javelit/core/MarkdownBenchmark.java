@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MarkdownUtils} rendering, with and without the render cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarkdownBenchmark {
+
+  @Param({"label", "document"})
+  public String markdownType;
+
+  private String markdown;
+
+  @Setup
+  public void setup() {
+    markdown = switch (markdownType) {
+      case "label" -> "Your **name** :wave:";
+      case "document" -> """
+          # A document
+          Some _emphasis_, **strong** and ~~strikethrough~~ text, with a link: https://javelit.io
+          
+          | column a | column b |
+          |----------|----------|
+          | 1        | 2        |
+          
+          - a list
+          - of items
+          """.repeat(20);
+      default -> throw new IllegalArgumentException("Unknown markdown type: " + markdownType);
+    };
+  }
+
+  @Benchmark
+  public String cached() {
+    return MarkdownUtils.markdownToHtml(markdown, true);
+  }
+
+  @Benchmark
+  public String uncached() {
+    return MarkdownUtils.markdownToHtmlUncached(markdown, true);
+  }
+}
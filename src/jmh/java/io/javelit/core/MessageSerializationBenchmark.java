@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of the messages sent by the {@link Server} to the browser.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageSerializationBenchmark {
+
+  private String renderHtml;
+  private String registrationHtml;
+  private Map<String, Object> pushPayload;
+
+  @Setup
+  public void setup() {
+    final JtComponent<?> component = Jt.selectbox("Select", List.of("first", "second", "third")).build();
+    renderHtml = component.render();
+    registrationHtml = component.register();
+    // a live chart update: 100 points for 2 series
+    final List<Object> points = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      points.add(List.of(i, Math.sin(i)));
+    }
+    pushPayload = Map.of("type", "component_push",
+                         "componentKey", "some_key",
+                         "value", Map.of("sequence", 1L, "series", Map.of(0, points, 1, points)));
+  }
+
+  @Benchmark
+  public String delta() throws JsonProcessingException {
+    return Shared.OBJECT_MAPPER.writeValueAsString(Server.deltaMessage(renderHtml, null, JtContainer.MAIN, 3, false));
+  }
+
+  @Benchmark
+  public String deltaWithRegistration() throws JsonProcessingException {
+    return Shared.OBJECT_MAPPER.writeValueAsString(Server.deltaMessage(renderHtml,
+                                                                       registrationHtml,
+                                                                       JtContainer.MAIN,
+                                                                       3,
+                                                                       false));
+  }
+
+  @Benchmark
+  public String push() throws JsonProcessingException {
+    return Shared.OBJECT_MAPPER.writeValueAsString(pushPayload);
+  }
+}
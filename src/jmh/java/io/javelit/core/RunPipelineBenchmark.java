@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A full run of an app: {@link StateManager#beginExecution}, components added with the Jt methods,
+ * {@link StateManager#endExecution}. The render server serializes the messages but does not send them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RunPipelineBenchmark {
+
+  private static final List<String> OPTIONS = List.of("first", "second", "third");
+
+  // each iteration adds a text, a button and a selectbox
+  @Param({"10", "100", "1000"})
+  public int componentGroups;
+
+  private BenchmarkRenderServer renderServer;
+  private String sessionId;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    renderServer = new BenchmarkRenderServer();
+    sessionId = UUID.randomUUID().toString();
+    // first run - the next runs are diffed against it
+    run(sessionId);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    StateManager.clearSession(sessionId);
+  }
+
+  /**
+   * Rerun of an unchanged app: every component is rendered and compared with the previous run, nothing is sent.
+   */
+  @Benchmark
+  public int rerunUnchanged() {
+    run(sessionId);
+    return renderServer.sentMessages;
+  }
+
+  /**
+   * First run of a new session: every component is rendered, registered and sent.
+   */
+  @Benchmark
+  public int firstRun() {
+    final String newSessionId = UUID.randomUUID().toString();
+    try {
+      run(newSessionId);
+    } finally {
+      StateManager.clearSession(newSessionId);
+    }
+    return renderServer.sentMessages;
+  }
+
+  private void run(final String runSessionId) {
+    StateManager.beginExecution(runSessionId, renderServer);
+    try {
+      for (int i = 0; i < componentGroups; i++) {
+        Jt.text("Some text " + i).use();
+        Jt.button("Button **" + i + "**").use();
+        Jt.selectbox("Select " + i, OPTIONS).use();
+      }
+    } finally {
+      StateManager.endExecution();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.javelit.components.data.TableComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building a {@link TableComponent} from a list of rows, then rendering it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableBuildBenchmark {
+
+  @Param({"100", "10000", "100000"})
+  public int rowCount;
+
+  private List<Map<String, Object>> rows;
+
+  @Setup
+  public void setup() {
+    rows = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      final Map<String, Object> row = new LinkedHashMap<>();
+      row.put("id", i);
+      row.put("name", "name " + i);
+      row.put("score", i * 0.5);
+      row.put("active", i % 2 == 0);
+      rows.add(row);
+    }
+  }
+
+  @Benchmark
+  public TableComponent build() {
+    return Jt.table(rows).build();
+  }
+
+  @Benchmark
+  public String buildAndRender() {
+    final JtComponent<?> table = Jt.table(rows).build();
+    return table.render();
+  }
+}
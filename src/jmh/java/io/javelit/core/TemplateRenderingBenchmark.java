@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the component rendering path ({@link Templates}) with a plain {@link DefaultMustacheFactory}
+ * writing in a new {@link StringWriter}, as the components did before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplateRenderingBenchmark {
+
+  @Param({"text", "button", "slider", "selectbox"})
+  public String component;
+
+  private JtComponent<?> jtComponent;
+  private Mustache defaultFactoryTemplate;
+
+  @Setup
+  public void setup() {
+    final String templatePath;
+    switch (component) {
+      case "text" -> {
+        jtComponent = Jt.text("Some text").help("some help").build();
+        templatePath = "components/TextComponent.render.html.mustache";
+      }
+      case "button" -> {
+        jtComponent = Jt.button("Click **me**").key("button").build();
+        templatePath = "components/input/ButtonComponent.render.html.mustache";
+      }
+      case "slider" -> {
+        jtComponent = Jt.slider("Slide").key("slider").build();
+        templatePath = "components/input/SliderComponent.render.html.mustache";
+      }
+      case "selectbox" -> {
+        jtComponent = Jt.selectbox("Pick", List.of("a", "b", "c")).key("selectbox").build();
+        templatePath = "components/input/SelectBoxComponent.render.html.mustache";
+      }
+      default -> throw new IllegalArgumentException("Unknown component: " + component);
+    }
+    final MustacheFactory mf = new DefaultMustacheFactory();
+    defaultFactoryTemplate = mf.compile(templatePath);
+  }
+
+  @Benchmark
+  public String defaultFactory() {
+    final StringWriter writer = new StringWriter();
+    defaultFactoryTemplate.execute(writer, jtComponent);
+    return writer.toString();
+  }
+
+  @Benchmark
+  public String componentRender() {
+    return jtComponent.render();
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.javelit.core.Shared;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A browser session, without a browser: loads the index page to get the session cookies, then talks to the server
+ * with the WebSocket. The duration of a run is measured from the message sent to the END status received.
+ */
+final class ClientSession implements WebSocket.Listener, AutoCloseable {
+
+  private static final Pattern COMPONENT = Pattern.compile("<(jt-[a-z0-9-]+)\\b[^>]*?\\scomponent-key=\"([^\"]+)\"");
+
+  private final @Nonnull HttpClient client;
+  private final @Nonnull URI baseUri;
+  private final @Nonnull Duration timeout;
+
+  private final CompletableFuture<Void> sessionInit = new CompletableFuture<>();
+  // component key -> tag, in order of appearance - only read between runs
+  private final Map<String, String> componentTags = new LinkedHashMap<>();
+  private final StringBuilder partialMessage = new StringBuilder();
+  private volatile CompletableFuture<Void> runEnd = new CompletableFuture<>();
+  private volatile long runDeltaBytes;
+  private @Nullable WebSocket ws;
+
+  ClientSession(final @Nonnull HttpClient client, final @Nonnull URI baseUri, final @Nonnull Duration timeout) {
+    this.client = client;
+    this.baseUri = baseUri;
+    this.timeout = timeout;
+  }
+
+  void connect() throws Exception {
+    final HttpResponse<Void> index = client.send(HttpRequest.newBuilder(baseUri).timeout(timeout).GET().build(),
+                                                 HttpResponse.BodyHandlers.discarding());
+    final List<String> cookies = new ArrayList<>();
+    for (final String setCookie : index.headers().allValues("set-cookie")) {
+      cookies.add(setCookie.split(";", 2)[0]);
+    }
+    final URI wsUri = URI.create(baseUri.toString().replaceFirst("^http", "ws").replaceFirst("/?$", "/_/ws"));
+    ws = client.newWebSocketBuilder()
+               .header("Cookie", String.join("; ", cookies))
+               .connectTimeout(timeout)
+               .buildAsync(wsUri, this)
+               .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    sessionInit.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  static @Nonnull Map<String, Object> pathUpdate(final @Nonnull String path,
+                                                 final @Nonnull Map<String, List<String>> queryParameters) {
+    return Map.of("type", "path_update", "path", path, "queryParameters", queryParameters);
+  }
+
+  static @Nonnull Map<String, Object> componentUpdate(final @Nonnull String componentKey, final @Nullable Object value) {
+    final Map<String, Object> message = new LinkedHashMap<>();
+    message.put("type", "component_update");
+    message.put("componentKey", componentKey);
+    message.put("value", value);
+    return message;
+  }
+
+  static @Nonnull Map<String, Object> formSubmit(final @Nonnull String submitButtonKey,
+                                                 final @Nonnull Map<String, Object> formValues) {
+    return Map.of("type", "form_submit", "componentKey", submitButtonKey, "value", formValues);
+  }
+
+  /**
+   * Sends the message and waits for the END status of the run it triggers.
+   * Returns the duration in nanoseconds, or -1 if the run did not end before the timeout.
+   */
+  long run(final @Nonnull Map<String, Object> message) throws Exception {
+    final long start = System.nanoTime();
+    send(message);
+    try {
+      runEnd.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      return -1;
+    }
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Sends the message without waiting for a run, for messages that do not trigger a run.
+   */
+  void send(final @Nonnull Map<String, Object> message) throws Exception {
+    checkState(ws != null, "Session is not connected");
+    runEnd = new CompletableFuture<>();
+    runDeltaBytes = 0;
+    ws.sendText(Shared.OBJECT_MAPPER.writeValueAsString(message), true)
+      .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  // size of the delta messages received since the last message sent
+  long runDeltaBytes() {
+    return runDeltaBytes;
+  }
+
+  /**
+   * Returns the key of the component with the given tag at the given position, among the components seen in the
+   * previous runs, or null if not found.
+   */
+  @Nullable String componentKey(final @Nonnull String tag, final int position) {
+    int index = 0;
+    for (final Map.Entry<String, String> e : componentTags.entrySet()) {
+      if (e.getValue().equals(tag) && index++ == position) {
+        return e.getKey();
+      }
+    }
+    return null;
+  }
+
+  // whether the component was seen in the previous runs
+  boolean hasComponent(final @Nonnull String componentKey) {
+    return componentTags.containsKey(componentKey);
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (ws != null) {
+      ws.sendClose(WebSocket.NORMAL_CLOSURE, "").get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public CompletionStage<?> onText(final WebSocket webSocket, final CharSequence data, final boolean last) {
+    partialMessage.append(data);
+    if (last) {
+      final String message = partialMessage.toString();
+      partialMessage.setLength(0);
+      try {
+        handle(message);
+      } catch (Exception e) {
+        runEnd.completeExceptionally(e);
+      }
+    }
+    webSocket.request(1);
+    return null;
+  }
+
+  private void handle(final @Nonnull String message) throws Exception {
+    final JsonNode node = Shared.OBJECT_MAPPER.readTree(message);
+    switch (node.path("type").asText()) {
+      case "session_init" -> sessionInit.complete(null);
+      case "delta" -> {
+        runDeltaBytes += message.getBytes(StandardCharsets.UTF_8).length;
+        final Matcher matcher = COMPONENT.matcher(node.path("html").asText(""));
+        while (matcher.find()) {
+          componentTags.putIfAbsent(matcher.group(2), matcher.group(1));
+        }
+      }
+      case "status" -> {
+        if ("END".equals(node.path("status").asText())) {
+          runEnd.complete(null);
+        }
+      }
+      default -> {
+        // other messages are not measured
+      }
+    }
+  }
+
+  @Override
+  public void onError(final WebSocket webSocket, final Throwable error) {
+    sessionInit.completeExceptionally(error);
+    runEnd.completeExceptionally(error);
+  }
+}
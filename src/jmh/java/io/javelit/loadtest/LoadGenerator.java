@@ -0,0 +1,189 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import ch.qos.logback.classic.Level;
+import io.javelit.core.BuildSystem;
+import io.javelit.core.Server;
+import io.javelit.core.Shared;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Opens many concurrent sessions on a Javelit server and measures the duration of the app runs, as seen by a client.
+ * Runs a local server for the scenario app, or targets an existing server with --url.
+ * <p>
+ * Run with: {@code ./mvnw -Pbenchmarks test-compile exec:exec@load-test -Dload.args="--scenario SLIDER --sessions 200"}
+ */
+@Command(name = "load-test",
+    mixinStandardHelpOptions = true,
+    description = "Simulates concurrent users of a Javelit app and reports the run latencies")
+public final class LoadGenerator implements Callable<Integer> {
+
+  @SuppressWarnings("unused") @Option(names = {"--scenario"},
+      description = "Bundled scenario: ${COMPLETION-CANDIDATES}. Default: ${DEFAULT-VALUE}",
+      defaultValue = "SLIDER") private Scenario scenario;
+
+  @SuppressWarnings("unused") @Option(names = {"--app"},
+      description = "App file to run instead of the app of the scenario") private Path app;
+
+  @SuppressWarnings("unused") @Option(names = {"--step"},
+      description = "Step to play instead of the steps of the scenario. Can be repeated. Format: <tag>[<index>]=<json value>, eg jt-slider[0]={i}") private List<String> steps;
+
+  @SuppressWarnings("unused") @Option(names = {"--url"},
+      description = "Url of a running Javelit server. If not set, a local server is started with the app.") private URI url;
+
+  @SuppressWarnings("unused") @Option(names = {"--sessions"},
+      description = "Number of concurrent sessions. Default: ${DEFAULT-VALUE}",
+      defaultValue = "100") private int sessions;
+
+  @SuppressWarnings("unused") @Option(names = {"--iterations"},
+      description = "Number of times each session plays the steps. Default: ${DEFAULT-VALUE}",
+      defaultValue = "20") private int iterations;
+
+  @SuppressWarnings("unused") @Option(names = {"--ramp-up-ms"},
+      description = "Sessions are started evenly over this duration. Default: ${DEFAULT-VALUE}",
+      defaultValue = "5000") private long rampUpMs;
+
+  @SuppressWarnings("unused") @Option(names = {"--think-time-ms"},
+      description = "Pause after each step. Default: ${DEFAULT-VALUE}",
+      defaultValue = "100") private long thinkTimeMs;
+
+  @SuppressWarnings("unused") @Option(names = {"--timeout-s"},
+      description = "Maximum duration of a run. Default: ${DEFAULT-VALUE}",
+      defaultValue = "30") private int timeoutSeconds;
+
+  public static void main(final String[] args) {
+    System.exit(new CommandLine(new LoadGenerator()).execute(args));
+  }
+
+  @Override
+  public Integer call() throws Exception {
+    // the server logs each session
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    final Duration timeout = Duration.ofSeconds(timeoutSeconds);
+    final List<Step> sessionSteps = steps == null ? scenario.steps() : steps.stream().map(Step::parse).toList();
+
+    Server server = null;
+    URI baseUri = url;
+    if (baseUri == null) {
+      final int port = freePort();
+      server = Server.builder(app != null ? app : scenario.appPath(), port).buildSystem(BuildSystem.RUNTIME).build();
+      server.start();
+      baseUri = URI.create("http://localhost:" + port + "/");
+    }
+    final HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    try {
+      awaitReady(client, baseUri, timeout);
+      final LoadStats stats = new LoadStats();
+      final long start = System.nanoTime();
+      try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int i = 0; i < sessions; i++) {
+          final long startDelayMs = sessions > 1 ? rampUpMs * i / (sessions - 1) : 0;
+          final URI sessionUri = baseUri;
+          executor.submit(() -> {
+            try {
+              Thread.sleep(startDelayMs);
+              play(new ClientSession(client, sessionUri, timeout), sessionSteps, stats);
+            } catch (Exception e) {
+              stats.sessionFailed();
+            }
+            return null;
+          });
+        }
+      }
+      stats.print(System.out, System.nanoTime() - start);
+      return 0;
+    } finally {
+      if (server != null) {
+        server.stop();
+      }
+    }
+  }
+
+  private void play(final ClientSession session, final List<Step> sessionSteps, final LoadStats stats)
+      throws Exception {
+    try (session) {
+      session.connect();
+      stats.sessionConnected();
+      final long firstRun = session.run(ClientSession.pathUpdate("/", Map.of()));
+      if (firstRun < 0) {
+        stats.runTimedOut();
+      } else {
+        stats.recordFirstRun(firstRun, session.runDeltaBytes());
+      }
+      for (int i = 0; i < iterations; i++) {
+        for (final Step step : sessionSteps) {
+          final String componentKey = session.componentKey(step.tag(), step.index());
+          if (componentKey == null) {
+            stats.componentNotFound();
+            continue;
+          }
+          final Object value = Shared.OBJECT_MAPPER.readTree(step.valueJson(i));
+          final long rerun = session.run(ClientSession.componentUpdate(componentKey, value));
+          if (rerun < 0) {
+            stats.runTimedOut();
+          } else {
+            stats.recordRerun(rerun, session.runDeltaBytes());
+          }
+          if (thinkTimeMs > 0) {
+            Thread.sleep(thinkTimeMs);
+          }
+        }
+      }
+    }
+  }
+
+  static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  // the app is compiled before the server is ready
+  static void awaitReady(final HttpClient client, final URI baseUri, final Duration timeout) throws Exception {
+    final HttpRequest ready = HttpRequest.newBuilder(baseUri.resolve("_/ready")).GET().build();
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    while (System.nanoTime() < deadline) {
+      try {
+        if (client.send(ready, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          return;
+        }
+      } catch (IOException e) {
+        // not started yet
+      }
+      Thread.sleep(100);
+    }
+    throw new IllegalStateException("Server at " + baseUri + " is not ready after " + timeout);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Measurements of all the sessions of a load test. Thread-safe.
+ */
+final class LoadStats {
+
+  private final List<Long> firstRunNanos = new ArrayList<>();
+  private final List<Long> rerunNanos = new ArrayList<>();
+  private long firstRunDeltaBytes;
+  private long rerunDeltaBytes;
+  private final AtomicInteger connectedSessions = new AtomicInteger();
+  private final AtomicInteger failedSessions = new AtomicInteger();
+  private final AtomicInteger timedOutRuns = new AtomicInteger();
+  private final AtomicInteger componentsNotFound = new AtomicInteger();
+
+  void sessionConnected() {
+    connectedSessions.incrementAndGet();
+  }
+
+  void sessionFailed() {
+    failedSessions.incrementAndGet();
+  }
+
+  void runTimedOut() {
+    timedOutRuns.incrementAndGet();
+  }
+
+  void componentNotFound() {
+    componentsNotFound.incrementAndGet();
+  }
+
+  synchronized void recordFirstRun(final long nanos, final long deltaBytes) {
+    firstRunNanos.add(nanos);
+    firstRunDeltaBytes += deltaBytes;
+  }
+
+  synchronized void recordRerun(final long nanos, final long deltaBytes) {
+    rerunNanos.add(nanos);
+    rerunDeltaBytes += deltaBytes;
+  }
+
+  synchronized void print(final @Nonnull PrintStream out, final long wallNanos) {
+    out.printf("sessions: %d connected, %d failed%n", connectedSessions.get(), failedSessions.get());
+    out.printf("runs: %d first runs, %d reruns, %d timed out, %d steps skipped (component not found)%n",
+               firstRunNanos.size(), rerunNanos.size(), timedOutRuns.get(), componentsNotFound.get());
+    final double wallSeconds = wallNanos / 1e9;
+    out.printf("duration: %.1f s, throughput: %.1f runs/s%n",
+               wallSeconds, (firstRunNanos.size() + rerunNanos.size()) / wallSeconds);
+    printLatencies(out, "first run", firstRunNanos, firstRunDeltaBytes);
+    printLatencies(out, "rerun", rerunNanos, rerunDeltaBytes);
+  }
+
+  static void printLatencies(final @Nonnull PrintStream out,
+                                     final @Nonnull String name,
+                                     final @Nonnull List<Long> nanos,
+                                     final long deltaBytes) {
+    if (nanos.isEmpty()) {
+      out.printf("%s: no measurement%n", name);
+      return;
+    }
+    final long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+    out.printf("%s latency (ms): p50=%.1f p95=%.1f p99=%.1f max=%.1f - delta bytes: %d per run, %d total%n",
+               name,
+               percentile(sorted, 0.50) / 1e6,
+               percentile(sorted, 0.95) / 1e6,
+               percentile(sorted, 0.99) / 1e6,
+               sorted[sorted.length - 1] / 1e6,
+               deltaBytes / sorted.length,
+               deltaBytes);
+  }
+
+  private static long percentile(final long[] sorted, final double p) {
+    final int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.loadtest;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Scenarios bundled with the load generator. They run the example apps.
+ */
+enum Scenario {
+  // a slider moved at each iteration - one rerun per iteration
+  SLIDER("examples/SliderTest.java", "jt-slider[0]={i}"),
+  // a button click - the app adds a component in the rerun
+  BUTTON("examples/SliderTest.java", "jt-button[0]=true"),
+  // two checkboxes toggled - two reruns per iteration
+  CHECKBOX("examples/CheckboxExample.java", "jt-checkbox[0]={bool}", "jt-checkbox[1]={bool}"),
+  // text typed in a text input
+  TEXT_INPUT("examples/TextInputExample.java", "jt-text-input[0]=\"answer {i}\"");
+
+  private final String appPath;
+  private final List<String> steps;
+
+  Scenario(final @Nonnull String appPath, final @Nonnull String... steps) {
+    this.appPath = appPath;
+    this.steps = List.of(steps);
+  }
+
+  @Nonnull Path appPath() {
+    return Path.of(appPath);
+  }
+
+  @Nonnull List<Step> steps() {
+    return steps.stream().map(Step::parse).toList();
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.loadtest;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.Nonnull;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A scripted interaction: a component_update sent to a component found by tag name and position.
+ * Format: {@code <tag>[<index>]=<json value>}, for instance {@code jt-slider[0]=42} or {@code jt-text-input[1]="hello"}.
+ * In the value, {@code {i}} is replaced by the iteration number modulo 100,
+ * and {@code {bool}} by {@code true} on even iterations, {@code false} on odd iterations.
+ *
+ * @param tag   the html tag of the component, for instance jt-slider
+ * @param index the position of the component among the components with the same tag, in order of appearance
+ * @param value the json value template
+ */
+record Step(@Nonnull String tag, int index, @Nonnull String value) {
+
+  private static final Pattern FORMAT = Pattern.compile("(jt-[a-z0-9-]+)\\[(\\d+)]=(.+)");
+
+  static @Nonnull Step parse(final @Nonnull String step) {
+    final Matcher matcher = FORMAT.matcher(step.strip());
+    checkArgument(matcher.matches(), "Invalid step: %s. Expected format: <tag>[<index>]=<json value>", step);
+    return new Step(matcher.group(1), Integer.parseInt(matcher.group(2)), matcher.group(3));
+  }
+
+  @Nonnull String valueJson(final int iteration) {
+    return value.replace("{i}", String.valueOf(iteration % 100))
+                .replace("{bool}", String.valueOf(iteration % 2 == 0));
+  }
+}
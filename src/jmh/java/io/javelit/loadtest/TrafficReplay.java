@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.javelit.core.BuildSystem;
+import io.javelit.core.Server;
+import io.javelit.core.Shared;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Replays a traffic recording (see {@code javelit run --record-traffic}) against a server running the current build,
+ * and compares the run durations with the recorded ones.
+ * <p>
+ * Run with: {@code ./mvnw -Pbenchmarks test-compile exec:exec@replay -Dreplay.args="--recording traffic.jsonl --app MyApp.java"}
+ */
+@Command(name = "replay",
+    mixinStandardHelpOptions = true,
+    description = "Replays recorded Javelit sessions and reports the run latencies")
+public final class TrafficReplay implements Callable<Integer> {
+
+  @SuppressWarnings("unused") @Option(names = {"--recording"},
+      description = "The traffic recording file",
+      required = true) private Path recording;
+
+  @SuppressWarnings("unused") @Option(names = {"--app"},
+      description = "The app file to run. Required if --url is not set.") private Path app;
+
+  @SuppressWarnings("unused") @Option(names = {"--url"},
+      description = "Url of a running Javelit server. If not set, a local server is started with the app.") private URI url;
+
+  @SuppressWarnings("unused") @Option(names = {"--speed"},
+      description = "Replay speed compared to the recording. 0 sends each message as soon as the previous run ends. Default: ${DEFAULT-VALUE}",
+      defaultValue = "1") private double speed;
+
+  @SuppressWarnings("unused") @Option(names = {"--timeout-s"},
+      description = "Maximum duration of a run. Default: ${DEFAULT-VALUE}",
+      defaultValue = "30") private int timeoutSeconds;
+
+  // a line of the recording
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private record Message(long t,
+                         String type,
+                         String componentKey,
+                         Object value,
+                         String path,
+                         Map<String, List<String>> queryParameters,
+                         Double runMs) {
+  }
+
+  public static void main(final String[] args) {
+    System.exit(new CommandLine(new TrafficReplay()).execute(args));
+  }
+
+  @Override
+  public Integer call() throws Exception {
+    if (url == null && app == null) {
+      System.err.println("--app or --url is required");
+      return 1;
+    }
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    final Duration timeout = Duration.ofSeconds(timeoutSeconds);
+    final Map<Integer, List<Message>> recordedSessions = read(recording);
+
+    Server server = null;
+    URI baseUri = url;
+    if (baseUri == null) {
+      final int port = LoadGenerator.freePort();
+      server = Server.builder(app, port).buildSystem(BuildSystem.RUNTIME).build();
+      server.start();
+      baseUri = URI.create("http://localhost:" + port + "/");
+    }
+    final HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    try {
+      LoadGenerator.awaitReady(client, baseUri, timeout);
+      final LoadStats stats = new LoadStats();
+      final List<Long> recordedRunNanos = Collections.synchronizedList(new ArrayList<>());
+      final long start = System.nanoTime();
+      try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (final List<Message> messages : recordedSessions.values()) {
+          final URI sessionUri = baseUri;
+          executor.submit(() -> {
+            try {
+              replay(new ClientSession(client, sessionUri, timeout), messages, stats, recordedRunNanos);
+            } catch (Exception e) {
+              stats.sessionFailed();
+            }
+            return null;
+          });
+        }
+      }
+      stats.print(System.out, System.nanoTime() - start);
+      LoadStats.printLatencies(System.out, "recorded run (server side)", recordedRunNanos, 0);
+      return 0;
+    } finally {
+      if (server != null) {
+        server.stop();
+      }
+    }
+  }
+
+  private void replay(final ClientSession session,
+                      final List<Message> messages,
+                      final LoadStats stats,
+                      final List<Long> recordedRunNanos) throws Exception {
+    try (session) {
+      session.connect();
+      stats.sessionConnected();
+      final long sessionStart = System.nanoTime();
+      for (final Message message : messages) {
+        if (speed > 0) {
+          final long waitNanos = sessionStart + (long) (message.t() * 1_000_000 / speed) - System.nanoTime();
+          if (waitNanos > 0) {
+            Thread.sleep(Duration.ofNanos(waitNanos));
+          }
+        }
+        final boolean pathUpdate = "path_update".equals(message.type());
+        if (!pathUpdate && !session.hasComponent(message.componentKey())) {
+          // the component key changed in this build, or the component is not displayed anymore
+          stats.componentNotFound();
+          continue;
+        }
+        final Map<String, Object> frontendMessage;
+        if (pathUpdate) {
+          frontendMessage = ClientSession.pathUpdate(message.path(), message.queryParameters() == null ? Map.of() : message.queryParameters());
+        } else if ("form_submit".equals(message.type()) && message.value() instanceof Map<?, ?> formValues) {
+          @SuppressWarnings("unchecked")
+          final Map<String, Object> values = (Map<String, Object>) formValues;
+          frontendMessage = ClientSession.formSubmit(message.componentKey(), values);
+        } else {
+          frontendMessage = ClientSession.componentUpdate(message.componentKey(), message.value());
+        }
+        if (message.runMs() == null) {
+          session.send(frontendMessage);
+          continue;
+        }
+        recordedRunNanos.add((long) (message.runMs() * 1_000_000));
+        final long duration = session.run(frontendMessage);
+        if (duration < 0) {
+          stats.runTimedOut();
+        } else if (pathUpdate) {
+          stats.recordFirstRun(duration, session.runDeltaBytes());
+        } else {
+          stats.recordRerun(duration, session.runDeltaBytes());
+        }
+      }
+    }
+  }
+
+  // session number -> messages, in the order of the recording
+  private static Map<Integer, List<Message>> read(final Path recording) throws Exception {
+    final Map<Integer, List<Message>> sessions = new LinkedHashMap<>();
+    for (final String line : Files.readAllLines(recording)) {
+      if (line.isBlank()) {
+        continue;
+      }
+      final JsonNode node = Shared.OBJECT_MAPPER.readTree(line);
+      final Message message = Shared.OBJECT_MAPPER.treeToValue(node, Message.class);
+      sessions.computeIfAbsent(node.path("session").asInt(), k -> new ArrayList<>()).add(message);
+    }
+    return sessions;
+  }
+}
@@ -22,6 +22,7 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -105,6 +106,18 @@ public class Cli implements Callable<Integer> {
             """)
     private String basePath;
 
+    @SuppressWarnings("unused")
+    @Option(names = {"--record-traffic"},
+        description = "Record the anonymized messages of the sessions and the run durations in the given file, one json object per line. The recording can be replayed to compare the performance of versions of the app or of Javelit.")
+    @ApiStatus.Experimental
+    private Path trafficRecordingFile;
+
+    @SuppressWarnings("unused")
+    @Option(names = {"--metrics-allow"},
+        split = ",",
+        description = "Clients allowed to read the Prometheus metrics endpoint /_/metrics, in addition to localhost. Comma-separated IP addresses or CIDR blocks, eg 10.0.0.0/8. Use * to allow all clients.")
+    private List<String> metricsAllowedClients = List.of();
+
     @Override
     public Integer call() throws Exception {
       final Level logLevel = Level.valueOf(this.logLevel);
@@ -140,7 +153,9 @@ public class Cli implements Callable<Integer> {
           .builder(javaFilePath, port)
           .host(host)
           .additionalClasspath(classpath)
-          .headersFile(headersFile);
+          .headersFile(headersFile)
+          .recordTraffic(trafficRecordingFile)
+          .metricsAllowedClients(metricsAllowedClients);
       if (isUrl) {
         builder.originalUrl(appPath);
       }
@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.chart;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.javelit.core.Shared;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Moves the data of large series out of the chart option JSON, into binary typed arrays.
+ * The data of a series is replaced by a reference {@code {"$jtBinary": {url, type, dimensions, length}}}.
+ * The frontend downloads the arrays and passes them to ECharts as typed arrays.
+ * <p>
+ * Only series whose data items are all numbers, or all arrays of numbers of the same length, are moved.
+ * Other series are kept in the JSON.
+ */
+final class BinarySeries {
+
+  // series with fewer values than this are kept in the JSON
+  static final int BINARY_THRESHOLD = 10_000;
+  static final String REFERENCE_KEY = "$jtBinary";
+  static final String MEDIA_FORMAT = "application/octet-stream";
+
+  private BinarySeries() {
+  }
+
+  /**
+   * Replaces the data of large series in the option json by binary references.
+   * Small options are not parsed. Invalid json is returned as is - the error is reported by the frontend.
+   *
+   * @param registrar stores the bytes and returns the url to download them
+   * @return the option json, with the data of large series replaced
+   */
+  static @Nonnull String extract(final @Nonnull String optionJson, final @Nonnull Function<byte[], String> registrar) {
+    if (optionJson.length() < BINARY_THRESHOLD) {
+      return optionJson;
+    }
+    try {
+      final JsonNode option = Shared.OBJECT_MAPPER.readTree(optionJson);
+      return extract(option, registrar) > 0 ? Shared.OBJECT_MAPPER.writeValueAsString(option) : optionJson;
+    } catch (JsonProcessingException e) {
+      return optionJson;
+    }
+  }
+
+  /**
+   * Replaces the data of large series in the option by binary references.
+   *
+   * @param registrar stores the bytes and returns the url to download them
+   * @return the number of series moved to binary
+   */
+  static int extract(final @Nonnull JsonNode option, final @Nonnull Function<byte[], String> registrar) {
+    if (!option.isObject()) {
+      return 0;
+    }
+    final JsonNode series = option.get("series");
+    int moved = 0;
+    if (series != null && series.isArray()) {
+      for (final JsonNode s : series) {
+        moved += extractSeries(s, registrar);
+      }
+    } else if (series != null) {
+      moved += extractSeries(series, registrar);
+    }
+    return moved;
+  }
+
+  private static int extractSeries(final @Nonnull JsonNode series,
+                                   final @Nonnull Function<byte[], String> registrar) {
+    if (!(series instanceof ObjectNode seriesObject)) {
+      return 0;
+    }
+    final JsonNode data = seriesObject.get("data");
+    if (data == null || !data.isArray()) {
+      return 0;
+    }
+    final Encoded encoded = encode(data);
+    if (encoded == null) {
+      return 0;
+    }
+    final ObjectNode wrapper = seriesObject.putObject("data");
+    wrapper.putObject(REFERENCE_KEY)
+           .put("url", registrar.apply(encoded.bytes()))
+           .put("type", encoded.type())
+           .put("dimensions", encoded.dimensions())
+           .put("length", encoded.length());
+    return 1;
+  }
+
+  /**
+   * @param type       int32 or float64
+   * @param dimensions 1 if the data items are numbers, else the length of each data item
+   * @param length     number of data items
+   * @param bytes      the values, item after item, in little-endian
+   */
+  record Encoded(@Nonnull String type, int dimensions, int length, @Nonnull byte[] bytes) {
+  }
+
+  // returns null if the data is too small or cannot be represented as a typed array
+  static @Nullable Encoded encode(final @Nonnull JsonNode data) {
+    if (data.isEmpty()) {
+      return null;
+    }
+    final JsonNode first = data.get(0);
+    final int dimensions = first.isArray() ? first.size() : 1;
+    if (dimensions == 0 || (long) data.size() * dimensions < BINARY_THRESHOLD) {
+      return null;
+    }
+    final int valueCount = data.size() * dimensions;
+    final double[] values = new double[valueCount];
+    boolean allInts = true;
+    int v = 0;
+    for (final JsonNode item : data) {
+      if (dimensions == 1 && !item.isArray()) {
+        final Double d = numberOf(item);
+        if (d == null) {
+          return null;
+        }
+        allInts &= isInt(d);
+        values[v++] = d;
+      } else if (item.isArray() && item.size() == dimensions) {
+        for (final JsonNode e : item) {
+          final Double d = numberOf(e);
+          if (d == null) {
+            return null;
+          }
+          allInts &= isInt(d);
+          values[v++] = d;
+        }
+      } else {
+        return null;
+      }
+    }
+    if (allInts) {
+      final ByteBuffer buffer = ByteBuffer.allocate(valueCount * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      for (final double d : values) {
+        buffer.putInt((int) d);
+      }
+      return new Encoded("int32", dimensions, data.size(), buffer.array());
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(valueCount * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    for (final double d : values) {
+      buffer.putDouble(d);
+    }
+    return new Encoded("float64", dimensions, data.size(), buffer.array());
+  }
+
+  // null and "-" are missing values for ECharts - they are encoded as NaN
+  private static @Nullable Double numberOf(final @Nonnull JsonNode e) {
+    if (e.isNull()) {
+      return Double.NaN;
+    }
+    if (e.isNumber()) {
+      return e.asDouble();
+    }
+    if (e.isTextual() && "-".equals(e.asText())) {
+      return Double.NaN;
+    }
+    return null;
+  }
+
+  private static boolean isInt(final double d) {
+    return d == Math.rint(d) && d >= Integer.MIN_VALUE && d <= Integer.MAX_VALUE;
+  }
+}
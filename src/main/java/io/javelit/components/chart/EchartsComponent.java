@@ -15,18 +15,17 @@
  */
 package io.javelit.components.chart;
 
-import java.io.StringWriter;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
+import io.javelit.core.JtContainer;
+import io.javelit.core.MediaEntry;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.icepear.echarts.Chart;
@@ -34,6 +33,8 @@ import org.icepear.echarts.Option;
 import org.icepear.echarts.serializer.EChartsSerializer;
 import org.intellij.lang.annotations.Language;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 public final class EchartsComponent extends JtComponent<JtComponent.NONE> {
 
   public enum Theme {
@@ -74,32 +75,39 @@ public final class EchartsComponent extends JtComponent<JtComponent.NONE> {
   final String theme;
   final List<MapConfig> maps;
   final boolean border;
+  final boolean live;
+  // live charts only
+  final @Nullable LiveChart liveChart;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/chart/EchartsComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/chart/EchartsComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/chart/EchartsComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/chart/EchartsComponent.render.html.mustache");
   }
 
   private EchartsComponent(final @Nonnull Builder builder) {
     super(builder, NONE.NONE_VALUE, null);
-    if (builder.chart != null) {
+    final String optionJson;
+    if (builder.chart != null || builder.option != null) {
       // see https://github.com/ECharts-Java/ECharts-Java/blob/61c82301c5fb45bb848cb779640968f5b959955e/src/main/java/org/icepear/echarts/render/Engine.java#L184C12-L184C18
       // we are not using Engine.java directly because it import handlebars - we don't want handlebars as a dependency, it's excluded
-      this.echartOption = new EChartsSerializer().toJson(builder.chart.getOption());
-    } else if (builder.option != null) {
-      // see comment above
-      this.echartOption = new EChartsSerializer().toJson(builder.option);
+      final EChartsSerializer serializer = new EChartsSerializer();
+      optionJson = serializer.toJson(builder.chart != null ? builder.chart.getOption() : builder.option);
     } else if (builder.optionJson != null) {
-      this.echartOption = builder.optionJson;
+      optionJson = builder.optionJson;
     } else {
       throw new IllegalArgumentException("One of chart, option, json must be set. Please reach out to support.");
     }
+    // series data is only moved to binary media in an app run - outside a run, eg in a notebook, data stays inline
+    this.echartOption = isInAppRun() ?
+        BinarySeries.extract(optionJson, EchartsComponent::registerSeriesData) :
+        optionJson;
     this.height = builder.height;
     this.width = builder.width;
     this.theme = builder.theme;
     this.maps = List.copyOf(builder.maps);
     this.border = builder.border;
+    this.live = builder.live;
+    this.liveChart = live ? LiveChart.of(frontendChannel(), builder.liveBufferSize) : null;
   }
 
   public static class Builder extends JtComponentBuilder<JtComponent.NONE, EchartsComponent, Builder> {
@@ -111,6 +119,8 @@ public final class EchartsComponent extends JtComponent<JtComponent.NONE> {
     private String theme = "default";
     private final List<MapConfig> maps = new ArrayList<>();
     private boolean border;
+    private boolean live;
+    private int liveBufferSize = LiveChart.DEFAULT_BUFFER_SIZE;
 
     public Builder(final @Nonnull Chart<?, ?> chart) {
       this.chart = chart;
@@ -193,6 +203,38 @@ public final class EchartsComponent extends JtComponent<JtComponent.NONE> {
       return this;
     }
 
+    /**
+     * The maximum number of points per series kept by a live chart. Older points are dropped. {@code 10000} by default.
+     * Only used by {@link #useLive()}.
+     */
+    public Builder liveBufferSize(final int liveBufferSize) {
+      checkArgument(liveBufferSize > 0, "liveBufferSize must be strictly positive. Got %s", liveBufferSize);
+      this.liveBufferSize = liveBufferSize;
+      return this;
+    }
+
+    /**
+     * Put the chart in the app, in the {@code MAIN} container, and return a handle to append data to the chart
+     * without re-running the app. The handle can be used from background threads.
+     */
+    public LiveChart useLive() {
+      this.live = true;
+      final EchartsComponent component = build();
+      component.use();
+      return component.liveChart;
+    }
+
+    /**
+     * Put the chart in the app, in the provided container, and return a handle to append data to the chart
+     * without re-running the app. The handle can be used from background threads.
+     */
+    public LiveChart useLive(final @Nonnull JtContainer container) {
+      this.live = true;
+      final EchartsComponent component = build();
+      component.use(container);
+      return component.liveChart;
+    }
+
     @Override
     public EchartsComponent build() {
       return new EchartsComponent(this);
@@ -201,16 +243,12 @@ public final class EchartsComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -219,6 +257,24 @@ public final class EchartsComponent extends JtComponent<JtComponent.NONE> {
     };
   }
 
+  private static String registerSeriesData(final byte[] bytes) {
+    return registerMedia(new MediaEntry(bytes, BinarySeries.MEDIA_FORMAT));
+  }
+
+  @Override
+  protected Object handleFrontendRequest(final @Nullable Object payload) {
+    if (liveChart == null) {
+      return super.handleFrontendRequest(payload);
+    }
+    return liveChart.snapshot();
+  }
+
+  @SuppressWarnings("unused")
+    // used in templates
+  Integer getLiveBufferSize() {
+    return liveChart == null ? null : liveChart.bufferSize();
+  }
+
   String getMapsJson() {
     return toJson(maps);
   }
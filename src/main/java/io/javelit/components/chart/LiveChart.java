@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.chart;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.javelit.core.JtComponent;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A handle to append data to a chart that is already displayed, without re-running the app.
+ * Obtained with {@link EchartsComponent.Builder#useLive()}.
+ * <p>
+ * The handle can be used from any thread, for instance a background thread polling a metric.
+ * Points are sent to the browser at most every 100 milliseconds.
+ * The last points of each series are kept on the server, so that a reconnecting browser gets the current data.
+ * The same handle is returned by the following runs of the app as long as it is referenced.
+ * If a later run changes the buffer size, the handle is resized.
+ */
+public final class LiveChart {
+
+  static final int DEFAULT_BUFFER_SIZE = 10_000;
+  // points appended in this interval are sent in a single message
+  static final long FLUSH_INTERVAL_MS = 100;
+
+  private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("javelit-live-chart-flusher").build());
+  // one handle per component and session - weak values: the handle is kept alive by the threads that use it
+  private static final Cache<JtComponent.FrontendChannel, LiveChart> HANDLES = CacheBuilder.newBuilder()
+                                                                                             .weakValues()
+                                                                                             .build();
+
+  private final @Nonnull JtComponent.FrontendChannel channel;
+
+  // all fields below are guarded by this
+  private int bufferSize;
+  // series index -> last flushed points
+  private final Map<Integer, ArrayDeque<Object>> buffer = new HashMap<>();
+  // series index -> points not flushed yet
+  private final Map<Integer, List<Object>> pending = new LinkedHashMap<>();
+  // incremented at each flush - lets the browser ignore pushes already included in a snapshot
+  private long sequence;
+  private boolean flushScheduled;
+  private boolean closed;
+
+  private LiveChart(final @Nonnull JtComponent.FrontendChannel channel, final int bufferSize) {
+    this.channel = channel;
+    this.bufferSize = bufferSize;
+  }
+
+  static @Nonnull LiveChart of(final @Nonnull JtComponent.FrontendChannel channel, final int bufferSize) {
+    final LiveChart handle;
+    try {
+      handle = HANDLES.get(channel, () -> new LiveChart(channel, bufferSize));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+    handle.resize(bufferSize);
+    return handle;
+  }
+
+  /**
+   * Appends a point to the series at the given index. A point has the same format as the series data items,
+   * for instance a number, or an array {@code [x, y]}.
+   */
+  public void append(final int seriesIndex, final @Nullable Object point) {
+    append(seriesIndex, Collections.singletonList(point));
+  }
+
+  /**
+   * Appends points to the series at the given index. See {@link #append(int, Object)}.
+   */
+  public synchronized void append(final int seriesIndex, final @Nonnull List<?> points) {
+    checkArgument(seriesIndex >= 0, "Invalid series index: %s", seriesIndex);
+    if (!isActive()) {
+      return;
+    }
+    pending.computeIfAbsent(seriesIndex, i -> new ArrayList<>()).addAll(points);
+    if (!flushScheduled) {
+      flushScheduled = true;
+      FLUSHER.schedule(this::flush, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Returns false once the browser session of the chart is closed or expired.
+   * Appending to an inactive chart has no effect.
+   * Background threads can use it to stop producing data.
+   */
+  public synchronized boolean isActive() {
+    if (!closed && !channel.isOpen()) {
+      close();
+    }
+    return !closed;
+  }
+
+  // runs on the FLUSHER thread only - pushes are sent in sequence order
+  private void flush() {
+    final Map<String, Object> update;
+    synchronized (this) {
+      flushScheduled = false;
+      if (pending.isEmpty()) {
+        return;
+      }
+      sequence++;
+      for (final Map.Entry<Integer, List<Object>> e : pending.entrySet()) {
+        final ArrayDeque<Object> seriesBuffer = buffer.computeIfAbsent(e.getKey(), i -> new ArrayDeque<>());
+        seriesBuffer.addAll(e.getValue());
+        while (seriesBuffer.size() > bufferSize) {
+          seriesBuffer.removeFirst();
+        }
+      }
+      update = Map.of("sequence", sequence, "series", new LinkedHashMap<>(pending));
+      pending.clear();
+    }
+    final boolean delivered = channel.push(update);
+    if (!delivered) {
+      synchronized (this) {
+        close();
+      }
+    }
+  }
+
+  private void close() {
+    closed = true;
+    buffer.clear();
+    pending.clear();
+  }
+
+  private synchronized void resize(final int newBufferSize) {
+    bufferSize = newBufferSize;
+    for (final ArrayDeque<Object> seriesBuffer : buffer.values()) {
+      while (seriesBuffer.size() > bufferSize) {
+        seriesBuffer.removeFirst();
+      }
+    }
+  }
+
+  // points already sent, for a browser that connects or re-renders the chart
+  synchronized @Nonnull Map<String, Object> snapshot() {
+    final Map<Integer, List<Object>> series = new LinkedHashMap<>();
+    buffer.forEach((index, points) -> series.put(index, new ArrayList<>(points)));
+    return Map.of("sequence", sequence, "series", series);
+  }
+
+  synchronized int bufferSize() {
+    return bufferSize;
+  }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.Nonnull;
+
+/**
+ * A CSV file read through memory-mapping. The first line is the header.
+ * A sparse index of row offsets is built in the background, then rows are only parsed when a page is requested.
+ * The file is never loaded in the heap.
+ */
+final class CsvRowSource extends RowSource {
+
+  // the offset of one row every CHECKPOINT_INTERVAL rows is kept in the index
+  static final int CHECKPOINT_INTERVAL = 64;
+  // MappedByteBuffer are limited to 2GB - larger files are mapped in multiple chunks
+  private static final int CHUNK_BITS = 30;
+  private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+  // numbers with a leading zero are kept as strings - eg zip codes and ids
+  private static final Pattern INTEGER_P = Pattern.compile("-?(0|[1-9]\\d{0,14})");
+  private static final Pattern DECIMAL_P = Pattern.compile("-?(0|[1-9]\\d*)?\\.\\d+([eE][-+]?\\d+)?");
+  // column types are inferred from the first rows
+  static final int INFERENCE_ROWS = 1000;
+
+  private enum ColumnType {
+    LONG,
+    DOUBLE,
+    STRING
+  }
+
+  // re-runs of the app reuse the index of an unchanged file
+  private static final Cache<String, CsvRowSource> SOURCES = CacheBuilder.newBuilder().maximumSize(16).build();
+
+  private final @Nonnull String fingerprint;
+  private final @Nonnull MappedByteBuffer[] chunks;
+  private final long size;
+  private final @Nonnull List<String> columns;
+  private final @Nonnull ColumnType[] columnTypes;
+  private final long dataStart;
+  // checkpoints[i] is the offset of row i * CHECKPOINT_INTERVAL - written by the indexer before the row count is published
+  private volatile long[] checkpoints = new long[1024];
+
+  static @Nonnull CsvRowSource of(final @Nonnull Path csvFile) {
+    try {
+      final Path path = csvFile.toAbsolutePath().normalize();
+      final String fingerprint = "%s:%s:%s".formatted(path, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+      return SOURCES.get(fingerprint, () -> new CsvRowSource(path, fingerprint));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read CSV file " + csvFile, e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to read CSV file " + csvFile, e.getCause());
+    }
+  }
+
+  private CsvRowSource(final @Nonnull Path path, final @Nonnull String fingerprint) throws IOException {
+    this.fingerprint = fingerprint;
+    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      this.size = channel.size();
+      final int chunkCount = (int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+      this.chunks = new MappedByteBuffer[chunkCount];
+      for (int i = 0; i < chunkCount; i++) {
+        final long position = i * CHUNK_SIZE;
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position));
+      }
+    }
+    final List<String> header = new ArrayList<>();
+    this.dataStart = size == 0 ? 0 : parseRow(0, header);
+    this.columns = List.copyOf(header);
+    checkpoints[0] = dataStart;
+    this.columnTypes = inferColumnTypes();
+    countInBackground(this::index);
+  }
+
+  @Override
+  @Nonnull List<String> columns() {
+    return columns;
+  }
+
+  @Override
+  @Nonnull String fingerprint() {
+    return fingerprint;
+  }
+
+  @Override
+  @Nonnull Object[][] rows(final int start, final int end) {
+    // rows before the first checkpoint can be read before the index is built
+    final int checkpointIndex = Math.min(start / CHECKPOINT_INTERVAL, rowCount() / CHECKPOINT_INTERVAL);
+    long offset = checkpoints[checkpointIndex];
+    int row = checkpointIndex * CHECKPOINT_INTERVAL;
+    final List<String> fields = new ArrayList<>(columns.size());
+    while (row < start && offset < size) {
+      offset = skipRow(offset);
+      row++;
+    }
+    final List<Object[]> rows = new ArrayList<>(end - start);
+    while (row < end && offset < size) {
+      fields.clear();
+      offset = parseRow(offset, fields);
+      final Object[] values = new Object[columns.size()];
+      for (int i = 0; i < values.length && i < fields.size(); i++) {
+        values[i] = toValue(fields.get(i), columnTypes[i]);
+      }
+      rows.add(values);
+      row++;
+    }
+    return rows.toArray(Object[][]::new);
+  }
+
+  // a column is numeric if all the non-empty values of the first rows are numbers - types do not change between pages
+  private @Nonnull ColumnType[] inferColumnTypes() {
+    final ColumnType[] types = new ColumnType[columns.size()];
+    final boolean[] seen = new boolean[columns.size()];
+    Arrays.fill(types, ColumnType.LONG);
+    final List<String> fields = new ArrayList<>(columns.size());
+    long offset = dataStart;
+    for (int row = 0; row < INFERENCE_ROWS && offset < size; row++) {
+      fields.clear();
+      offset = parseRow(offset, fields);
+      for (int i = 0; i < types.length && i < fields.size(); i++) {
+        final String field = fields.get(i);
+        if (field.isEmpty() || types[i] == ColumnType.STRING) {
+          continue;
+        }
+        seen[i] = true;
+        if (DECIMAL_P.matcher(field).matches()) {
+          types[i] = ColumnType.DOUBLE;
+        } else if (!INTEGER_P.matcher(field).matches()) {
+          types[i] = ColumnType.STRING;
+        }
+      }
+    }
+    for (int i = 0; i < types.length; i++) {
+      if (!seen[i]) {
+        types[i] = ColumnType.STRING;
+      }
+    }
+    return types;
+  }
+
+  // runs in the background - scans the whole file once
+  private int index() {
+    int count = 0;
+    boolean inQuotes = false;
+    long rowStart = dataStart;
+    for (long pos = dataStart; pos < size; pos++) {
+      final byte b = byteAt(pos);
+      if (b == '"') {
+        inQuotes = !inQuotes;
+      } else if (b == '\n' && !inQuotes) {
+        count++;
+        rowStart = pos + 1;
+        if (count % CHECKPOINT_INTERVAL == 0) {
+          addCheckpoint(count / CHECKPOINT_INTERVAL, rowStart);
+        }
+        if (count % PUBLISH_EVERY == 0) {
+          publishRowCount(count);
+        }
+      }
+    }
+    if (rowStart < size) {
+      // last row without line break
+      count++;
+    }
+    return count;
+  }
+
+  private void addCheckpoint(final int index, final long offset) {
+    long[] current = checkpoints;
+    if (index >= current.length) {
+      current = Arrays.copyOf(current, current.length * 2);
+    }
+    current[index] = offset;
+    checkpoints = current;
+  }
+
+  private byte byteAt(final long pos) {
+    return chunks[(int) (pos >>> CHUNK_BITS)].get((int) (pos & (CHUNK_SIZE - 1)));
+  }
+
+  // returns the offset of the next row
+  private long skipRow(long offset) {
+    boolean inQuotes = false;
+    while (offset < size) {
+      final byte b = byteAt(offset++);
+      if (b == '"') {
+        inQuotes = !inQuotes;
+      } else if (b == '\n' && !inQuotes) {
+        break;
+      }
+    }
+    return offset;
+  }
+
+  // RFC 4180 - parses the fields of the row starting at offset and returns the offset of the next row
+  private long parseRow(long offset, final @Nonnull List<String> fields) {
+    final ByteArrayOutputStream field = new ByteArrayOutputStream();
+    boolean inQuotes = false;
+    while (offset < size) {
+      final byte b = byteAt(offset++);
+      if (inQuotes) {
+        if (b == '"') {
+          if (offset < size && byteAt(offset) == '"') {
+            // escaped quote
+            field.write('"');
+            offset++;
+          } else {
+            inQuotes = false;
+          }
+        } else {
+          field.write(b);
+        }
+      } else if (b == '"') {
+        inQuotes = true;
+      } else if (b == ',') {
+        fields.add(field.toString(StandardCharsets.UTF_8));
+        field.reset();
+      } else if (b == '\n') {
+        break;
+      } else if (b != '\r') {
+        field.write(b);
+      }
+    }
+    fields.add(field.toString(StandardCharsets.UTF_8));
+    return offset;
+  }
+
+  // numbers are converted to allow numeric formatting in the frontend
+  // a value that does not match the type inferred for its column is kept as a string
+  private static Object toValue(final @Nonnull String field, final @Nonnull ColumnType type) {
+    if (field.isEmpty()) {
+      return null;
+    }
+    return switch (type) {
+      case LONG -> INTEGER_P.matcher(field).matches() ? (Object) Long.parseLong(field) : field;
+      case DOUBLE -> INTEGER_P.matcher(field).matches() || DECIMAL_P.matcher(field).matches() ?
+          (Object) Double.parseDouble(field) :
+          field;
+      case STRING -> field;
+    };
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Stable merge sort of row indexes with a primitive comparator. Large arrays are sorted in parallel.
+ * Avoids boxing each row index, as {@link java.util.Arrays#parallelSort(Object[], java.util.Comparator)} would require.
+ */
+final class IndexSort {
+
+  // ranges smaller than this are sorted by insertion
+  private static final int INSERTION_SORT_THRESHOLD = 32;
+  // ranges smaller than this are sorted in the current thread
+  private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+  @FunctionalInterface
+  interface IntComparator {
+    int compare(int a, int b);
+  }
+
+  private IndexSort() {
+  }
+
+  static void sort(final @Nonnull int[] indexes, final @Nonnull IntComparator comparator) {
+    if (indexes.length < 2) {
+      return;
+    }
+    final int[] buffer = indexes.clone();
+    if (indexes.length < PARALLEL_THRESHOLD) {
+      mergeSort(buffer, indexes, 0, indexes.length, comparator);
+    } else {
+      ForkJoinPool.commonPool().invoke(new SortTask(buffer, indexes, 0, indexes.length, comparator));
+    }
+  }
+
+  // sorts [from, to) into dst - src and dst must have the same values in [from, to), src is used as a buffer
+  private static void mergeSort(final int[] src, final int[] dst, final int from, final int to, final IntComparator comparator) {
+    if (to - from < INSERTION_SORT_THRESHOLD) {
+      insertionSort(dst, from, to, comparator);
+      return;
+    }
+    final int mid = (from + to) >>> 1;
+    mergeSort(dst, src, from, mid, comparator);
+    mergeSort(dst, src, mid, to, comparator);
+    merge(src, dst, from, mid, to, comparator);
+  }
+
+  private static void insertionSort(final int[] a, final int from, final int to, final IntComparator comparator) {
+    for (int i = from + 1; i < to; i++) {
+      final int v = a[i];
+      int j = i - 1;
+      while (j >= from && comparator.compare(a[j], v) > 0) {
+        a[j + 1] = a[j];
+        j--;
+      }
+      a[j + 1] = v;
+    }
+  }
+
+  // merges the sorted ranges [from, mid) and [mid, to) of src into dst - equal values keep their order
+  private static void merge(final int[] src, final int[] dst, final int from, final int mid, final int to, final IntComparator comparator) {
+    if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+      System.arraycopy(src, from, dst, from, to - from);
+      return;
+    }
+    int left = from;
+    int right = mid;
+    for (int i = from; i < to; i++) {
+      if (right >= to || (left < mid && comparator.compare(src[left], src[right]) <= 0)) {
+        dst[i] = src[left++];
+      } else {
+        dst[i] = src[right++];
+      }
+    }
+  }
+
+  private static final class SortTask extends RecursiveAction {
+    private final int[] src;
+    private final int[] dst;
+    private final int from;
+    private final int to;
+    private final IntComparator comparator;
+
+    private SortTask(final int[] src, final int[] dst, final int from, final int to, final IntComparator comparator) {
+      this.src = src;
+      this.dst = dst;
+      this.from = from;
+      this.to = to;
+      this.comparator = comparator;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from < PARALLEL_THRESHOLD) {
+        mergeSort(src, dst, from, to, comparator);
+        return;
+      }
+      final int mid = (from + to) >>> 1;
+      invokeAll(new SortTask(dst, src, from, mid, comparator), new SortTask(dst, src, mid, to, comparator));
+      merge(src, dst, from, mid, to, comparator);
+    }
+  }
+}
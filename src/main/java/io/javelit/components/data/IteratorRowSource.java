@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.javelit.core.Shared;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Rows of objects read from a stream. Each object is a row, object properties are columns.
+ * A new stream is obtained from the supplier for each page, and closed after the page is read: pages are read by
+ * skipping the previous rows, so nothing is kept in the heap but reading far pages is slower.
+ * The columns are the properties of the objects of the first page.
+ */
+final class IteratorRowSource extends RowSource {
+
+  private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {
+  };
+
+  // the supplier of the latest run - a cached source reads the pages with it
+  private volatile @Nonnull Supplier<? extends Stream<?>> streamSupplier;
+  private final @Nonnull List<String> columns;
+  private final @Nonnull Object[][] firstPage;
+  private final @Nonnull String fingerprint;
+
+  /**
+   * Returns the source of the stream. Re-runs with the same first rows reuse the source and its row count.
+   */
+  static @Nonnull IteratorRowSource of(final @Nonnull Supplier<? extends Stream<?>> streamSupplier) {
+    final IteratorRowSource newSource = new IteratorRowSource(streamSupplier);
+    final IteratorRowSource source = cached(newSource);
+    if (source == newSource) {
+      source.countInBackground(source::count);
+    } else {
+      source.streamSupplier = streamSupplier;
+    }
+    return source;
+  }
+
+  private IteratorRowSource(final @Nonnull Supplier<? extends Stream<?>> streamSupplier) {
+    this.streamSupplier = streamSupplier;
+    final List<Map<String, Object>> firstObjects = new ArrayList<>();
+    try (final Stream<?> stream = streamSupplier.get()) {
+      final Iterator<?> it = stream.iterator();
+      while (it.hasNext() && firstObjects.size() < TableComponent.FIRST_PAGE_SIZE) {
+        firstObjects.add(Shared.OBJECT_MAPPER.convertValue(it.next(), ROW_TYPE));
+      }
+    }
+    this.columns = firstObjects.stream().flatMap(m -> m.keySet().stream()).distinct().toList();
+    this.firstPage = firstObjects.stream().map(this::toRow).toArray(Object[][]::new);
+    this.fingerprint = fingerprint(columns, firstPage);
+  }
+
+  // runs in the background
+  private int count() throws InterruptedException {
+    try (final Stream<?> stream = streamSupplier.get()) {
+      final Iterator<?> it = stream.iterator();
+      int count = 0;
+      while (it.hasNext()) {
+        it.next();
+        count++;
+        if (count % PUBLISH_EVERY == 0) {
+          publishRowCountProgress(count);
+        }
+      }
+      return count;
+    }
+  }
+
+  @Override
+  @Nonnull List<String> columns() {
+    return columns;
+  }
+
+  @Override
+  @Nonnull String fingerprint() {
+    return fingerprint;
+  }
+
+  @Override
+  @Nonnull Object[][] rows(final int start, final int end) {
+    touch(this);
+    if (end <= firstPage.length) {
+      return Arrays.copyOfRange(firstPage, start, end);
+    }
+    try (final Stream<?> stream = streamSupplier.get()) {
+      final Iterator<?> it = stream.iterator();
+      int row = 0;
+      while (row < start && it.hasNext()) {
+        it.next();
+        row++;
+      }
+      final List<Object[]> rows = new ArrayList<>(end - start);
+      while (row < end && it.hasNext()) {
+        rows.add(toRow(Shared.OBJECT_MAPPER.convertValue(it.next(), ROW_TYPE)));
+        row++;
+      }
+      if (it.hasNext()) {
+        // rows appended since the source was counted
+        publishRowCount(row + 1);
+      }
+      return rows.toArray(Object[][]::new);
+    }
+  }
+
+  private @Nonnull Object[] toRow(final @Nonnull Map<String, Object> object) {
+    return columns.stream().map(object::get).toArray();
+  }
+
+  // the first page identifies the data - later pages are always read from the latest supplier
+  static @Nonnull String fingerprint(final @Nonnull List<String> columns, final @Nonnull Object[][] firstPage) {
+    final Hasher hasher = Hashing.murmur3_128(31).newHasher();
+    hasher.putString(String.valueOf(columns), StandardCharsets.UTF_8);
+    hasher.putString(Arrays.deepToString(firstPage), StandardCharsets.UTF_8);
+    return hasher.hash().toString();
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Rows read from a JDBC {@link ResultSet}. A new ResultSet is obtained from the supplier for each page.
+ * Scrollable result sets jump directly to the page, forward-only result sets skip the previous rows.
+ * The ResultSet and its Statement are closed after each read. The Connection is not closed.
+ * <p>
+ * The supplier is only called by the thread reading the pages: JDBC connections are not thread-safe, so the rows are
+ * not counted in the background. Scrollable result sets are counted by moving to their last row. For forward-only
+ * result sets, the row count grows while pages are read: each read looks up to {@link #LOOKAHEAD} rows further.
+ */
+final class ResultSetRowSource extends RowSource {
+
+  static final int LOOKAHEAD = 1000;
+
+  // the supplier of the latest run - a cached source reads the pages with it
+  private volatile @Nonnull Callable<ResultSet> resultSetSupplier;
+  private final @Nonnull List<String> columns;
+  private final @Nonnull Object[][] firstPage;
+  private final @Nonnull String fingerprint;
+
+  /**
+   * Returns the source of the query. Re-runs with the same first rows reuse the source and its row count.
+   */
+  static @Nonnull ResultSetRowSource of(final @Nonnull Callable<ResultSet> resultSetSupplier) {
+    final ResultSetRowSource source = cached(new ResultSetRowSource(resultSetSupplier));
+    source.resultSetSupplier = resultSetSupplier;
+    return source;
+  }
+
+  private ResultSetRowSource(final @Nonnull Callable<ResultSet> resultSetSupplier) {
+    this.resultSetSupplier = resultSetSupplier;
+    final List<String> columnNames = new ArrayList<>();
+    this.firstPage = read(0, TableComponent.FIRST_PAGE_SIZE, columnNames);
+    this.columns = List.copyOf(columnNames);
+    this.fingerprint = IteratorRowSource.fingerprint(columns, firstPage);
+  }
+
+  @Override
+  @Nonnull List<String> columns() {
+    return columns;
+  }
+
+  @Override
+  @Nonnull String fingerprint() {
+    return fingerprint;
+  }
+
+  @Override
+  @Nonnull Object[][] rows(final int start, final int end) {
+    touch(this);
+    return read(start, end, null);
+  }
+
+  private @Nonnull Object[][] read(final int start, final int end, final List<String> columnNamesOut) {
+    try {
+      final ResultSet rs = resultSetSupplier.call();
+      try {
+        final ResultSetMetaData metaData = rs.getMetaData();
+        final int columnCount = metaData.getColumnCount();
+        if (columnNamesOut != null) {
+          for (int i = 1; i <= columnCount; i++) {
+            columnNamesOut.add(metaData.getColumnLabel(i));
+          }
+        }
+        final boolean scrollable = rs.getType() != ResultSet.TYPE_FORWARD_ONLY;
+        // number of rows moved through - for forward-only result sets
+        int position = 0;
+        boolean hasRow;
+        if (start > 0 && scrollable) {
+          // absolute is 1-based and positions on the row - next() below must read the start row
+          hasRow = rs.absolute(start);
+        } else {
+          hasRow = true;
+          while (position < start && hasRow) {
+            hasRow = rs.next();
+            if (hasRow) {
+              position++;
+            }
+          }
+        }
+        final List<Object[]> rows = new ArrayList<>(end - start);
+        while (hasRow && rows.size() < end - start) {
+          hasRow = rs.next();
+          if (hasRow) {
+            final Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+              row[i] = rs.getObject(i + 1);
+            }
+            rows.add(row);
+            position++;
+          }
+        }
+        if (scrollable) {
+          completeRowCount(rs.last() ? rs.getRow() : 0);
+        } else {
+          final int lookaheadEnd = position + LOOKAHEAD;
+          while (hasRow && position < lookaheadEnd) {
+            hasRow = rs.next();
+            if (hasRow) {
+              position++;
+            }
+          }
+          if (hasRow) {
+            publishRowCount(position);
+          } else {
+            completeRowCount(position);
+          }
+        }
+        return rows.toArray(Object[][]::new);
+      } finally {
+        close(rs);
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to read table rows from the ResultSet", e);
+    }
+  }
+
+  private static void close(final @Nonnull ResultSet rs) throws SQLException {
+    final Statement statement = rs.getStatement();
+    rs.close();
+    if (statement != null) {
+      statement.close();
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A lazy source of table rows. Rows are only read when a page is requested.
+ * The number of rows is computed in the background: {@link #rowCount()} returns the number of rows known so far.
+ */
+abstract class RowSource {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RowSource.class);
+
+  // counts wait in the queue when all threads are busy
+  static final ExecutorService BACKGROUND = Executors.newFixedThreadPool(
+      Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("javelit-table-source-%d").build());
+
+  // sources built from user suppliers, by fingerprint - re-runs reuse the source and its row count while the first rows
+  // do not change. The count of a source that is not used by a run or a page request anymore is cancelled when the
+  // source is evicted
+  private static final Cache<String, RowSource> SOURCES = CacheBuilder
+      .newBuilder()
+      .maximumSize(16)
+      .expireAfterAccess(Duration.ofMinutes(10))
+      .removalListener((RemovalNotification<String, RowSource> n) -> n.getValue().cancelRowCount())
+      .build();
+
+  // publish the row count every N rows while counting
+  static final int PUBLISH_EVERY = 4096;
+
+  private volatile int rowCount;
+  private volatile boolean rowCountComplete;
+  private final CountDownLatch rowCountLatch = new CountDownLatch(1);
+  private volatile @Nullable Future<?> rowCountTask;
+  // only sources counted in the background grow their row count without page requests
+  private volatile boolean countedInBackground;
+
+  /**
+   * Returns the column names.
+   */
+  abstract @Nonnull List<String> columns();
+
+  /**
+   * Returns the rows in [start, end). Fewer rows are returned if the source has less than end rows.
+   * Each row has one value per column.
+   */
+  abstract @Nonnull Object[][] rows(int start, int end);
+
+  /**
+   * Returns a value that changes when the data changes. Used to skip re-rendering the table.
+   */
+  abstract @Nonnull String fingerprint();
+
+  final int rowCount() {
+    return rowCount;
+  }
+
+  final boolean rowCountComplete() {
+    return rowCountComplete;
+  }
+
+  /**
+   * Returns true while the rows are counted in the background. Other sources count their rows when pages are read.
+   */
+  final boolean rowCountInProgress() {
+    return countedInBackground && !rowCountComplete;
+  }
+
+  // for tests
+  final boolean awaitRowCount(final long timeout, final @Nonnull TimeUnit unit) throws InterruptedException {
+    return rowCountLatch.await(timeout, unit);
+  }
+
+  /**
+   * Counts the rows in the background. The counter should call {@link #publishRowCount(int)} regularly.
+   */
+  protected final void countInBackground(final @Nonnull Counter counter) {
+    countedInBackground = true;
+    rowCountTask = BACKGROUND.submit(() -> {
+      try {
+        publishRowCount(counter.count());
+      } catch (InterruptedException e) {
+        LOG.debug("Cancelled the row count of an unused table source");
+      } catch (Exception e) {
+        // the table will only show the rows counted so far
+        LOG.error("Failed to count the rows of the table source. The table may be incomplete.", e);
+      } finally {
+        completeRowCount();
+      }
+    });
+  }
+
+  /**
+   * Publishes the number of rows known so far. The row count never decreases.
+   */
+  protected final synchronized void publishRowCount(final int count) {
+    if (count > rowCount) {
+      rowCount = count;
+    }
+  }
+
+  /**
+   * For counters running in the background. Publishes the count, and throws if the count was cancelled.
+   */
+  protected final void publishRowCountProgress(final int count) throws InterruptedException {
+    publishRowCount(count);
+    if (Thread.interrupted()) {
+      throw new InterruptedException("The row count was cancelled");
+    }
+  }
+
+  /**
+   * For sources that count their rows while reading pages instead of in the background.
+   */
+  protected final void completeRowCount(final int count) {
+    publishRowCount(count);
+    completeRowCount();
+  }
+
+  private void completeRowCount() {
+    rowCountComplete = true;
+    rowCountLatch.countDown();
+  }
+
+  private void cancelRowCount() {
+    final Future<?> task = rowCountTask;
+    if (task != null) {
+      task.cancel(true);
+    }
+  }
+
+  /**
+   * Returns the cached source with the same class and fingerprint, or caches and returns the given source.
+   * The given source is new if it is returned.
+   */
+  @SuppressWarnings("unchecked")
+  static <S extends RowSource> @Nonnull S cached(final @Nonnull S source) {
+    try {
+      return (S) SOURCES.get(cacheKey(source), () -> source);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Marks the source as used - a source that is not used anymore is evicted and its count is cancelled.
+   */
+  static void touch(final @Nonnull RowSource source) {
+    SOURCES.getIfPresent(cacheKey(source));
+  }
+
+  private static @Nonnull String cacheKey(final @Nonnull RowSource source) {
+    return source.getClass().getSimpleName() + ":" + source.fingerprint();
+  }
+
+  @FunctionalInterface
+  protected interface Counter {
+    int count() throws Exception;
+  }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.hash.Hasher;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * A typed table column. Columns are encoded for the frontend in a compact columnar layout:
+ * <ul>
+ *   <li>{@code int32} and {@code float64}: little-endian packed arrays, base64 encoded</li>
+ *   <li>{@code bool}: one byte per value, base64 encoded</li>
+ *   <li>{@code string}: a dictionary of distinct values and packed int32 codes, {@code -1} for null</li>
+ * </ul>
+ * Null positions of primitive columns are sent as a list of row indexes.
+ * See {@code decodeTable} in the jt-table component for the decoding.
+ */
+sealed interface TableColumn permits TableColumn.IntColumn, TableColumn.DoubleColumn, TableColumn.BoolColumn,
+    TableColumn.StringColumn {
+
+  // doubles represent all integers in [-2^53, 2^53] exactly
+  long MAX_SAFE_INTEGER = 1L << 53;
+
+  int size();
+
+  /**
+   * Returns the value at the given row, boxed. Not meant to be used in hot paths.
+   */
+  @Nullable Object get(int row);
+
+  /**
+   * Returns the json-serializable encoding of the rows in [start, end).
+   */
+  @Nonnull Map<String, Object> encode(int start, int end);
+
+  void hash(@Nonnull Hasher hasher);
+
+  /**
+   * Returns a new column with the values at the given rows, in the given order.
+   */
+  @Nonnull TableColumn select(@Nonnull int[] rows);
+
+  /**
+   * Infers the column type from the values. Numbers that cannot be represented exactly as a double
+   * and values of mixed types are encoded as strings.
+   */
+  static @Nonnull TableColumn of(final @Nonnull Object[] values) {
+    boolean allInts = true;
+    boolean allDoubles = true;
+    boolean allBools = true;
+    for (final Object v : values) {
+      if (v == null) {
+        continue;
+      }
+      allInts &= v instanceof Integer || v instanceof Short || v instanceof Byte;
+      allDoubles &= isExactDouble(v);
+      allBools &= v instanceof Boolean;
+      if (!allInts && !allDoubles && !allBools) {
+        return StringColumn.of(values);
+      }
+    }
+    final BitSet nulls = new BitSet();
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        nulls.set(i);
+      }
+    }
+    if (allInts) {
+      final int[] ints = new int[values.length];
+      for (int i = 0; i < values.length; i++) {
+        ints[i] = values[i] == null ? 0 : ((Number) values[i]).intValue();
+      }
+      return new IntColumn(ints, nulls);
+    } else if (allDoubles) {
+      final double[] doubles = new double[values.length];
+      for (int i = 0; i < values.length; i++) {
+        doubles[i] = values[i] == null ? 0 : toDouble((Number) values[i]);
+      }
+      return new DoubleColumn(doubles, nulls);
+    } else {
+      final boolean[] bools = new boolean[values.length];
+      for (int i = 0; i < values.length; i++) {
+        bools[i] = values[i] != null && (Boolean) values[i];
+      }
+      return new BoolColumn(bools, nulls);
+    }
+  }
+
+  private static double toDouble(final @Nonnull Number n) {
+    return n instanceof Float f ? widen(f) : n.doubleValue();
+  }
+
+  // floats are widened from their decimal representation: 0.1f is 0.1, not 0.10000000149011612
+  static double widen(final float f) {
+    return Double.parseDouble(Float.toString(f));
+  }
+
+  private static boolean isExactDouble(final @Nonnull Object v) {
+    return switch (v) {
+      case Double d -> true;
+      case Float f -> true;
+      case Integer i -> true;
+      case Short s -> true;
+      case Byte b -> true;
+      case Long l -> Math.abs(l) <= MAX_SAFE_INTEGER;
+      case BigInteger b -> b.abs().compareTo(BigInteger.valueOf(MAX_SAFE_INTEGER)) <= 0;
+      case BigDecimal b -> !Double.isInfinite(b.doubleValue()) && new BigDecimal(b.doubleValue()).compareTo(b) == 0;
+      default -> false;
+    };
+  }
+
+  private static @Nullable List<Integer> nullsIn(final @Nonnull BitSet nulls, final int start, final int end) {
+    List<Integer> res = null;
+    for (int i = nulls.nextSetBit(start); i >= 0 && i < end; i = nulls.nextSetBit(i + 1)) {
+      if (res == null) {
+        res = new ArrayList<>();
+      }
+      res.add(i - start);
+    }
+    return res;
+  }
+
+  private static @Nonnull Map<String, Object> encoded(final @Nonnull String type,
+                                                      final @Nonnull String valuesKey,
+                                                      final @Nonnull ByteBuffer values,
+                                                      final @Nullable List<Integer> nulls) {
+    final Map<String, Object> res = new LinkedHashMap<>();
+    res.put("type", type);
+    res.put(valuesKey, Base64.getEncoder().encodeToString(values.array()));
+    if (nulls != null) {
+      res.put("nulls", nulls);
+    }
+    return res;
+  }
+
+  private static @Nonnull BitSet selectNulls(final @Nonnull BitSet nulls, final @Nonnull int[] rows) {
+    final BitSet res = new BitSet();
+    for (int i = 0; i < rows.length; i++) {
+      if (nulls.get(rows[i])) {
+        res.set(i);
+      }
+    }
+    return res;
+  }
+
+  private static void hashNulls(final @Nonnull Hasher hasher, final @Nonnull BitSet nulls) {
+    for (final long l : nulls.toLongArray()) {
+      hasher.putLong(l);
+    }
+  }
+
+  record IntColumn(@Nonnull int[] values, @Nonnull BitSet nulls) implements TableColumn {
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public @Nullable Object get(final int row) {
+      return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    public @Nonnull Map<String, Object> encode(final int start, final int end) {
+      final ByteBuffer buffer = ByteBuffer.allocate((end - start) * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.asIntBuffer().put(values, start, end - start);
+      return encoded("int32", "values", buffer, nullsIn(nulls, start, end));
+    }
+
+    @Override
+    public @Nonnull TableColumn select(final @Nonnull int[] rows) {
+      final int[] res = new int[rows.length];
+      for (int i = 0; i < rows.length; i++) {
+        res[i] = values[rows[i]];
+      }
+      return new IntColumn(res, selectNulls(nulls, rows));
+    }
+
+    @Override
+    public void hash(final @Nonnull Hasher hasher) {
+      hasher.putString("int32", StandardCharsets.UTF_8).putInt(values.length);
+      for (final int v : values) {
+        hasher.putInt(v);
+      }
+      hashNulls(hasher, nulls);
+    }
+  }
+
+  record DoubleColumn(@Nonnull double[] values, @Nonnull BitSet nulls) implements TableColumn {
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public @Nullable Object get(final int row) {
+      return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    public @Nonnull Map<String, Object> encode(final int start, final int end) {
+      final ByteBuffer buffer = ByteBuffer.allocate((end - start) * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.asDoubleBuffer().put(values, start, end - start);
+      return encoded("float64", "values", buffer, nullsIn(nulls, start, end));
+    }
+
+    @Override
+    public @Nonnull TableColumn select(final @Nonnull int[] rows) {
+      final double[] res = new double[rows.length];
+      for (int i = 0; i < rows.length; i++) {
+        res[i] = values[rows[i]];
+      }
+      return new DoubleColumn(res, selectNulls(nulls, rows));
+    }
+
+    @Override
+    public void hash(final @Nonnull Hasher hasher) {
+      hasher.putString("float64", StandardCharsets.UTF_8).putInt(values.length);
+      for (final double v : values) {
+        hasher.putDouble(v);
+      }
+      hashNulls(hasher, nulls);
+    }
+  }
+
+  record BoolColumn(@Nonnull boolean[] values, @Nonnull BitSet nulls) implements TableColumn {
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public @Nullable Object get(final int row) {
+      return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    public @Nonnull Map<String, Object> encode(final int start, final int end) {
+      final ByteBuffer buffer = ByteBuffer.allocate(end - start);
+      for (int i = start; i < end; i++) {
+        buffer.put((byte) (values[i] ? 1 : 0));
+      }
+      return encoded("bool", "values", buffer, nullsIn(nulls, start, end));
+    }
+
+    @Override
+    public @Nonnull TableColumn select(final @Nonnull int[] rows) {
+      final boolean[] res = new boolean[rows.length];
+      for (int i = 0; i < rows.length; i++) {
+        res[i] = values[rows[i]];
+      }
+      return new BoolColumn(res, selectNulls(nulls, rows));
+    }
+
+    @Override
+    public void hash(final @Nonnull Hasher hasher) {
+      hasher.putString("bool", StandardCharsets.UTF_8).putInt(values.length);
+      for (final boolean v : values) {
+        hasher.putBoolean(v);
+      }
+      hashNulls(hasher, nulls);
+    }
+  }
+
+  // codes[row] is the index of the value in the dictionary, -1 for null
+  record StringColumn(@Nonnull String[] dictionary, @Nonnull int[] codes) implements TableColumn {
+
+    static @Nonnull StringColumn of(final @Nonnull Object[] values) {
+      final Map<String, Integer> dictionary = new LinkedHashMap<>();
+      final int[] codes = new int[values.length];
+      for (int i = 0; i < values.length; i++) {
+        codes[i] = values[i] == null ?
+            -1 :
+            dictionary.computeIfAbsent(String.valueOf(values[i]), k -> dictionary.size());
+      }
+      return new StringColumn(dictionary.keySet().toArray(String[]::new), codes);
+    }
+
+    @Override
+    public int size() {
+      return codes.length;
+    }
+
+    @Override
+    public @Nullable Object get(final int row) {
+      return codes[row] < 0 ? null : dictionary[codes[row]];
+    }
+
+    @Override
+    public @Nonnull Map<String, Object> encode(final int start, final int end) {
+      // only send the part of the dictionary used in the window
+      final Map<Integer, Integer> globalToLocal = new HashMap<>();
+      final List<String> localDictionary = new ArrayList<>();
+      final ByteBuffer buffer = ByteBuffer.allocate((end - start) * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      for (int i = start; i < end; i++) {
+        final int code = codes[i];
+        if (code < 0) {
+          buffer.putInt(-1);
+        } else {
+          buffer.putInt(globalToLocal.computeIfAbsent(code, k -> {
+            localDictionary.add(dictionary[k]);
+            return localDictionary.size() - 1;
+          }));
+        }
+      }
+      final Map<String, Object> res = encoded("string", "codes", buffer, null);
+      res.put("dictionary", localDictionary);
+      return res;
+    }
+
+    @Override
+    public @Nonnull TableColumn select(final @Nonnull int[] rows) {
+      final int[] res = new int[rows.length];
+      for (int i = 0; i < rows.length; i++) {
+        res[i] = codes[rows[i]];
+      }
+      // the dictionary is shared - encode only sends the part of the dictionary used in the window
+      return new StringColumn(dictionary, res);
+    }
+
+    @Override
+    public void hash(final @Nonnull Hasher hasher) {
+      hasher.putString("string", StandardCharsets.UTF_8).putInt(dictionary.length);
+      for (final String s : dictionary) {
+        hasher.putInt(s.length()).putString(s, StandardCharsets.UTF_8);
+      }
+      for (final int code : codes) {
+        hasher.putInt(code);
+      }
+    }
+  }
+}
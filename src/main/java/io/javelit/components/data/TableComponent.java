@@ -15,16 +15,26 @@
  */
 package io.javelit.components.data;
 
-import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
+import com.google.common.collect.Streams;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.Shared;
@@ -36,42 +46,84 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 public class TableComponent extends JtComponent<JtComponent.NONE> {
 
+  // tables with more rows than this are paged by default
+  static final int PAGED_THRESHOLD = 1000;
+  // number of rows sent with the initial render of a paged table
+  static final int FIRST_PAGE_SIZE = 100;
+  // bound on the number of rows the frontend can request at once
+  static final int MAX_ROWS_PER_REQUEST = 1000;
+  // tables with at least this number of columns are built with parallel streams
+  static final int PARALLEL_COLUMNS_THRESHOLD = 8;
+
   private static final Mustache registerTemplate;
   private static final Mustache renderTemplate;
+  private static final HashFunction HF = Hashing.murmur3_128(31);
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/data/TableComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/data/TableComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/data/TableComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/data/TableComponent.render.html.mustache");
   }
 
   final @Nonnull List<String> columns;
-  final @Nonnull String[][] values;
+  private final @Nonnull TableColumn[] columnValues;
+  final int rowCount;
+  final boolean paged;
+  final boolean interactive;
+  private final @Nonnull String fingerprint;
+  private final @Nonnull TableView fullView;
+  // lazy tables: rows are read from the source when requested - columnValues only contain the first page
+  private final @Nullable RowSource source;
+  final boolean rowCountPending;
+
+  // interactive tables: views of the last request, reused when the frontend pages through the same view
+  // frontend requests of a session are processed sequentially, so no synchronization is necessary
+  private @Nullable Integer lastGroupBy;
+  private @Nullable TableView lastGroupedView;
+  private @Nullable TableView.Query lastQuery;
+  private @Nullable TableView lastView;
 
   private TableComponent(final @Nonnull Builder builder) {
     super(builder, NONE.NONE_VALUE, null);
     this.columns = builder.columns;
-    this.values = builder.values;
+    this.columnValues = builder.columnValues;
+    this.rowCount = builder.rowCount;
+    this.interactive = builder.interactive;
+    this.source = builder.source;
+    this.rowCountPending = source != null && source.rowCountInProgress();
+    // sort, filter and group-by are performed by the server - interactive tables are always paged
+    // lazy tables are always paged
+    this.paged = interactive || source != null || (builder.paged != null ? builder.paged : rowCount > PAGED_THRESHOLD);
+    this.fingerprint = builder.fingerprint;
+    this.fullView = new TableView(columns, columnValues, null);
   }
 
   public static class Builder extends JtComponentBuilder<JtComponent.NONE, TableComponent, Builder> {
 
-    final Map<String, List<Object>> col2ListData;
-    final Map<String, Object[]> col2ArrayData;
-    final List<Object> listOfObjs;
-    final Object[] arrayOfObjs;
+    // data fields are transient: they are represented by the fingerprint in the component key
+    final transient Map<String, List<Object>> col2ListData;
+    final transient Map<String, Object[]> col2ArrayData;
+    final transient List<Object> listOfObjs;
+    final transient Object[] arrayOfObjs;
+    final transient Map<String, TableColumn> col2TypedColumns;
+    transient RowSource source = null;
 
-    List<String> columns = null;
-    String[][] values = null;
+    transient List<String> columns = null;
+    transient TableColumn[] columnValues = null;
+    transient int rowCount = 0;
+    String fingerprint = null;
+    Boolean paged = null;
+    boolean interactive = false;
 
     private Builder(final @jakarta.annotation.Nullable Map<String, List<Object>> col2ListData,
                     final @jakarta.annotation.Nullable Map<String, Object[]> col2ArrayData,
                     final @jakarta.annotation.Nullable List<Object> objsList,
-                    final @jakarta.annotation.Nullable Object[] objsArray) {
+                    final @jakarta.annotation.Nullable Object[] objsArray,
+                    final @jakarta.annotation.Nullable Map<String, TableColumn> col2TypedColumns) {
       this.col2ListData = col2ListData;
       this.col2ArrayData = col2ArrayData;
       this.listOfObjs = objsList;
       this.arrayOfObjs = objsArray;
+      this.col2TypedColumns = col2TypedColumns;
     }
 
     /**
@@ -80,7 +132,7 @@ public class TableComponent extends JtComponent<JtComponent.NONE> {
      */
     @SuppressWarnings("unchecked")
     public static <Values extends @NotNull List<@Nullable Object>> Builder ofColumnsLists(@Nonnull Map<@NotNull String, Values> col2List) {
-      return new Builder((Map<String, List<Object>>) col2List, null, null, null);
+      return new Builder((Map<String, List<Object>>) col2List, null, null, null, null);
     }
 
     /**
@@ -88,7 +140,7 @@ public class TableComponent extends JtComponent<JtComponent.NONE> {
      * All columns must have the same number of elements.
      */
     public static Builder ofColumnsArrays(@Nonnull Map<@NotNull String, @NotNull Object[]> col2Array) {
-      return new Builder(null, col2Array, null, null);
+      return new Builder(null, col2Array, null, null, null);
     }
 
     /**
@@ -96,7 +148,7 @@ public class TableComponent extends JtComponent<JtComponent.NONE> {
      * Objects are serialized to extract their fields as table columns.
      */
     public static Builder ofObjsList(@Nonnull List<Object> objsList) {
-      return new Builder(null, null, objsList, null);
+      return new Builder(null, null, objsList, null, null);
     }
 
     /**
@@ -104,7 +156,79 @@ public class TableComponent extends JtComponent<JtComponent.NONE> {
      * Objects are serialized to extract their fields as table columns.
      */
     public static Builder ofObjsArray(@Nonnull Object[] objsArray) {
-      return new Builder(null, null, null, objsArray);
+      return new Builder(null, null, null, objsArray, null);
+    }
+
+    /**
+     * Creates a table from a tablesaw {@code Table}.
+     * Numeric, boolean and string columns are read from the tablesaw column storage directly, without boxing each value.
+     * Requires tablesaw in the classpath.
+     */
+    public static Builder ofTablesawTable(@Nonnull tech.tablesaw.api.Table table) {
+      return new Builder(null, null, null, null, TablesawColumns.of(table));
+    }
+
+    /**
+     * Creates a lazy table from a CSV file. The first line must be the header.
+     * The file is memory-mapped and never loaded in the heap: rows are parsed when they are displayed.
+     * The rows are counted in the background, the row count is updated in the browser until the whole file is indexed.
+     * Numbers are detected per value. The index is reused while the file is not modified.
+     */
+    public static Builder ofCsv(@Nonnull Path csvFile) {
+      return ofSource(CsvRowSource.of(csvFile));
+    }
+
+    /**
+     * Creates a lazy table from a supplier of streams. Each element of the stream is a row, object properties become columns.
+     * A new stream is obtained each time rows are displayed, and closed once the rows are read: the stream must always
+     * return the same elements in the same order, and displaying the last rows of a large stream requires iterating
+     * through all previous elements. The columns are the properties of the first 100 elements.
+     */
+    public static Builder ofStream(@Nonnull Supplier<? extends Stream<?>> streamSupplier) {
+      return ofSource(IteratorRowSource.of(streamSupplier));
+    }
+
+    /**
+     * Creates a lazy table from a supplier of iterators. See {@link #ofStream(Supplier)}.
+     */
+    public static Builder ofIterator(@Nonnull Supplier<? extends Iterator<?>> iteratorSupplier) {
+      return ofStream(() -> Streams.stream(iteratorSupplier.get()));
+    }
+
+    /**
+     * Creates a lazy table from a supplier of JDBC {@link ResultSet}. Columns are the columns of the ResultSet.
+     * A new ResultSet is obtained each time rows are displayed: the query must always return the same rows in the same
+     * order. Use a scrollable ResultSet to jump directly to the displayed rows and to know the row count at once.
+     * The supplier is only called by the app and page requests, never by a background thread.
+     * The ResultSet and its Statement are closed after use, the Connection is not closed.
+     */
+    public static Builder ofResultSet(@Nonnull Callable<ResultSet> resultSetSupplier) {
+      return ofSource(ResultSetRowSource.of(resultSetSupplier));
+    }
+
+    private static Builder ofSource(final @Nonnull RowSource source) {
+      final Builder builder = new Builder(null, null, null, null, null);
+      builder.source = source;
+      return builder;
+    }
+
+    /**
+     * Whether the table is paged. A paged table only sends the visible rows to the browser: the data is kept on the
+     * server and the rows are loaded while scrolling. Use it for large tables.
+     * If not set, tables with more than 1000 rows are paged.
+     */
+    public Builder paged(final boolean paged) {
+      this.paged = paged;
+      return this;
+    }
+
+    /**
+     * Whether the table can be sorted, filtered and grouped by the user.
+     * Sort, filter and group-by are computed on the server, without re-running the app. Only the visible rows are sent to the browser.
+     */
+    public Builder interactive(final boolean interactive) {
+      this.interactive = interactive;
+      return this;
     }
 
     @Override
@@ -119,7 +243,27 @@ public class TableComponent extends JtComponent<JtComponent.NONE> {
       } else {
         colName2Column = col2ArrayData;
       }
-      if (colName2Column != null) {
+      if (source != null) {
+        checkArgument(!interactive, "Tables read from a lazy source cannot be interactive.");
+        this.columns = source.columns();
+        final Object[][] firstPage = source.rows(0, FIRST_PAGE_SIZE);
+        this.columnValues = pageColumns(columns.size(), firstPage);
+        this.rowCount = Math.max(source.rowCount(), firstPage.length);
+        this.fingerprint = source.fingerprint();
+        return new TableComponent(this);
+      } else if (col2TypedColumns != null) {
+        this.columns = new ArrayList<>(col2TypedColumns.keySet());
+        this.columnValues = col2TypedColumns.values().toArray(TableColumn[]::new);
+        this.rowCount = columnValues.length == 0 ? 0 : columnValues[0].size();
+        for (int i = 0; i < columnValues.length; i++) {
+          checkArgument(columnValues[i].size() == rowCount,
+                        "Columns must have the same size. %s has size %s, %s has size %s.",
+                        columns.getFirst(),
+                        rowCount,
+                        columns.get(i),
+                        columnValues[i].size());
+        }
+      } else if (colName2Column != null) {
         this.columns = new ArrayList<>(colName2Column.keySet());
         if (!this.columns.isEmpty()) {
           // will ensure all columns have the same size
@@ -133,51 +277,68 @@ public class TableComponent extends JtComponent<JtComponent.NONE> {
                           colName,
                           colLength);
           });
-
-          this.values = new String[valueCount][];
-          for (int i = 0; i < valueCount; i++) {
-            final int idx = i;
-            this.values[i] = columns
-                .stream()
-                .map(colName2Column::get)
-                .map(e -> e[idx])
-                .map(v -> v == null ? null : String.valueOf(v))
-                .toArray(String[]::new);
-          }
-        } else {
-          this.values = new String[0][0];
+          this.rowCount = valueCount;
         }
+        this.columnValues = maybeParallel(columns)
+            .map(colName2Column::get)
+            .map(TableColumn::of)
+            .toArray(TableColumn[]::new);
       } else if (arrayOfObjs != null || listOfObjs != null) {
         final Object itertableOfObject = arrayOfObjs != null ? arrayOfObjs : listOfObjs;
         final List<Map<String, Object>> l = Shared.OBJECT_MAPPER.convertValue(itertableOfObject,
                                                                               new TypeReference<>() {
                                                                               });
         this.columns = l.stream().flatMap(m -> m.keySet().stream()).distinct().toList();
-        this.values = l
-            .stream()
-            .map(m -> columns
-                .stream()
-                .map(m::get)
-                .map(v -> v == null ? null : String.valueOf(v))
-                .toArray(String[]::new))
-            .toArray(String[][]::new);
+        this.rowCount = l.size();
+        this.columnValues = maybeParallel(columns)
+            .map(colName -> TableColumn.of(l.stream().map(m -> m.get(colName)).toArray()))
+            .toArray(TableColumn[]::new);
       }
+      this.fingerprint = fingerprint(columns, columnValues);
       return new TableComponent(this);
     }
+
+    // cheap identity of the table content - avoids generating a key from the whole data printed as a String
+    private static String fingerprint(final @Nonnull List<String> columns, final @Nonnull TableColumn[] columnValues) {
+      final List<HashCode> columnHashes = maybeParallel(IntStream.range(0, columns.size()).boxed().toList())
+          .map(c -> {
+            final Hasher hasher = HF.newHasher();
+            // length prefix makes the encoding unambiguous
+            hasher.putInt(columns.get(c).length()).putString(columns.get(c), StandardCharsets.UTF_8);
+            columnValues[c].hash(hasher);
+            return hasher.hash();
+          })
+          .toList();
+      return columnHashes.isEmpty() ? HF.hashInt(0).toString() : Hashing.combineOrdered(columnHashes).toString();
+    }
+  }
+
+  // row-major page of a lazy source to columns
+  private static @Nonnull TableColumn[] pageColumns(final int columnCount, final @Nonnull Object[][] page) {
+    final TableColumn[] columns = new TableColumn[columnCount];
+    for (int c = 0; c < columnCount; c++) {
+      final Object[] values = new Object[page.length];
+      for (int r = 0; r < page.length; r++) {
+        values[r] = page[r][c];
+      }
+      columns[c] = TableColumn.of(values);
+    }
+    return columns;
+  }
+
+  // wide tables: columns are converted and hashed in parallel
+  static <E> Stream<E> maybeParallel(final @Nonnull List<E> columns) {
+    return columns.size() >= PARALLEL_COLUMNS_THRESHOLD ? columns.parallelStream() : columns.stream();
   }
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -186,6 +347,91 @@ public class TableComponent extends JtComponent<JtComponent.NONE> {
     };
   }
 
+  @Override
+  protected boolean contentEquals(final @Nonnull JtComponent<?> other) {
+    // rendering a large table is expensive - compare the data fingerprint instead
+    return other instanceof TableComponent otherTable
+           && paged == otherTable.paged
+           && interactive == otherTable.interactive
+           && fingerprint.equals(otherTable.fingerprint);
+  }
+
+  // frontend requests a window of rows of a paged table
+  // sort, filter and group-by are only used by interactive tables
+  record RowsRequest(int start,
+                     int end,
+                     @Nullable Integer sortColumn,
+                     boolean descending,
+                     @Nullable Map<Integer, String> filters,
+                     @Nullable Integer groupBy) {
+  }
+
+  @Override
+  protected Object handleFrontendRequest(final @Nullable Object payload) {
+    final RowsRequest request = Shared.OBJECT_MAPPER.convertValue(payload, RowsRequest.class);
+    checkArgument(request.start() >= 0 && request.start() <= request.end(),
+                  "Invalid rows request: [%s, %s)", request.start(), request.end());
+    if (source != null) {
+      return handleSourceRequest(request);
+    }
+    final TableView view = interactive ?
+        view(new TableView.Query(request.sortColumn(), request.descending(), request.filters(), request.groupBy())) :
+        fullView;
+    final int viewRowCount = view.rowCount();
+    final int start = Math.min(request.start(), viewRowCount);
+    final int end = Math.min(Math.min(request.end(), viewRowCount), start + MAX_ROWS_PER_REQUEST);
+    final Map<String, Object> response = new LinkedHashMap<>();
+    response.put("start", start);
+    response.put("rows", view.encode(start, end));
+    if (interactive) {
+      response.put("rowCount", viewRowCount);
+      response.put("columns", view.columns);
+    }
+    return response;
+  }
+
+  private @Nonnull Map<String, Object> handleSourceRequest(final @Nonnull RowsRequest request) {
+    // the row count grows while the source is counted in the background - read before the count: the last refresh
+    // gets the final count
+    final boolean counting = source.rowCountInProgress();
+    final int sourceRowCount = Math.max(source.rowCount(), columnValues.length == 0 ? 0 : columnValues[0].size());
+    final int start = Math.min(request.start(), sourceRowCount);
+    final int end = Math.min(Math.min(request.end(), sourceRowCount), start + MAX_ROWS_PER_REQUEST);
+    final Object[][] page = start == end ? new Object[0][] : source.rows(start, end);
+    final Map<String, Object> response = new LinkedHashMap<>();
+    response.put("start", start);
+    response.put("rows", new TableView(columns, pageColumns(columns.size(), page), null).encode(0, page.length));
+    response.put("rowCount", sourceRowCount);
+    // other sources grow their row count when pages are read - the row count is not refreshed without page requests
+    response.put("counting", counting);
+    return response;
+  }
+
+  private @Nonnull TableView view(final @Nonnull TableView.Query query) {
+    if (query.isEmpty()) {
+      return fullView;
+    }
+    if (query.equals(lastQuery)) {
+      return lastView;
+    }
+    TableView view = fullView;
+    if (query.groupBy() != null) {
+      if (!query.groupBy().equals(lastGroupBy)) {
+        lastGroupedView = fullView.groupBy(query.groupBy());
+        lastGroupBy = query.groupBy();
+      }
+      view = lastGroupedView;
+    }
+    if (query.filters() != null) {
+      view = view.filter(query.filters());
+    }
+    if (query.sortColumn() != null) {
+      view = view.sort(query.sortColumn(), query.descending());
+    }
+    lastQuery = query;
+    lastView = view;
+    return view;
+  }
 
   @SuppressWarnings("unused")
     // used in templates
@@ -196,7 +442,8 @@ public class TableComponent extends JtComponent<JtComponent.NONE> {
   @SuppressWarnings("unused")
     // used in templates
   String getValuesJson() {
-    return toJson(values);
+    // a paged table only sends the first page - other rows are requested by the frontend
+    return toJson(fullView.encode(0, paged ? Math.min(FIRST_PAGE_SIZE, fullView.rowCount()) : rowCount));
   }
 
 }
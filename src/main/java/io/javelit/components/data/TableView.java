@@ -0,0 +1,281 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A grouped, filtered and sorted view of table columns, computed on the server for interactive tables.
+ * Rows are not copied: the view is an array of row indexes in the underlying columns.
+ */
+final class TableView {
+
+  // eg ">= 12.5"
+  private static final Pattern NUMBER_CONDITION_P = Pattern.compile("^\\s*(>=|<=|!=|>|<|=)?\\s*(-?[0-9.eE+-]+)\\s*$");
+
+  /**
+   * @param sortColumn index of the column to sort by, in the grouped columns if groupBy is set
+   * @param filters    column index to filter expression, in the grouped columns if groupBy is set
+   * @param groupBy    index of the column to group by
+   */
+  record Query(@Nullable Integer sortColumn,
+               boolean descending,
+               @Nullable Map<Integer, String> filters,
+               @Nullable Integer groupBy) {
+    boolean isEmpty() {
+      return sortColumn == null && (filters == null || filters.isEmpty()) && groupBy == null;
+    }
+  }
+
+  final @Nonnull List<String> columns;
+  final @Nonnull TableColumn[] values;
+  // null means all rows in natural order
+  private final @Nullable int[] rows;
+
+  TableView(final @Nonnull List<String> columns, final @Nonnull TableColumn[] values, final @Nullable int[] rows) {
+    this.columns = columns;
+    this.values = values;
+    this.rows = rows;
+  }
+
+  int rowCount() {
+    if (rows != null) {
+      return rows.length;
+    }
+    return values.length == 0 ? 0 : values[0].size();
+  }
+
+  // value of the column at the i-th row of the view
+  @Nullable Object get(final int column, final int i) {
+    return values[column].get(rowAt(i));
+  }
+
+  // typed columnar encoding of the rows in [start, end) of the view - see TableColumn
+  @Nonnull Map<String, Object> encode(final int start, final int end) {
+    final List<Map<String, Object>> encodedColumns = new ArrayList<>(values.length);
+    if (rows == null) {
+      for (final TableColumn column : values) {
+        encodedColumns.add(column.encode(start, end));
+      }
+    } else {
+      final int[] page = Arrays.copyOfRange(rows, start, end);
+      for (final TableColumn column : values) {
+        encodedColumns.add(column.select(page).encode(0, page.length));
+      }
+    }
+    return Map.of("length", end - start, "columns", encodedColumns);
+  }
+
+  /**
+   * Returns a table with one row per distinct value of the column, the number of rows and the mean of numeric columns.
+   */
+  @Nonnull TableView groupBy(final int groupColumn) {
+    checkArgument(groupColumn >= 0 && groupColumn < values.length, "Invalid group by column: %s", groupColumn);
+    final TableColumn key = values[groupColumn];
+    final int rowCount = rowCount();
+    // group index of each row - groups are ordered by first appearance
+    final Map<Object, Integer> groupIndexes = new HashMap<>();
+    final List<Integer> firstRows = new ArrayList<>();
+    final int[] groupOfRow = new int[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      final int row = rowAt(i);
+      final Object k = key.get(row);
+      groupOfRow[i] = groupIndexes.computeIfAbsent(k == null ? NullKey.NULL : k, e -> {
+        firstRows.add(row);
+        return firstRows.size() - 1;
+      });
+    }
+    final int groupCount = firstRows.size();
+    final int[] counts = new int[groupCount];
+    for (final int g : groupOfRow) {
+      counts[g]++;
+    }
+
+    final List<String> groupedColumns = new ArrayList<>();
+    final List<TableColumn> groupedValues = new ArrayList<>();
+    groupedColumns.add(columns.get(groupColumn));
+    groupedValues.add(key.select(firstRows.stream().mapToInt(Integer::intValue).toArray()));
+    groupedColumns.add("count");
+    groupedValues.add(new TableColumn.IntColumn(counts, new BitSet()));
+    for (int c = 0; c < values.length; c++) {
+      if (c == groupColumn || !(values[c] instanceof TableColumn.IntColumn || values[c] instanceof TableColumn.DoubleColumn)) {
+        continue;
+      }
+      final double[] sums = new double[groupCount];
+      final int[] nonNullCounts = new int[groupCount];
+      for (int i = 0; i < rowCount; i++) {
+        final Double v = numberAt(values[c], rowAt(i));
+        if (v != null) {
+          sums[groupOfRow[i]] += v;
+          nonNullCounts[groupOfRow[i]]++;
+        }
+      }
+      final BitSet nulls = new BitSet();
+      for (int g = 0; g < groupCount; g++) {
+        if (nonNullCounts[g] == 0) {
+          nulls.set(g);
+        } else {
+          sums[g] /= nonNullCounts[g];
+        }
+      }
+      groupedColumns.add("mean(" + columns.get(c) + ")");
+      groupedValues.add(new TableColumn.DoubleColumn(sums, nulls));
+    }
+    return new TableView(groupedColumns, groupedValues.toArray(TableColumn[]::new), null);
+  }
+
+  /**
+   * Returns the rows matching all filters. Rows are tested in parallel.
+   */
+  @Nonnull TableView filter(final @Nonnull Map<Integer, String> filters) {
+    final List<IntPredicate> predicates = new ArrayList<>();
+    for (final Map.Entry<Integer, String> e : filters.entrySet()) {
+      checkArgument(e.getKey() >= 0 && e.getKey() < values.length, "Invalid filter column: %s", e.getKey());
+      if (e.getValue() != null && !e.getValue().isBlank()) {
+        predicates.add(predicate(values[e.getKey()], e.getValue().strip()));
+      }
+    }
+    if (predicates.isEmpty()) {
+      return this;
+    }
+    final IntPredicate all = predicates.stream().reduce(IntPredicate::and).get();
+    final int[] filtered = IntStream.range(0, rowCount()).parallel().map(this::rowAt).filter(all).toArray();
+    return new TableView(columns, values, filtered);
+  }
+
+  /**
+   * Returns the rows sorted by the column. Nulls are always last. Sorting is performed in parallel.
+   */
+  @Nonnull TableView sort(final int sortColumn, final boolean descending) {
+    checkArgument(sortColumn >= 0 && sortColumn < values.length, "Invalid sort column: %s", sortColumn);
+    final TableColumn column = values[sortColumn];
+    final IndexSort.IntComparator valuesComparator = comparator(column);
+    // nulls last - not reversed on purpose
+    final IndexSort.IntComparator nullsLastComparator = (a, b) -> {
+      final boolean aIsNull = isNull(column, a);
+      final boolean bIsNull = isNull(column, b);
+      if (aIsNull || bIsNull) {
+        return Boolean.compare(aIsNull, bIsNull);
+      }
+      return descending ? valuesComparator.compare(b, a) : valuesComparator.compare(a, b);
+    };
+    final int[] sorted = rows == null ? IntStream.range(0, rowCount()).toArray() : rows.clone();
+    IndexSort.sort(sorted, nullsLastComparator);
+    return new TableView(columns, values, sorted);
+  }
+
+  private int rowAt(final int i) {
+    return rows == null ? i : rows[i];
+  }
+
+  private static @Nonnull IndexSort.IntComparator comparator(final @Nonnull TableColumn column) {
+    return switch (column) {
+      case TableColumn.IntColumn c -> (a, b) -> Integer.compare(c.values()[a], c.values()[b]);
+      case TableColumn.DoubleColumn c -> (a, b) -> Double.compare(c.values()[a], c.values()[b]);
+      case TableColumn.BoolColumn c -> (a, b) -> Boolean.compare(c.values()[a], c.values()[b]);
+      case TableColumn.StringColumn c -> {
+        // compare dictionary ranks instead of strings
+        final String[] dictionary = c.dictionary();
+        final int[] byValue = IntStream.range(0, dictionary.length).toArray();
+        IndexSort.sort(byValue, (i, j) -> dictionary[i].compareTo(dictionary[j]));
+        final int[] rank = new int[dictionary.length];
+        for (int i = 0; i < byValue.length; i++) {
+          rank[byValue[i]] = i;
+        }
+        final int[] codes = c.codes();
+        yield (a, b) -> Integer.compare(rank[codes[a]], rank[codes[b]]);
+      }
+    };
+  }
+
+  // numbers support conditions like "> 3" - other filters are case-insensitive "contains"
+  private static @Nonnull IntPredicate predicate(final @Nonnull TableColumn column, final @Nonnull String filter) {
+    if (column instanceof TableColumn.IntColumn || column instanceof TableColumn.DoubleColumn) {
+      final Matcher m = NUMBER_CONDITION_P.matcher(filter);
+      if (m.matches()) {
+        try {
+          final double operand = Double.parseDouble(m.group(2));
+          final String operator = m.group(1) == null ? "=" : m.group(1);
+          return row -> {
+            final Double v = numberAt(column, row);
+            return v != null && switch (operator) {
+              case ">=" -> v >= operand;
+              case "<=" -> v <= operand;
+              case "!=" -> v != operand;
+              case ">" -> v > operand;
+              case "<" -> v < operand;
+              default -> v == operand;
+            };
+          };
+        } catch (NumberFormatException e) {
+          // not a number condition - fallback to contains
+        }
+      }
+    }
+    final String needle = filter.toLowerCase(Locale.ROOT);
+    if (column instanceof TableColumn.StringColumn c) {
+      // evaluate the filter once per distinct value
+      final String[] dictionary = c.dictionary();
+      final boolean[] matches = new boolean[dictionary.length];
+      for (int i = 0; i < dictionary.length; i++) {
+        matches[i] = dictionary[i].toLowerCase(Locale.ROOT).contains(needle);
+      }
+      final int[] codes = c.codes();
+      return row -> codes[row] >= 0 && matches[codes[row]];
+    }
+    return row -> {
+      final Object v = column.get(row);
+      return v != null && String.valueOf(v).toLowerCase(Locale.ROOT).contains(needle);
+    };
+  }
+
+  private static boolean isNull(final @Nonnull TableColumn column, final int row) {
+    return switch (column) {
+      case TableColumn.IntColumn c -> c.nulls().get(row);
+      case TableColumn.DoubleColumn c -> c.nulls().get(row);
+      case TableColumn.BoolColumn c -> c.nulls().get(row);
+      case TableColumn.StringColumn c -> c.codes()[row] < 0;
+    };
+  }
+
+  private static @Nullable Double numberAt(final @Nonnull TableColumn column, final int row) {
+    return switch (column) {
+      case TableColumn.IntColumn c -> c.nulls().get(row) ? null : (double) c.values()[row];
+      case TableColumn.DoubleColumn c -> c.nulls().get(row) ? null : c.values()[row];
+      default -> null;
+    };
+  }
+
+  // HashMap keys cannot be null
+  private enum NullKey {
+    NULL
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.annotation.Nonnull;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+/**
+ * Converts tablesaw columns to {@link TableColumn} by reading the primitive column storage directly.
+ * Numeric, boolean and string columns are converted without creating an object per cell.
+ * Tablesaw is an optional dependency: this class must only be loaded if tablesaw is in the classpath.
+ */
+final class TablesawColumns {
+
+  private TablesawColumns() {
+  }
+
+  static @Nonnull LinkedHashMap<String, TableColumn> of(final @Nonnull Table table) {
+    final List<Column<?>> columns = table.columns();
+    final TableColumn[] converted = TableComponent.maybeParallel(columns)
+                                                  .map(TablesawColumns::toTableColumn)
+                                                  .toArray(TableColumn[]::new);
+    final LinkedHashMap<String, TableColumn> res = new LinkedHashMap<>();
+    for (int i = 0; i < columns.size(); i++) {
+      res.put(columns.get(i).name(), converted[i]);
+    }
+    return res;
+  }
+
+  private static @Nonnull TableColumn toTableColumn(final @Nonnull Column<?> column) {
+    return switch (column) {
+      case IntColumn c -> new TableColumn.IntColumn(c.asIntArray(), missing(c));
+      case ShortColumn c -> {
+        final int[] values = new int[c.size()];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = c.getShort(i);
+        }
+        yield new TableColumn.IntColumn(values, missing(c));
+      }
+      case DoubleColumn c -> new TableColumn.DoubleColumn(c.asDoubleArray(), missing(c));
+      case FloatColumn c -> {
+        final double[] values = new double[c.size()];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = TableColumn.widen(c.getFloat(i));
+        }
+        yield new TableColumn.DoubleColumn(values, missing(c));
+      }
+      case LongColumn c -> toTableColumn(c);
+      case BooleanColumn c -> {
+        final boolean[] values = new boolean[c.size()];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = c.getByte(i) == 1;
+        }
+        yield new TableColumn.BoolColumn(values, missing(c));
+      }
+      case StringColumn c -> toTableColumn(c);
+      // dates, times and other types - boxing is fine, they are objects in tablesaw anyway
+      default -> TableColumn.of(column.asObjectArray());
+    };
+  }
+
+  private static @Nonnull TableColumn toTableColumn(final @Nonnull LongColumn column) {
+    final long[] longs = column.asLongArray();
+    final BitSet missing = missing(column);
+    final double[] values = new double[longs.length];
+    for (int i = 0; i < longs.length; i++) {
+      if (!missing.get(i) && Math.abs(longs[i]) > TableColumn.MAX_SAFE_INTEGER) {
+        // cannot be represented exactly in the frontend
+        return TableColumn.of(column.asObjectArray());
+      }
+      values[i] = longs[i];
+    }
+    return new TableColumn.DoubleColumn(values, missing);
+  }
+
+  private static @Nonnull TableColumn toTableColumn(final @Nonnull StringColumn column) {
+    // strings are already deduplicated by the tablesaw dictionary - get(i) does not allocate
+    final Map<String, Integer> dictionary = new HashMap<>(column.countUnique() * 2);
+    final int[] codes = new int[column.size()];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = column.isMissing(i) ?
+          -1 :
+          dictionary.computeIfAbsent(column.get(i), k -> dictionary.size());
+    }
+    final String[] values = new String[dictionary.size()];
+    dictionary.forEach((value, code) -> values[code] = value);
+    return new TableColumn.StringColumn(values, codes);
+  }
+
+  private static @Nonnull BitSet missing(final @Nonnull Column<?> column) {
+    final BitSet missing = new BitSet();
+    for (final int i : column.isMissing().toArray()) {
+      missing.set(i);
+    }
+    return missing;
+  }
+}
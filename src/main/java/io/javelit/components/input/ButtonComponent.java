@@ -15,13 +15,10 @@
  */
 package io.javelit.components.input;
 
-import java.io.StringWriter;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtContainer;
@@ -45,9 +42,8 @@ public final class ButtonComponent extends JtComponent<Boolean> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/input/ButtonComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/input/ButtonComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/input/ButtonComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/input/ButtonComponent.render.html.mustache");
   }
 
   private ButtonComponent(final Builder builder) {
@@ -146,16 +142,12 @@ public final class ButtonComponent extends JtComponent<Boolean> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -15,7 +15,6 @@
  */
 package io.javelit.components.input;
 
-import java.io.StringWriter;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Objects;
@@ -23,9 +22,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -54,9 +51,8 @@ public class DateInputComponent extends JtComponent<LocalDate> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/input/DateInputComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/input/DateInputComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/input/DateInputComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/input/DateInputComponent.render.html.mustache");
   }
 
   private DateInputComponent(final @Nonnull Builder builder) {
@@ -213,16 +209,12 @@ public class DateInputComponent extends JtComponent<LocalDate> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -15,14 +15,11 @@
  */
 package io.javelit.components.input;
 
-import java.io.StringWriter;
 import java.lang.reflect.Type;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -54,9 +51,8 @@ public final class NumberInputComponent<T extends Number> extends JtComponent<T>
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/input/NumberInputComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/input/NumberInputComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/input/NumberInputComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/input/NumberInputComponent.render.html.mustache");
   }
 
   private NumberInputComponent(final Builder<T> builder) {
@@ -359,16 +355,12 @@ public final class NumberInputComponent<T extends Number> extends JtComponent<T>
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -15,16 +15,13 @@
  */
 package io.javelit.components.input;
 
-import java.io.StringWriter;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -53,9 +50,8 @@ public class SelectBoxComponent<T> extends JtComponent<@Nullable T> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/input/SelectBoxComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/input/SelectBoxComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/input/SelectBoxComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/input/SelectBoxComponent.render.html.mustache");
   }
 
   public static class Builder<T> extends JtComponentBuilder<T, SelectBoxComponent<T>, Builder<T>> {
@@ -227,16 +223,12 @@ public class SelectBoxComponent<T> extends JtComponent<@Nullable T> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
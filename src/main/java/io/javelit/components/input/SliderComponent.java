@@ -15,13 +15,10 @@
  */
 package io.javelit.components.input;
 
-import java.io.StringWriter;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nullable;
@@ -46,9 +43,8 @@ public final class SliderComponent extends JtComponent<Double> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/input/SliderComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/input/SliderComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/input/SliderComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/input/SliderComponent.render.html.mustache");
   }
 
   private SliderComponent(Builder builder) {
@@ -210,16 +206,12 @@ public final class SliderComponent extends JtComponent<Double> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
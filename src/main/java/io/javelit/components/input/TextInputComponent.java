@@ -15,13 +15,10 @@
  */
 package io.javelit.components.input;
 
-import java.io.StringWriter;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -47,9 +44,8 @@ public final class TextInputComponent extends JtComponent<String> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/input/TextInputComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/input/TextInputComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/input/TextInputComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/input/TextInputComponent.render.html.mustache");
   }
 
   private TextInputComponent(Builder builder) {
@@ -246,16 +242,12 @@ public final class TextInputComponent extends JtComponent<String> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
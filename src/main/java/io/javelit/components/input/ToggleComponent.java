@@ -15,13 +15,10 @@
  */
 package io.javelit.components.input;
 
-import java.io.StringWriter;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -41,9 +38,8 @@ public final class ToggleComponent extends JtComponent<@NotNull Boolean> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/input/ToggleComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/input/ToggleComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/input/ToggleComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/input/ToggleComponent.render.html.mustache");
   }
 
   public static final class Builder extends JtComponentBuilder<@NotNull Boolean, ToggleComponent, Builder> {
@@ -148,16 +144,12 @@ public final class ToggleComponent extends JtComponent<@NotNull Boolean> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
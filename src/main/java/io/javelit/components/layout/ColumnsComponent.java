@@ -15,16 +15,13 @@
  */
 package io.javelit.components.layout;
 
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.reflect.ReflectionObjectHandler;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtContainer;
@@ -60,15 +57,8 @@ public final class ColumnsComponent extends JtComponent<ColumnsComponent.Columns
   private static final Mustache renderTemplate;
 
   static {
-    final DefaultMustacheFactory mf = new DefaultMustacheFactory();
-    mf.setObjectHandler(new ReflectionObjectHandler() {
-      @Override
-      protected boolean areMethodsAccessible(Map<?, ?> map) {
-        return true;
-      }
-    });
-    registerTemplate = mf.compile("components/layout/ColumnsComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/layout/ColumnsComponent.render.html.mustache");
+    registerTemplate = compileTemplateWithMapMethods("components/layout/ColumnsComponent.register.html.mustache");
+    renderTemplate = compileTemplateWithMapMethods("components/layout/ColumnsComponent.render.html.mustache");
   }
 
   private ColumnsComponent(final ColumnsComponent.Builder builder) {
@@ -162,9 +152,7 @@ public final class ColumnsComponent extends JtComponent<ColumnsComponent.Columns
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
@@ -173,9 +161,7 @@ public final class ColumnsComponent extends JtComponent<ColumnsComponent.Columns
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -15,12 +15,8 @@
  */
 package io.javelit.components.layout;
 
-import java.io.StringWriter;
-
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtContainer;
@@ -35,14 +31,14 @@ public final class ContainerComponent extends JtComponent<JtContainer> {
   final Integer height;
   final Boolean border;
   private final boolean inPlace;
+  final boolean appendOnly;
 
   private static final Mustache registerTemplate;
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/layout/ContainerComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/layout/ContainerComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/layout/ContainerComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/layout/ContainerComponent.render.html.mustache");
   }
 
   private ContainerComponent(final Builder builder) {
@@ -51,12 +47,14 @@ public final class ContainerComponent extends JtComponent<JtContainer> {
     this.height = builder.height;
     this.border = builder.border;
     this.inPlace = builder.inPlace;
+    this.appendOnly = builder.appendOnly;
   }
 
   public static class Builder extends JtComponentBuilder<JtContainer, ContainerComponent, Builder> {
     private @Nullable Integer height;
     private @Nullable Boolean border;
     private final boolean inPlace;
+    private boolean appendOnly;
 
     public Builder(final boolean inPlace) {
       this.inPlace = inPlace;
@@ -78,6 +76,22 @@ public final class ContainerComponent extends JtComponent<JtContainer> {
       return this;
     }
 
+    /**
+     * Only append components to the container, for instance for a chat history or an event log.
+     * At each run, the components already displayed in the container are compared to the previous run by their key only:
+     * they are not rendered nor compared again, so the cost of a run depends on the number of new components, not on the size of the container.
+     * A component without a user key is identified by its content: if a displayed component changes, the container is updated from this component.
+     * Components with a user key and input widgets are always compared fully.
+     * In the browser, the rendering of the components outside the viewport is skipped.
+     */
+    public Builder appendOnly() {
+      if (inPlace) {
+        throw new IllegalArgumentException("appendOnly cannot be used with Jt.empty(). Use Jt.container() instead.");
+      }
+      this.appendOnly = true;
+      return this;
+    }
+
     @Override
     public ContainerComponent build() {
       if (border == null) {
@@ -93,9 +107,7 @@ public final class ContainerComponent extends JtComponent<JtContainer> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
@@ -104,9 +116,7 @@ public final class ContainerComponent extends JtComponent<JtContainer> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -123,6 +133,8 @@ public final class ContainerComponent extends JtComponent<JtContainer> {
   protected void beforeUse(final @NotNull JtContainer container) {
     if (inPlace) {
       this.currentValue = container.inPlaceChild(getInternalKey());
+    } else if (appendOnly) {
+      this.currentValue = container.appendOnlyChild(getInternalKey());
     } else {
       this.currentValue = container.child(getInternalKey());
     }
@@ -15,12 +15,8 @@
  */
 package io.javelit.components.layout;
 
-import java.io.StringWriter;
-
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtContainer;
@@ -39,9 +35,8 @@ public final class ExpanderComponent extends JtComponent<JtContainer> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/layout/ExpanderComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/layout/ExpanderComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/layout/ExpanderComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/layout/ExpanderComponent.render.html.mustache");
   }
 
   private ExpanderComponent(final Builder builder) {
@@ -64,6 +59,7 @@ public final class ExpanderComponent extends JtComponent<JtContainer> {
     /**
      * The initial state of the expander. When set to {@code true}, the expander starts in the expanded state. When {@code false} (default), the expander starts collapsed.
      * Note that all content within the expander is computed and sent to the frontend regardless of the initial state.
+     * To only compute the content when the expander is expanded, put it in a lazy fragment: {@code Jt.fragment(...).lazy().use(expander)}.
      */
     public Builder expanded(final boolean expanded) {
       this.expanded = expanded;
@@ -108,9 +104,7 @@ public final class ExpanderComponent extends JtComponent<JtContainer> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
@@ -119,9 +113,7 @@ public final class ExpanderComponent extends JtComponent<JtContainer> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -134,4 +126,9 @@ public final class ExpanderComponent extends JtComponent<JtContainer> {
   protected void beforeUse(final @NotNull JtContainer container) {
     this.currentValue = container.child(getInternalKey());
   }
+
+  @Override
+  protected boolean initiallyDisplays(final @NotNull JtContainer container) {
+    return expanded;
+  }
 }
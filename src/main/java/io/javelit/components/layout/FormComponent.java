@@ -15,12 +15,8 @@
  */
 package io.javelit.components.layout;
 
-import java.io.StringWriter;
-
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtContainer;
@@ -39,9 +35,8 @@ public final class FormComponent extends JtComponent<JtContainer> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/layout/FormComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/layout/FormComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/layout/FormComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/layout/FormComponent.render.html.mustache");
   }
 
   private FormComponent(final Builder builder) {
@@ -140,9 +135,7 @@ public final class FormComponent extends JtComponent<JtContainer> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
@@ -151,9 +144,7 @@ public final class FormComponent extends JtComponent<JtContainer> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -15,12 +15,8 @@
  */
 package io.javelit.components.layout;
 
-import java.io.StringWriter;
-
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtContainer;
@@ -40,9 +36,8 @@ public final class PopoverComponent extends JtComponent<JtContainer> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/layout/PopoverComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/layout/PopoverComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/layout/PopoverComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/layout/PopoverComponent.render.html.mustache");
   }
 
   private PopoverComponent(final Builder builder) {
@@ -104,9 +99,7 @@ public final class PopoverComponent extends JtComponent<JtContainer> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
@@ -115,9 +108,7 @@ public final class PopoverComponent extends JtComponent<JtContainer> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -130,4 +121,10 @@ public final class PopoverComponent extends JtComponent<JtContainer> {
   protected void beforeUse(final @NotNull JtContainer container) {
     this.currentValue = container.child(getInternalKey());
   }
+
+  // a popover is closed when it is rendered
+  @Override
+  protected boolean initiallyDisplays(final @NotNull JtContainer container) {
+    return false;
+  }
 }
@@ -15,16 +15,13 @@
  */
 package io.javelit.components.layout;
 
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.reflect.ReflectionObjectHandler;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtContainer;
@@ -41,15 +38,8 @@ public final class TabsComponent extends JtComponent<TabsComponent.Tabs> {
   private static final Mustache renderTemplate;
 
   static {
-    final DefaultMustacheFactory mf = new DefaultMustacheFactory();
-    mf.setObjectHandler(new ReflectionObjectHandler() {
-      @Override
-      protected boolean areMethodsAccessible(Map<?, ?> map) {
-        return true;
-      }
-    });
-    registerTemplate = mf.compile("components/layout/TabsComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/layout/TabsComponent.render.html.mustache");
+    registerTemplate = compileTemplateWithMapMethods("components/layout/TabsComponent.register.html.mustache");
+    renderTemplate = compileTemplateWithMapMethods("components/layout/TabsComponent.render.html.mustache");
   }
 
   private TabsComponent(final Builder builder) {
@@ -116,9 +106,7 @@ public final class TabsComponent extends JtComponent<TabsComponent.Tabs> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
@@ -127,9 +115,7 @@ public final class TabsComponent extends JtComponent<TabsComponent.Tabs> {
       throw new IllegalStateException(
           "Component has not been fully initialized yet. use() should be called before register().");
     }
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -144,6 +130,12 @@ public final class TabsComponent extends JtComponent<TabsComponent.Tabs> {
     this.currentValue = new Tabs(baseContainer, this.tabs);
   }
 
+  // the first tab is active when the tabs are rendered
+  @Override
+  protected boolean initiallyDisplays(final @NotNull JtContainer container) {
+    return container.equals(currentValue.tab(0));
+  }
+
   // Helper method for Mustache template to render tabs as JSON array
   String getTabsJson() {
     return toJson(tabs);
@@ -18,7 +18,6 @@ package io.javelit.components.media;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.net.URLConnection;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -27,9 +26,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtUploadedFile;
@@ -61,9 +58,8 @@ public final class AudioComponent extends JtComponent<JtComponent.NONE> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/media/AudioComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/media/AudioComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/media/AudioComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/media/AudioComponent.render.html.mustache");
   }
 
   private AudioComponent(final @Nonnull Builder builder) {
@@ -238,16 +234,12 @@ public final class AudioComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -15,15 +15,12 @@
  */
 package io.javelit.components.media;
 
-import java.io.StringWriter;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtUploadedFile;
@@ -48,9 +45,8 @@ public class AudioInputComponent extends JtComponent<JtUploadedFile> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/media/AudioInputComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/media/AudioInputComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/media/AudioInputComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/media/AudioInputComponent.render.html.mustache");
   }
 
   private AudioInputComponent(final Builder builder) {
@@ -172,16 +168,12 @@ public class AudioInputComponent extends JtComponent<JtUploadedFile> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
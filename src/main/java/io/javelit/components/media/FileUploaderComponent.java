@@ -15,7 +15,6 @@
  */
 package io.javelit.components.media;
 
-import java.io.StringWriter;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -25,9 +24,7 @@ import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtUploadedFile;
@@ -62,9 +59,8 @@ public class FileUploaderComponent extends JtComponent<List<JtUploadedFile>> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/media/FileUploaderComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/media/FileUploaderComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/media/FileUploaderComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/media/FileUploaderComponent.render.html.mustache");
   }
 
   private FileUploaderComponent(final Builder builder) {
@@ -192,16 +188,12 @@ public class FileUploaderComponent extends JtComponent<List<JtUploadedFile>> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
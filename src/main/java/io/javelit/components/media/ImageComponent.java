@@ -18,7 +18,6 @@ package io.javelit.components.media;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.net.URLConnection;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -27,9 +26,7 @@ import java.nio.file.Path;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtUploadedFile;
@@ -53,9 +50,8 @@ public final class ImageComponent extends JtComponent<JtComponent.NONE> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/media/ImageComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/media/ImageComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/media/ImageComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/media/ImageComponent.render.html.mustache");
   }
 
 
@@ -184,16 +180,12 @@ public final class ImageComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -16,14 +16,11 @@
 package io.javelit.components.media;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import io.javelit.core.JtUploadedFile;
@@ -43,9 +40,8 @@ public final class PdfComponent extends JtComponent<JtComponent.NONE> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/media/PdfComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/media/PdfComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/media/PdfComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/media/PdfComponent.render.html.mustache");
   }
 
 
@@ -127,16 +123,12 @@ public final class PdfComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
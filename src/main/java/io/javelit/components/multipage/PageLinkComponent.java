@@ -15,12 +15,8 @@
  */
 package io.javelit.components.multipage;
 
-import java.io.StringWriter;
-
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.Jt;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
@@ -49,10 +45,9 @@ public final class PageLinkComponent extends JtComponent<JtComponent.NONE> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile(
+    registerTemplate = compileTemplate(
         "components/multipage/PageLinkComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/multipage/PageLinkComponent.render.html.mustache");
+    renderTemplate = compileTemplate("components/multipage/PageLinkComponent.render.html.mustache");
   }
 
   private PageLinkComponent(final Builder builder) {
@@ -192,16 +187,12 @@ public final class PageLinkComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
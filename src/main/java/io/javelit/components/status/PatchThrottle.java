@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.status;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.javelit.core.JtComponent;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Sends the property patches of a handle to its frontend element, at most once per interval.
+ * Patches received within an interval are coalesced: only the last one is sent, at the end of the interval.
+ * When the element is rendered again by a later run, the previous throttle is flushed and closed: its delayed patches
+ * cannot overwrite the new element.
+ */
+final class PatchThrottle {
+
+  static final long MIN_INTERVAL_MS = 50;
+
+  private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("javelit-patch-flusher").build());
+
+  // latest throttle of each frontend element - channels are equal if they target the same element of the same session
+  private static final Cache<JtComponent.FrontendChannel, PatchThrottle> LATEST = CacheBuilder.newBuilder()
+      .weakValues()
+      .build();
+
+  private final @Nonnull JtComponent.FrontendChannel channel;
+
+  // all fields below are guarded by this
+  private @Nullable Object pendingPatch;
+  private @Nullable ScheduledFuture<?> scheduledFlush;
+  // 0 if nothing was sent yet
+  private long lastSentNanos;
+  private boolean closed;
+
+  private PatchThrottle(final @Nonnull JtComponent.FrontendChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Must be called when the element is rendered, in the app thread.
+   */
+  static @Nonnull PatchThrottle create(final @Nonnull JtComponent.FrontendChannel channel) {
+    final PatchThrottle throttle = new PatchThrottle(channel);
+    final PatchThrottle previous = LATEST.asMap().put(channel, throttle);
+    if (previous != null) {
+      previous.close();
+    }
+    return throttle;
+  }
+
+  synchronized void send(final @Nonnull Object patch) {
+    if (closed) {
+      // the element was rendered again - the patch is stale
+      return;
+    }
+    pendingPatch = patch;
+    if (scheduledFlush != null) {
+      return;
+    }
+    final long waitNanos = lastSentNanos == 0
+        ? 0
+        : lastSentNanos + TimeUnit.MILLISECONDS.toNanos(MIN_INTERVAL_MS) - System.nanoTime();
+    if (waitNanos <= 0) {
+      flush();
+    } else {
+      scheduledFlush = FLUSHER.schedule(this::flush, waitNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // sends the pending patch now - it is sent before the new render of the element
+  private synchronized void close() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+    }
+    flush();
+    closed = true;
+  }
+
+  private synchronized void flush() {
+    scheduledFlush = null;
+    if (pendingPatch == null) {
+      return;
+    }
+    channel.push(pendingPatch);
+    pendingPatch = null;
+    lastSentNanos = System.nanoTime();
+  }
+}
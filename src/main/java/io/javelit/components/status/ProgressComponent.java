@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.status;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.mustachejava.Mustache;
+import io.javelit.core.JtComponent;
+import io.javelit.core.JtComponentBuilder;
+import io.javelit.core.JtContainer;
+import io.javelit.core.JtHandle;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.NotNull;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+public final class ProgressComponent extends JtComponent<ProgressComponent.Progress> {
+
+  // visible to the template engine - value and text are updated by the handle, see Progress
+  double value;
+  @Nullable String text;
+  final String width;
+
+  private static final Mustache registerTemplate;
+  private static final Mustache renderTemplate;
+
+  static {
+    registerTemplate = compileTemplate("components/status/ProgressComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/status/ProgressComponent.render.html.mustache");
+  }
+
+  private ProgressComponent(final Builder builder) {
+    // the currentValue is set when use() is called - see beforeUse
+    super(builder, null, null);
+    this.value = builder.value;
+    this.text = builder.text;
+    this.width = builder.width;
+  }
+
+  public static class Builder extends JtComponentBuilder<Progress, ProgressComponent, Builder> {
+    private double value;
+    private @Nullable String text;
+    private String width = "stretch";
+
+    /**
+     * The initial progress, between {@code 0.0} and {@code 1.0}. Default: {@code 0.0}.
+     */
+    public Builder value(final double value) {
+      checkValue(value);
+      this.value = value;
+      return this;
+    }
+
+    /**
+     * A text to display above the progress bar. If {@code null} (default), no text is displayed.
+     */
+    public Builder text(final @Nullable String text) {
+      this.text = text;
+      return this;
+    }
+
+    /**
+     * The width of the element. This can be one of the following:
+     * <ul>
+     * <li>{@code stretch} (default): The width of the element matches the width of the parent container.</li>
+     * <li>An integer specifying the width in pixels: The element has a fixed width. If the specified width is greater than the width of the parent container, the width of the element matches the width of the parent container.</li>
+     * </ul>
+     */
+    public Builder width(final String width) {
+      if (width != null && !"stretch".equals(width) && !width.matches("\\d+")) {
+        throw new IllegalArgumentException("width must be 'stretch' or a pixel value (integer). Got: " + width);
+      }
+      this.width = width;
+      return this;
+    }
+
+    /**
+     * The width of the element in pixels. The element will have a fixed width. If the specified width is greater than the width of the parent container, the width of the element matches the width of the parent container.
+     */
+    public Builder width(final int widthPixels) {
+      if (widthPixels < 0) {
+        throw new IllegalArgumentException("Width in pixels must be non-negative. Got: " + widthPixels);
+      }
+      this.width = String.valueOf(widthPixels);
+      return this;
+    }
+
+    @Override
+    public ProgressComponent build() {
+      return new ProgressComponent(this);
+    }
+  }
+
+  /**
+   * Updates the progress bar while the app is running. Can be used from any thread.
+   */
+  public static final class Progress implements JtHandle {
+    private final @Nonnull ProgressComponent component;
+    private final @Nonnull PatchThrottle throttle;
+
+    private Progress(final @Nonnull ProgressComponent component, final @Nonnull FrontendChannel channel) {
+      this.component = component;
+      this.throttle = PatchThrottle.create(channel);
+    }
+
+    /**
+     * Set the progress, between {@code 0.0} and {@code 1.0}. The text is unchanged.
+     */
+    public void update(final double value) {
+      synchronized (component) {
+        update(value, component.text);
+      }
+    }
+
+    /**
+     * Set the progress, between {@code 0.0} and {@code 1.0}, and the text displayed above the progress bar.
+     * Only a small patch is sent to the frontend. Frequent updates are coalesced: at most one update is sent every 50 ms,
+     * and the last update is always sent.
+     */
+    public void update(final double value, final @Nullable String text) {
+      checkValue(value);
+      final Map<String, Object> patch = new LinkedHashMap<>();
+      synchronized (component) {
+        // the next run of the app is diffed against the last update
+        component.value = value;
+        component.text = text;
+        patch.put("value", value);
+        patch.put("text", text);
+        throttle.send(patch);
+      }
+    }
+  }
+
+  private static void checkValue(final double value) {
+    checkArgument(value >= 0 && value <= 1, "Progress value must be between 0.0 and 1.0. Got: %s", value);
+  }
+
+  @Override
+  protected String register() {
+    return executeTemplate(registerTemplate, this);
+  }
+
+  @Override
+  protected synchronized String render() {
+    return executeTemplate(renderTemplate, this);
+  }
+
+  @Override
+  protected TypeReference<Progress> getTypeReference() {
+    return new TypeReference<>() {
+    };
+  }
+
+  @Override
+  protected void beforeUse(final @NotNull JtContainer container) {
+    this.currentValue = new Progress(this, frontendChannel());
+  }
+}
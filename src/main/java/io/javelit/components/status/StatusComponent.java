@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.status;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.mustachejava.Mustache;
+import io.javelit.core.JtComponent;
+import io.javelit.core.JtComponentBuilder;
+import io.javelit.core.JtContainer;
+import io.javelit.core.JtHandle;
+import jakarta.annotation.Nonnull;
+import org.jetbrains.annotations.NotNull;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+public final class StatusComponent extends JtComponent<StatusComponent.Status> {
+
+  public enum State {
+    RUNNING,
+    COMPLETE,
+    ERROR,
+  }
+
+  // visible to the template engine - label and state are updated by the handle, see Status
+  @Nonnull String label;
+  @Nonnull State state;
+  final String width;
+
+  private static final Mustache registerTemplate;
+  private static final Mustache renderTemplate;
+
+  static {
+    registerTemplate = compileTemplate("components/status/StatusComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/status/StatusComponent.render.html.mustache");
+  }
+
+  private StatusComponent(final Builder builder) {
+    // the currentValue is set when use() is called - see beforeUse
+    super(builder, null, null);
+    this.label = builder.label;
+    this.state = builder.state;
+    this.width = builder.width;
+  }
+
+  public static class Builder extends JtComponentBuilder<Status, StatusComponent, Builder> {
+    private final @Nonnull String label;
+    private @Nonnull State state = State.RUNNING;
+    private String width = "stretch";
+
+    public Builder(final @Nonnull String label) {
+      checkArgument(!label.isBlank(), "Status label cannot be null or empty");
+      this.label = label;
+    }
+
+    /**
+     * The initial state. A spinner is displayed while the state is {@code RUNNING}. Default: {@code RUNNING}.
+     */
+    public Builder state(final @Nonnull State state) {
+      this.state = state;
+      return this;
+    }
+
+    /**
+     * The width of the element. This can be one of the following:
+     * <ul>
+     * <li>{@code stretch} (default): The width of the element matches the width of the parent container.</li>
+     * <li>An integer specifying the width in pixels: The element has a fixed width. If the specified width is greater than the width of the parent container, the width of the element matches the width of the parent container.</li>
+     * </ul>
+     */
+    public Builder width(final String width) {
+      if (width != null && !"stretch".equals(width) && !width.matches("\\d+")) {
+        throw new IllegalArgumentException("width must be 'stretch' or a pixel value (integer). Got: " + width);
+      }
+      this.width = width;
+      return this;
+    }
+
+    /**
+     * The width of the element in pixels. The element will have a fixed width. If the specified width is greater than the width of the parent container, the width of the element matches the width of the parent container.
+     */
+    public Builder width(final int widthPixels) {
+      if (widthPixels < 0) {
+        throw new IllegalArgumentException("Width in pixels must be non-negative. Got: " + widthPixels);
+      }
+      this.width = String.valueOf(widthPixels);
+      return this;
+    }
+
+    @Override
+    public StatusComponent build() {
+      return new StatusComponent(this);
+    }
+  }
+
+  /**
+   * Updates the status while the app is running. Can be used from any thread.
+   */
+  public static final class Status implements JtHandle {
+    private final @Nonnull StatusComponent component;
+    private final @Nonnull PatchThrottle throttle;
+
+    private Status(final @Nonnull StatusComponent component, final @Nonnull FrontendChannel channel) {
+      this.component = component;
+      this.throttle = PatchThrottle.create(channel);
+    }
+
+    /**
+     * Set the label. The state is unchanged.
+     */
+    public void update(final @Nonnull String label) {
+      synchronized (component) {
+        update(component.state, label);
+      }
+    }
+
+    /**
+     * Set the state and the label.
+     * Only a small patch is sent to the frontend. Frequent updates are coalesced: at most one update is sent every 50 ms,
+     * and the last update is always sent.
+     */
+    public void update(final @Nonnull State state, final @Nonnull String label) {
+      checkArgument(!label.isBlank(), "Status label cannot be null or empty");
+      final Map<String, Object> patch = new LinkedHashMap<>();
+      synchronized (component) {
+        // the next run of the app is diffed against the last update
+        component.state = state;
+        component.label = label;
+        patch.put("state", state);
+        patch.put("label", label);
+        throttle.send(patch);
+      }
+    }
+  }
+
+  @Override
+  protected String register() {
+    return executeTemplate(registerTemplate, this);
+  }
+
+  @Override
+  protected synchronized String render() {
+    return executeTemplate(renderTemplate, this);
+  }
+
+  @Override
+  protected TypeReference<Status> getTypeReference() {
+    return new TypeReference<>() {
+    };
+  }
+
+  @Override
+  protected void beforeUse(final @NotNull JtContainer container) {
+    this.currentValue = new Status(this, frontendChannel());
+  }
+}
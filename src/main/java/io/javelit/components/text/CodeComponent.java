@@ -15,12 +15,8 @@
  */
 package io.javelit.components.text;
 
-import java.io.StringWriter;
-
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -38,8 +34,7 @@ public final class CodeComponent extends JtComponent<JtComponent.NONE> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    renderTemplate = mf.compile("components/text/CodeComponent.render.html.mustache");
+    renderTemplate = compileTemplate("components/text/CodeComponent.render.html.mustache");
   }
 
   private CodeComponent(final Builder builder) {
@@ -162,9 +157,7 @@ public final class CodeComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -16,14 +16,11 @@
 package io.javelit.components.text;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -39,9 +36,8 @@ public final class HtmlComponent extends JtComponent<JtComponent.NONE> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/text/HtmlComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/text/HtmlComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/text/HtmlComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/text/HtmlComponent.render.html.mustache");
   }
 
   private HtmlComponent(final Builder builder) {
@@ -102,16 +98,12 @@ public final class HtmlComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -15,14 +15,14 @@
  */
 package io.javelit.components.text;
 
-import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
+import io.javelit.core.JtContainer;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.intellij.lang.annotations.Language;
@@ -32,19 +32,21 @@ public final class MarkdownComponent extends JtComponent<JtComponent.NONE> {
   final String body;
   final @Nullable String help;
   final @Nullable String width;
+  // the body is streamed to the frontend after the component is added - see Builder#useStream
+  final boolean streaming;
 
   private static final Mustache registerTemplate;
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/text/MarkdownComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/text/MarkdownComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/text/MarkdownComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/text/MarkdownComponent.render.html.mustache");
   }
 
   private MarkdownComponent(final Builder builder) {
     super(builder, NONE.NONE_VALUE, null);
-    this.body = markdownToHtml(builder.body, false);
+    this.streaming = builder.streamId != null;
+    this.body = streaming ? "" : markdownToHtml(builder.body, false);
     this.help = builder.help;
     this.width = builder.width;
   }
@@ -53,6 +55,9 @@ public final class MarkdownComponent extends JtComponent<JtComponent.NONE> {
     private final @Nonnull @Language("markdown") String body;
     private @Nullable String help;
     private @Nullable String width;
+    // unique per stream in a run - stream updates must only reach the element of this stream
+    // derived from the position of the stream, so that the key is the same in the next runs
+    private @Nullable String streamId;
 
     public Builder(final @Nonnull @Language("markdown") String body) {
       this.body = body;
@@ -94,6 +99,57 @@ public final class MarkdownComponent extends JtComponent<JtComponent.NONE> {
       return this;
     }
 
+    /**
+     * Put the markdown in the app, in the {@code MAIN} container, then append the chunks to it as they arrive.
+     * The body of the builder is displayed first. Blocks until all chunks are consumed, and returns the whole text.
+     * Use it to display text generated incrementally, for instance the tokens of an LLM response.
+     */
+    public String useStream(final @Nonnull Iterator<String> chunks) {
+      return useStream(chunks, JtContainer.MAIN);
+    }
+
+    /**
+     * Put the markdown in the app, in the provided container, then append the chunks to it as they arrive.
+     * See {@link #useStream(Iterator)}.
+     */
+    public String useStream(final @Nonnull Iterator<String> chunks, final @Nonnull JtContainer container) {
+      this.streamId = container.frontendDataContainerField() + "#" + componentCountInCurrentRun(container);
+      final MarkdownComponent component = build();
+      component.use(container);
+      final MarkdownStream stream = new MarkdownStream(component.frontendChannel(),
+                                                       markdown -> markdownToHtmlUncached(markdown, false),
+                                                       body);
+      String fullText = null;
+      try {
+        while (chunks.hasNext()) {
+          stream.append(chunks.next());
+        }
+      } finally {
+        fullText = stream.complete();
+        // the next run is diffed against the complete text, as if it was displayed with use()
+        final Builder completeBuilder = new Builder(fullText).help(help).width(width);
+        completeBuilder.userKey = userKey;
+        component.replaceInCurrentRun(completeBuilder.build());
+      }
+      return fullText;
+    }
+
+    /**
+     * Put the markdown in the app, in the {@code MAIN} container, then append the chunks to it as they are published.
+     * See {@link #useStream(Iterator)}.
+     */
+    public String useStream(final @Nonnull Flow.Publisher<String> chunks) {
+      return useStream(MarkdownStream.iterator(chunks), JtContainer.MAIN);
+    }
+
+    /**
+     * Put the markdown in the app, in the provided container, then append the chunks to it as they are published.
+     * See {@link #useStream(Iterator)}.
+     */
+    public String useStream(final @Nonnull Flow.Publisher<String> chunks, final @Nonnull JtContainer container) {
+      return useStream(MarkdownStream.iterator(chunks), container);
+    }
+
     @Override
     public MarkdownComponent build() {
       return new MarkdownComponent(this);
@@ -102,16 +158,12 @@ public final class MarkdownComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
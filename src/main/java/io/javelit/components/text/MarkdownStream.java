@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.text;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.javelit.core.JtComponent;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Sends markdown chunks to a streaming markdown element.
+ * Chunks arriving within a frame interval are sent in a single message.
+ * Completed markdown blocks are rendered once and appended to the element. Only the last, incomplete block is
+ * re-rendered at each message, so the total size of the messages stays linear in the size of the text.
+ */
+final class MarkdownStream {
+
+  // ~ 1 frame at 60fps
+  static final long FRAME_INTERVAL_MS = 16;
+
+  private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("javelit-markdown-stream-flusher").build());
+
+  private final @Nonnull JtComponent.FrontendChannel channel;
+  private final @Nonnull Function<String, String> markdownToHtml;
+
+  // all fields below are guarded by this
+  private final StringBuilder text = new StringBuilder();
+  // text before this index was sent as complete blocks
+  private int sentBlocksEnd;
+  private @Nullable ScheduledFuture<?> scheduledFlush;
+  private boolean completed;
+
+  MarkdownStream(final @Nonnull JtComponent.FrontendChannel channel,
+                 final @Nonnull Function<String, String> markdownToHtml,
+                 final @Nonnull String initialText) {
+    this.channel = channel;
+    this.markdownToHtml = markdownToHtml;
+    append(initialText);
+  }
+
+  synchronized void append(final @Nullable String chunk) {
+    if (completed || chunk == null || chunk.isEmpty()) {
+      return;
+    }
+    text.append(chunk);
+    if (scheduledFlush == null) {
+      scheduledFlush = FLUSHER.schedule(this::flush, FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private synchronized void flush() {
+    scheduledFlush = null;
+    if (completed) {
+      return;
+    }
+    final int blocksEnd = lastBlockBoundary();
+    final Map<String, Object> update = new LinkedHashMap<>();
+    if (blocksEnd > sentBlocksEnd) {
+      update.put("appendHtml", markdownToHtml.apply(text.substring(sentBlocksEnd, blocksEnd)));
+      sentBlocksEnd = blocksEnd;
+    }
+    update.put("tailHtml", markdownToHtml.apply(text.substring(sentBlocksEnd)));
+    channel.push(update);
+  }
+
+  /**
+   * Sends the html of the whole text. Returns the whole text.
+   */
+  synchronized @Nonnull String complete() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    completed = true;
+    final String fullText = text.toString();
+    channel.push(Map.of("html", markdownToHtml.apply(fullText)));
+    return fullText;
+  }
+
+  // end of the last blank line after sentBlocksEnd that is not in a code fence - blocks before it will not change
+  private int lastBlockBoundary() {
+    int boundary = sentBlocksEnd;
+    boolean inFence = false;
+    int lineStart = sentBlocksEnd;
+    while (true) {
+      final int lineEnd = text.indexOf("\n", lineStart);
+      if (lineEnd < 0) {
+        // last line is incomplete
+        return boundary;
+      }
+      final String line = text.substring(lineStart, lineEnd).strip();
+      if (line.startsWith("```") || line.startsWith("~~~")) {
+        inFence = !inFence;
+      } else if (line.isEmpty() && !inFence) {
+        boundary = lineEnd + 1;
+      }
+      lineStart = lineEnd + 1;
+    }
+  }
+
+  // consumes the publisher from the app thread - chunks are queued until the app thread reads them
+  static @Nonnull Iterator<String> iterator(final @Nonnull Flow.Publisher<String> publisher) {
+    final PublisherIterator iterator = new PublisherIterator();
+    publisher.subscribe(iterator);
+    return iterator;
+  }
+
+  private static final class PublisherIterator implements Iterator<String>, Flow.Subscriber<String> {
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private @Nullable Object next;
+
+    @Override
+    public void onSubscribe(final @Nonnull Flow.Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(final @Nonnull String item) {
+      queue.add(item);
+    }
+
+    @Override
+    public void onError(final @Nonnull Throwable throwable) {
+      queue.add(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      queue.add(END);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        try {
+          next = queue.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Interrupted while waiting for the next chunk of the stream", e);
+        }
+      }
+      if (next instanceof Throwable t) {
+        throw new RuntimeException("The publisher of the stream failed", t);
+      }
+      return next != END;
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final String item = (String) next;
+      next = null;
+      return item;
+    }
+  }
+}
@@ -15,12 +15,8 @@
  */
 package io.javelit.components.text;
 
-import java.io.StringWriter;
-
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -37,9 +33,8 @@ public final class TextComponent extends JtComponent<JtComponent.NONE> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/TextComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/TextComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/TextComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/TextComponent.render.html.mustache");
   }
 
   @SuppressWarnings("unused")
@@ -112,16 +107,12 @@ public final class TextComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -15,12 +15,8 @@
  */
 package io.javelit.components.text;
 
-import java.io.StringWriter;
-
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import io.javelit.core.JtComponent;
 import io.javelit.core.JtComponentBuilder;
 import jakarta.annotation.Nonnull;
@@ -42,9 +38,8 @@ public final class TitleComponent extends JtComponent<JtComponent.NONE> {
   private static final Mustache renderTemplate;
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/TitleComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/TitleComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/TitleComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/TitleComponent.render.html.mustache");
   }
 
   private TitleComponent(final Builder builder) {
@@ -126,16 +121,12 @@ public final class TitleComponent extends JtComponent<JtComponent.NONE> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
@@ -107,8 +107,14 @@ final class AppRunner {
 
     boolean doRerun = false;
     Consumer<String> runAfterBreak = null;
+    // errors are displayed in the fragment if only a fragment is run
+    JtContainer feedbackContainer = JtContainer.MAIN;
     try {
       StateManager.beginExecution(sessionId, renderServer);
+      final FragmentComponent fragment = StateManager.fragmentToRun();
+      if (fragment != null) {
+        feedbackContainer = fragment.returnValue();
+      }
       // Apps may call ServiceLoader.load(SomeClass.class). This would use the current thread context classloader (not set here) or fallback to the System classloader.
       // We need to use the HotClassLoader used to define the mainMethod
       // NOTE: this is only necessary for when the mainMethod is built from a file but this should have no
@@ -117,7 +123,11 @@ final class AppRunner {
       try {
         final Reloader.AppEntrypoint entrypoint = entrypointRef.get();
         Thread.currentThread().setContextClassLoader(entrypoint.classLoader());
-        entrypoint.runnable().run();
+        if (fragment != null) {
+          fragment.runBody();
+        } else {
+          entrypoint.runnable().run();
+        }
       } catch (RuntimeException e) {
         throw e;
       } catch (Exception e) {
@@ -142,9 +152,9 @@ final class AppRunner {
       } else {
         final Throwable t = unwrapException(e);
         // send error feedback as in-app components - their lifecycle is managed like all other components
-        sendUserFeedback(t);
+        sendUserFeedback(t, feedbackContainer);
         if (StateManager.isDeveloperSession(sessionId)) {
-          sendDeveloperFeedback(t);
+          sendDeveloperFeedback(t, feedbackContainer);
         }
       }
     } finally {
@@ -159,11 +169,11 @@ final class AppRunner {
     }
   }
 
-  private void sendDeveloperFeedback(Throwable t) {
+  private void sendDeveloperFeedback(final Throwable t, final JtContainer container) {
     if (t instanceof ClassCastException cce) {
       if (isClassloaderMismatch(cce)) {
         final String className = extractSourceClassName(cce);
-        final JtContainer devC = Jt.container().border(true).use();
+        final JtContainer devC = Jt.container().border(true).use(container);
         Jt.markdown("""
                         <sup>_This message only appears in **Dev Mode**_</sup> \s
                         Following the hot-reload, a `%s` value in the Cache, Session State or Component State is not valid anymore. \s
@@ -199,7 +209,8 @@ final class AppRunner {
     return m.find() ? m.group(1) : "unknown class";
   }
 
-  private static void sendUserFeedback(final Throwable error) {
+  // also displays the errors of the blocks of Jt.parallel, in the container of the block
+  static void sendUserFeedback(final Throwable error, final JtContainer container) {
     final String exceptionSimpleName = error.getClass().getSimpleName();
     final String errorMessage = optional(error.getMessage()).orElse("[ no error message ]");
     final String stackTrace = stackTraceString(error);
@@ -226,7 +237,7 @@ final class AppRunner {
                       chatGptLink);
 
     // Send error as a component usage - its lifecycle is managed like all other components
-    Jt.error(errorMarkdown).use();
+    Jt.error(errorMarkdown).use(container);
   }
 
   private static Throwable unwrapException(Throwable error) {
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * The body of an async fragment. See {@link Jt#async}.
+ * The supplier is started when the fragment is used. Until it completes, the body renders a placeholder.
+ * When it completes, the fragment is run again and the body renders the result.
+ */
+final class AsyncFragment<T> implements JtFragment {
+
+  private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("javelit-async-", 0).factory());
+
+  private final @Nonnull Supplier<T> supplier;
+  private final @Nonnull JtAsyncBody<T> body;
+
+  // set by start() - an async fragment is used at most once
+  private @Nullable CompletableFuture<T> result;
+  private @Nullable Future<?> task;
+
+  AsyncFragment(final @Nonnull Supplier<T> supplier, final @Nonnull JtAsyncBody<T> body) {
+    this.supplier = supplier;
+    this.body = body;
+  }
+
+  // onComplete is called from the worker thread when the result is available - not called if the task is cancelled
+  synchronized void start(final @Nonnull Runnable onComplete) {
+    if (result != null) {
+      return;
+    }
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    future.whenComplete((r, e) -> {
+      if (!future.isCancelled()) {
+        onComplete.run();
+      }
+    });
+    result = future;
+    task = EXECUTOR.submit(() -> {
+      try {
+        future.complete(supplier.get());
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    });
+  }
+
+  // interrupts the supplier if it is still running - its result will not be rendered
+  synchronized void cancel() {
+    if (result != null && !result.isDone()) {
+      result.cancel(false);
+      task.cancel(true);
+    }
+  }
+
+  @Override
+  public void run(final JtContainer container) throws Exception {
+    final CompletableFuture<T> future;
+    synchronized (this) {
+      future = result;
+    }
+    if (future == null || !future.isDone()) {
+      Jt.markdown("*Loading...*").use(container);
+      return;
+    }
+    final T value;
+    try {
+      value = future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    body.run(value, container);
+  }
+}
@@ -83,8 +83,25 @@ class FileReloader extends Reloader {
 
   @Override
   AppEntrypoint reload() {
+    final JfrEvents.DependencyResolution resolutionEvent = new JfrEvents.DependencyResolution();
+    resolutionEvent.begin();
+    final long resolutionStart = System.nanoTime();
     final String currentClasspath = buildClasspath(providedClasspath, javaFile);
+    final long compilationStart = System.nanoTime();
+    ServerMetrics.DEPENDENCIES_RESOLUTION_DURATION.observeNanos(compilationStart - resolutionStart);
+    if (resolutionEvent.shouldCommit()) {
+      resolutionEvent.appFile = javaFile.toString();
+      resolutionEvent.buildSystem = buildSystem.name();
+      resolutionEvent.commit();
+    }
+    final JfrEvents.ReloadPhase compilationEvent = new JfrEvents.ReloadPhase();
+    compilationEvent.begin();
     final @Nonnull List<JavaFileObject> classFiles = compileJavaFile(this.javaFile, currentClasspath);
+    final long loadingStart = System.nanoTime();
+    ServerMetrics.COMPILATION_DURATION.observeNanos(loadingStart - compilationStart);
+    commitReloadPhase(compilationEvent, "compile");
+    final JfrEvents.ReloadPhase loadingEvent = new JfrEvents.ReloadPhase();
+    loadingEvent.begin();
     final @Nullable JavaFileObject mainClassFile = classFiles.stream()
                                                              // inner classes may appear before the main class in the list
                                                              .filter(e -> !e.getName().contains("$"))
@@ -143,6 +160,8 @@ class FileReloader extends Reloader {
       final String name = classNameFor(mainClassFile);
       final Class<?> mainClass = hierarchicalClassLoader.loadClass(name);
       Method main = mainClass.getMethod("main", String[].class);
+      ServerMetrics.CLASS_LOADING_DURATION.observeNanos(System.nanoTime() - loadingStart);
+      commitReloadPhase(loadingEvent, "load");
       return AppEntrypoint.of(main, hierarchicalClassLoader);
     } catch (NoSuchMethodException e) {
       throw new CompilationException(e);
@@ -156,6 +175,14 @@ class FileReloader extends Reloader {
     }
   }
 
+  private void commitReloadPhase(final @Nonnull JfrEvents.ReloadPhase event, final @Nonnull String phase) {
+    if (event.shouldCommit()) {
+      event.appFile = javaFile.toString();
+      event.phase = phase;
+      event.commit();
+    }
+  }
+
   private static @NotNull List<List<JavaFileObject>> getGroupedClassFiles(@NotNull List<JavaFileObject> classFiles) {
     // group classFiles by parent outer class: inner classes must be defined in the same classloader as the parent (cl means classloader below)
     final LinkedHashMap<String, List<JavaFileObject>> clKeyToClassFiles = new LinkedHashMap<>();
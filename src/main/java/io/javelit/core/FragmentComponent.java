@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.time.Duration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.mustachejava.Mustache;
+import io.javelit.components.layout.ContainerComponent;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.NotNull;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A container whose content is generated by a body that can be re-run alone.
+ * When a widget inside the fragment is updated, only the body is re-run. The rest of the app is kept as is.
+ * <p>
+ * The frontend element is the same as the one of {@link ContainerComponent}.
+ */
+public final class FragmentComponent extends JtComponent<JtContainer> {
+
+  private static final Mustache registerTemplate;
+  private static final Mustache renderTemplate;
+
+  private final @Nonnull JtFragment body;
+  private final @Nullable Duration runEvery;
+  private final boolean lazy;
+
+  static {
+    registerTemplate = compileTemplate("components/layout/ContainerComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/layout/ContainerComponent.render.html.mustache");
+  }
+
+  private FragmentComponent(final Builder builder) {
+    // the currentValue is set when use() is called
+    super(builder, null, null);
+    this.body = builder.body;
+    this.runEvery = builder.runEvery;
+    this.lazy = builder.lazy;
+  }
+
+  public static class Builder extends JtComponentBuilder<JtContainer, FragmentComponent, Builder> {
+    private final transient @Nonnull JtFragment body;
+    // the body is not part of the key - the lambda class identifies the fragment across runs
+    private final @Nonnull String bodyClass;
+    private @Nullable Duration runEvery;
+    private boolean lazy;
+
+    public Builder(final @Nonnull JtFragment body) {
+      this(body, body.getClass().getName());
+    }
+
+    // for bodies that wrap a user lambda - bodyClass is the class of the user lambda
+    Builder(final @Nonnull JtFragment body, final @Nonnull String bodyClass) {
+      this.body = body;
+      this.bodyClass = bodyClass;
+    }
+
+    /**
+     * Re-run the fragment automatically at this interval, for instance to display live data.
+     * Refreshes are skipped while the browser tab of the app is hidden or disconnected.
+     * If {@code null}, the fragment is only re-run when a widget inside the fragment is updated.
+     */
+    public Builder runEvery(final @Nullable Duration runEvery) {
+      checkArgument(runEvery == null || (!runEvery.isNegative() && !runEvery.isZero()),
+                    "runEvery must be a positive duration. Got %s",
+                    runEvery);
+      this.runEvery = runEvery;
+      return this;
+    }
+
+    /**
+     * Only run the fragment when its container is displayed, for instance when the fragment is in the active tab
+     * of {@code Jt.tabs}, in an expanded {@code Jt.expander} or in an open {@code Jt.popover}.
+     * When the container is not displayed, the body is skipped and the content of the fragment from the previous run is kept.
+     * When the container is displayed, for instance when the user switches to the tab, only the fragment is run.
+     */
+    public Builder lazy() {
+      this.lazy = true;
+      return this;
+    }
+
+    @Override
+    public FragmentComponent build() {
+      return new FragmentComponent(this);
+    }
+  }
+
+  @Override
+  protected String register() {
+    return executeTemplate(registerTemplate, this);
+  }
+
+  @Override
+  protected String render() {
+    if (currentValue == null) {
+      throw new IllegalStateException(
+          "Component has not been fully initialized yet. use() should be called before render().");
+    }
+    return executeTemplate(renderTemplate, this);
+  }
+
+  // same frontend element as the container
+  @Override
+  protected String frontendRegistrationKey() {
+    return ContainerComponent.class.getName();
+  }
+
+  @Override
+  protected TypeReference<JtContainer> getTypeReference() {
+    return new TypeReference<>() {
+    };
+  }
+
+  @Override
+  protected void beforeUse(final @NotNull JtContainer container) {
+    this.currentValue = container.child(getInternalKey());
+  }
+
+  @Override
+  protected void afterUse(final @NotNull JtContainer container) {
+    if (lazy && !StateManager.isDisplayed(container)) {
+      StateManager.skipFragment(this);
+    } else {
+      if (body instanceof AsyncFragment<?> async) {
+        async.start(StateManager.fragmentRunner(this));
+      }
+      runBody();
+    }
+  }
+
+  // stops the supplier of an async fragment that is not in the app anymore
+  void cancelAsync() {
+    if (body instanceof AsyncFragment<?> async) {
+      async.cancel();
+    }
+  }
+
+  @Nullable
+  Duration runEvery() {
+    return runEvery;
+  }
+
+  // runs the body in the fragment container - called by use() in a full run of the app, and by the AppRunner in a fragment run
+  void runBody() {
+    try {
+      body.run(currentValue);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
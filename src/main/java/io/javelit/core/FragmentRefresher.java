@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules the refreshes of the fragments that have a {@code runEvery} period. See {@link FragmentComponent.Builder#runEvery(Duration)}.
+ * <p>
+ * A single scheduler thread is shared by all sessions: it only enqueues the fragment runs, the runs happen on the
+ * thread of each session. A refresh is skipped if the previous refresh of the fragment is still queued or running.
+ * The first refresh of each fragment is delayed by a random fraction of the period, so that the sessions of a
+ * server that connected at the same time do not refresh at the same time.
+ */
+final class FragmentRefresher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FragmentRefresher.class);
+
+  private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("javelit-fragment-refresher").build());
+
+  // enqueues the run of a fragment in a session - returns null if the refresh was skipped, eg if the tab is hidden
+  private final @Nonnull BiFunction<String, String, Future<?>> enqueueRun;
+  // session id -> fragment key -> refresh
+  private final Map<String, Map<String, Refresh>> refreshes = new ConcurrentHashMap<>();
+
+  private static final class Refresh {
+    private final @Nonnull Duration period;
+    private @Nullable ScheduledFuture<?> schedule;
+    // guarded by this
+    private @Nullable Future<?> lastRun;
+
+    private Refresh(final @Nonnull Duration period) {
+      this.period = period;
+    }
+  }
+
+  FragmentRefresher(final @Nonnull BiFunction<String, String, Future<?>> enqueueRun) {
+    this.enqueueRun = enqueueRun;
+  }
+
+  /**
+   * Sets the fragments to refresh in a session. Refreshes of fragments that are not in the map anymore are cancelled.
+   * Refreshes of fragments whose period did not change keep their schedule.
+   */
+  void update(final @Nonnull String sessionId, final @Nonnull Map<String, Duration> periods) {
+    final Map<String, Refresh> previous = refreshes.getOrDefault(sessionId, Map.of());
+    if (periods.isEmpty() && previous.isEmpty()) {
+      return;
+    }
+    final Map<String, Refresh> current = new HashMap<>();
+    for (final Map.Entry<String, Duration> e : periods.entrySet()) {
+      final Refresh existing = previous.get(e.getKey());
+      if (existing != null && existing.period.equals(e.getValue())) {
+        current.put(e.getKey(), existing);
+      } else {
+        current.put(e.getKey(), schedule(sessionId, e.getKey(), e.getValue()));
+      }
+    }
+    previous.forEach((fragmentKey, refresh) -> {
+      if (current.get(fragmentKey) != refresh) {
+        refresh.schedule.cancel(false);
+      }
+    });
+    if (current.isEmpty()) {
+      refreshes.remove(sessionId);
+    } else {
+      refreshes.put(sessionId, current);
+    }
+  }
+
+  void cancel(final @Nonnull String sessionId) {
+    final Map<String, Refresh> removed = refreshes.remove(sessionId);
+    if (removed != null) {
+      removed.values().forEach(refresh -> refresh.schedule.cancel(false));
+    }
+  }
+
+  private @Nonnull Refresh schedule(final @Nonnull String sessionId,
+                                    final @Nonnull String fragmentKey,
+                                    final @Nonnull Duration period) {
+    final Refresh refresh = new Refresh(period);
+    final long periodMs = Math.max(period.toMillis(), 1);
+    final long jitterMs = ThreadLocalRandom.current().nextLong(periodMs);
+    refresh.schedule = SCHEDULER.scheduleAtFixedRate(() -> refresh(sessionId, fragmentKey, refresh),
+                                                     periodMs + jitterMs,
+                                                     periodMs,
+                                                     TimeUnit.MILLISECONDS);
+    return refresh;
+  }
+
+  private void refresh(final @Nonnull String sessionId,
+                       final @Nonnull String fragmentKey,
+                       final @Nonnull Refresh refresh) {
+    try {
+      synchronized (refresh) {
+        if (refresh.lastRun != null && !refresh.lastRun.isDone()) {
+          return;
+        }
+        refresh.lastRun = enqueueRun.apply(sessionId, fragmentKey);
+      }
+    } catch (Exception e) {
+      // an exception would cancel the schedule
+      LOG.error("Failed to refresh fragment {} in session {}", fragmentKey, sessionId, e);
+    }
+  }
+}
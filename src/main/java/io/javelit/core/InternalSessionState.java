@@ -73,6 +73,12 @@ final class InternalSessionState {
   private final Map<String, MediaEntry> media = new ConcurrentHashMap<>();
 
   private String callbackComponentKey;
+  // key of the fragment to re-run instead of the whole app at the next run - null for a full run
+  private @Nullable String fragmentToRerun;
+  // container frontend path -> whether the container is displayed, as reported by the frontend (eg the active tab)
+  // containers that are not in the map are in the state they have when they are rendered
+  // concurrent: read by threads bound to the execution, updated by the app thread and the frontend messages
+  private final Map<String, Boolean> displayedContainers = new ConcurrentHashMap<>();
 
   // whether this is a developer session
   private boolean isDeveloper;
@@ -166,6 +172,19 @@ final class InternalSessionState {
     this.callbackComponentKey = callbackComponentKey;
   }
 
+  @Nullable
+  String getFragmentToRerun() {
+    return fragmentToRerun;
+  }
+
+  void setFragmentToRerun(final @Nullable String fragmentToRerun) {
+    this.fragmentToRerun = fragmentToRerun;
+  }
+
+  Map<String, Boolean> displayedContainers() {
+    return displayedContainers;
+  }
+
   Map<String, Map<String, Object>> pendingInFormComponentsState() {
     return pendingInFormComponentsState;
   }
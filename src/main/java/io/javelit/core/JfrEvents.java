@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events of the server internals.
+ * Events are recorded on the thread doing the work, so they can be correlated with the allocation, lock and
+ * execution samples of the same thread and time range.
+ * When JFR is not recording, the events are not committed and their allocation is removed by the JIT.
+ */
+final class JfrEvents {
+
+  private static final String CATEGORY = "Javelit";
+
+  private JfrEvents() {
+  }
+
+  @Name("io.javelit.AppRun")
+  @Label("App Run")
+  @Description("A run of the app for a session, from the BEGIN to the END status")
+  @Category(CATEGORY)
+  static final class AppRun extends Event {
+    @Label("Session Id")
+    String sessionId;
+    @Label("Page Path")
+    String pagePath;
+    @Label("Component Count")
+    int componentCount;
+  }
+
+  @Name("io.javelit.DeltaSent")
+  @Label("Delta Sent")
+  @Description("A component delta sent to a browser")
+  @Category(CATEGORY)
+  // frequent event - the stack is always the same: the app run
+  @StackTrace(false)
+  static final class DeltaSent extends Event {
+    @Label("Session Id")
+    String sessionId;
+    @Label("Container")
+    String container;
+    @Label("Size")
+    @Description("Size of the message before compression. 0 if the session is disconnected")
+    @DataAmount
+    long size;
+  }
+
+  @Name("io.javelit.DependencyResolution")
+  @Label("Dependency Resolution")
+  @Category({CATEGORY, "Reload"})
+  static final class DependencyResolution extends Event {
+    @Label("App File")
+    String appFile;
+    @Label("Build System")
+    String buildSystem;
+  }
+
+  @Name("io.javelit.ReloadPhase")
+  @Label("Reload Phase")
+  @Description("Compilation or class loading of the app")
+  @Category({CATEGORY, "Reload"})
+  static final class ReloadPhase extends Event {
+    @Label("App File")
+    String appFile;
+    @Label("Phase")
+    String phase;
+  }
+
+  @Name("io.javelit.MediaServed")
+  @Label("Media Served")
+  @Category(CATEGORY)
+  static final class MediaServed extends Event {
+    @Label("Session Id")
+    String sessionId;
+    @Label("Format")
+    String format;
+    @Label("Size")
+    @DataAmount
+    long size;
+    @Label("Partial")
+    @Description("Whether a byte range of the media was served")
+    boolean partial;
+  }
+
+  @Name("io.javelit.Upload")
+  @Label("Upload")
+  @Category(CATEGORY)
+  static final class Upload extends Event {
+    @Label("Session Id")
+    String sessionId;
+    @Label("Component Key")
+    String componentKey;
+    @Label("File Count")
+    int fileCount;
+    @Label("Size")
+    @DataAmount
+    long size;
+  }
+
+  @Name("io.javelit.SessionExpired")
+  @Label("Session Expired")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class SessionExpired extends Event {
+    @Label("Session Id")
+    String sessionId;
+    @Label("Undelivered Messages")
+    int undeliveredMessages;
+  }
+}
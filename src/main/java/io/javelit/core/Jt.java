@@ -16,9 +16,16 @@
 package io.javelit.core;
 
 import java.nio.file.Path;
+import java.sql.ResultSet;
 import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.javelit.components.chart.EchartsComponent;
@@ -47,6 +54,8 @@ import io.javelit.components.media.ImageComponent;
 import io.javelit.components.media.PdfComponent;
 import io.javelit.components.multipage.PageLinkComponent;
 import io.javelit.components.status.CalloutComponent;
+import io.javelit.components.status.ProgressComponent;
+import io.javelit.components.status.StatusComponent;
 import io.javelit.components.text.CodeComponent;
 import io.javelit.components.text.HtmlComponent;
 import io.javelit.components.text.MarkdownComponent;
@@ -301,6 +310,44 @@ public final class Jt {
     return new MarkdownComponent.Builder(body);
   }
 
+  /**
+   * Display text generated incrementally, for instance the tokens of an LLM response.
+   * Chunks are rendered as Markdown and appended to the app as they arrive, without re-running the app.
+   * Blocks until all chunks are consumed.
+   * <p>
+   * Equivalent to {@code Jt.markdown("").useStream(chunks)}. Use {@link MarkdownComponent.Builder#useStream(Iterator)}
+   * to set a tooltip, a width or a container.
+   *
+   * @param chunks The chunks of text to display as Markdown.
+   * @return the whole text
+   */
+  public static String writeStream(final @Nonnull Iterator<String> chunks) {
+    return markdown("").useStream(chunks);
+  }
+
+  /**
+   * Display text generated incrementally. See {@link #writeStream(Iterator)}.
+   * The stream is closed once consumed, or if the display fails.
+   *
+   * @param chunks The chunks of text to display as Markdown.
+   * @return the whole text
+   */
+  public static String writeStream(final @Nonnull Stream<String> chunks) {
+    try (chunks) {
+      return markdown("").useStream(chunks.iterator());
+    }
+  }
+
+  /**
+   * Display text generated incrementally. See {@link #writeStream(Iterator)}.
+   *
+   * @param chunks The publisher of the chunks of text to display as Markdown.
+   * @return the whole text
+   */
+  public static String writeStream(final @Nonnull Flow.Publisher<String> chunks) {
+    return markdown("").useStream(chunks);
+  }
+
   /**
    * Display a horizontal rule.
    * <p>
@@ -387,6 +434,37 @@ public final class Jt {
     return CalloutComponent.Builder.newInfo(body);
   }
 
+  /**
+   * Display a progress bar that can be updated while the app is running.
+   * <p>
+   * {@code use()} returns a handle. Call {@code update(value, text)} on the handle to move the progress bar during a long computation.
+   * Each update sends a small patch to the browser: the component is not re-rendered. Updates can be called from any thread.
+   * <p>
+   * Examples:
+   * Progress of a long computation
+   * {@snippet file = "ProgressApp.java"}
+   */
+  public static ProgressComponent.Builder progress() {
+    return new ProgressComponent.Builder();
+  }
+
+  /**
+   * Display the status of a long computation, with a label that can be updated while the app is running.
+   * <p>
+   * {@code use()} returns a handle. Call {@code update(state, label)} on the handle to update the label and mark the status as complete or failed.
+   * A spinner is displayed while the state is {@code RUNNING}.
+   * Each update sends a small patch to the browser: the component is not re-rendered. Updates can be called from any thread.
+   * <p>
+   * Examples:
+   * Status of a multi-step computation
+   * {@snippet file = "StatusApp.java"}
+   *
+   * @param label The text displayed with the status.
+   */
+  public static StatusComponent.Builder status(final @Nonnull String label) {
+    return new StatusComponent.Builder(label);
+  }
+
   /**
    * Insert HTML into your app.
    * <p>
@@ -547,6 +625,97 @@ public final class Jt {
     return new ContainerComponent.Builder(true);
   }
 
+  /**
+   * Insert a fragment: a container whose content can be re-run independently of the rest of the app.
+   * <p>
+   * When a widget inside the fragment is updated, only the fragment body is re-run, instead of the whole app.
+   * The rest of the app is kept as is. Use fragments to make interactive parts of an app faster
+   * when the rest of the app is slow to run.
+   * <p>
+   * The components of the fragment must be added to the container passed to the body, or to its children:
+   * <pre>
+   * {@code
+   * Jt.fragment(container -> {
+   *   var value = Jt.slider("my slider").use(container);
+   *   Jt.text("value: " + value).use(container);
+   * }).use();
+   * }
+   * </pre>
+   * When the fragment is re-run alone, the body sees the values it captured during the last full run of the app.
+   * A full run of the app runs the body again.
+   * Use {@code runEvery} to re-run the fragment automatically, for instance to display live data without re-running the whole app.
+   * Use {@code lazy} to only run the fragment when it is displayed, for instance in the active tab of {@link Jt#tabs(List)}.
+   * To use multiple fragments created at the same place in the code, for instance in a loop, give them a distinct {@code key}.
+   * <p>
+   * Examples:
+   * Re-run a part of a report
+   * {@snippet file = "FragmentApp.java"}
+   *
+   * @param body The content of the fragment. Receives the fragment container.
+   */
+  public static FragmentComponent.Builder fragment(final @Nonnull JtFragment body) {
+    return new FragmentComponent.Builder(body);
+  }
+
+  /**
+   * Insert an async fragment: a container filled with the result of a slow computation, without blocking the rest of the app.
+   * <p>
+   * The supplier is run in a virtual thread. A placeholder is displayed in the container, and the rest of the app continues to run.
+   * When the supplier completes, only the fragment is re-run: the body builds the components from the result.
+   * Multiple async fragments load concurrently.
+   * <pre>
+   * {@code
+   * Jt.async(() -> fetchSales(), (sales, container) -> {
+   *   Jt.text("Total sales: " + sales.total()).use(container);
+   * }).use();
+   * }
+   * </pre>
+   * The supplier is started again at each full run of the app. Results of a previous run are dropped:
+   * if the supplier of a previous run is still running, it is interrupted. Use {@link #cache()} to reuse slow results across runs.
+   * The supplier runs outside the app: it must not call {@code Jt} methods. If it throws, the error is displayed in the container.
+   * Like {@link #fragment(JtFragment)}, widgets in the body only re-run the fragment.
+   * <p>
+   * Examples:
+   * Load independent panels concurrently
+   * {@snippet file = "AsyncApp.java"}
+   *
+   * @param supplier The slow computation. Runs in a virtual thread.
+   * @param body     Builds the content of the fragment from the result. Receives the result and the fragment container.
+   */
+  public static <T> FragmentComponent.Builder async(final @Nonnull Supplier<T> supplier,
+                                                    final @Nonnull JtAsyncBody<T> body) {
+    return new FragmentComponent.Builder(new AsyncFragment<>(supplier, body), body.getClass().getName());
+  }
+
+  /**
+   * Run a block of the app in each container concurrently, for instance to compute the columns of a dashboard in parallel.
+   * <p>
+   * The block is run once per container, in a virtual thread. {@code Jt.parallel} returns when all the blocks are done:
+   * independent panels are rendered in the time of the slowest panel, instead of the sum of the panels.
+   * <pre>
+   * {@code
+   * var cols = Jt.columns(2).use();
+   * Jt.parallel(List.of(cols.col(0), cols.col(1)), (i, col) -> {
+   *   Jt.text("Sales of region " + i + ": " + slowQuery(i)).use(col);
+   * });
+   * }
+   * </pre>
+   * The components of a block must be added to its container or to its children.
+   * They are always in the order of the calls of the block, whatever the progress of the other blocks.
+   * If a block throws, the error is displayed in its container and the other blocks are not impacted.
+   * Blocks can call {@code Jt} methods as in the app thread, see {@link #withAppContext(Callable)}.
+   * <p>
+   * Examples:
+   * Compute the columns of a dashboard in parallel
+   * {@snippet file = "ParallelApp.java"}
+   *
+   * @param containers The containers of the blocks. Must be distinct.
+   * @param body       The block. Receives the index of the container and the container.
+   */
+  public static void parallel(final @Nonnull List<JtContainer> containers, final @Nonnull JtParallelBody body) {
+    ParallelBlocks.run(containers, body);
+  }
+
   /**
    * Insert containers laid out as side-by-side columns.
    * <p>
@@ -980,8 +1149,7 @@ public final class Jt {
   public static TableComponent.Builder table(final @Nonnull Object dataframe) {
     try {
       if (dataframe instanceof tech.tablesaw.api.Table t) {
-        final Map<String, Object[]> cols = TablesawUtils.toColumnArrays(t);
-        return tableFromArrayColumns(cols);
+        return TableComponent.Builder.ofTablesawTable(t);
       }
     } catch (NoClassDefFoundError e) {
       // TODO CYRIL add bom explanation once implemented - this error should only happen in embedded mode
@@ -1033,6 +1201,67 @@ public final class Jt {
     return TableComponent.Builder.ofColumnsLists(cols);
   }
 
+  /**
+   * Display a table read lazily from a CSV file. The first line of the file must be the header.
+   * The file is memory-mapped: it is never loaded in memory and only the visible rows are parsed.
+   * Rows are counted in the background, so very large files are displayed immediately.
+   * Columns whose first 1000 values are all numbers are displayed as numbers. Numbers with a leading zero, like zip
+   * codes, are kept as text.
+   *
+   * @param csvFile The path to the CSV file
+   */
+  public static TableComponent.Builder tableFromCsv(final @Nonnull Path csvFile) {
+    return TableComponent.Builder.ofCsv(csvFile);
+  }
+
+  /**
+   * Display a table read lazily from a stream of objects. Each object is a row, object properties become columns.
+   * Only the visible rows are read. The supplier is called each time rows are read: it must return the same
+   * elements in the same order. Each stream is closed once its rows are read.
+   *
+   * @param streamSupplier A supplier of streams of objects representing table rows
+   */
+  public static TableComponent.Builder tableFromStream(final @Nonnull Supplier<? extends Stream<?>> streamSupplier) {
+    return TableComponent.Builder.ofStream(streamSupplier);
+  }
+
+  /**
+   * Display a table read lazily from a JDBC query. Only the visible rows are read.
+   * The supplier is called each time rows are read, never from a background thread: it must return the same rows
+   * in the same order. The ResultSet and its Statement are closed after use. The Connection is not closed.
+   *
+   * @param resultSetSupplier A supplier of ResultSet, for instance {@code () -> connection.createStatement().executeQuery(sql)}
+   */
+  public static TableComponent.Builder tableFromResultSet(final @Nonnull Callable<ResultSet> resultSetSupplier) {
+    return TableComponent.Builder.ofResultSet(resultSetSupplier);
+  }
+
+
+  /**
+   * Display an interactive table. Users can sort, filter and group the rows.
+   * Sort, filter and group-by are computed on the server without re-running the app, and only the visible rows are
+   * sent to the browser. This makes it possible to explore large tables.
+   * <p>
+   * Equivalent to {@code Jt.table(rows).interactive(true)}.
+   *
+   * @param rows The list of objects representing table rows
+   */
+  public static <E> TableComponent.Builder dataframe(final @Nonnull List<E> rows) {
+    return table(rows).interactive(true);
+  }
+
+  /**
+   * Display an interactive table. Users can sort, filter and group the rows.
+   * Sort, filter and group-by are computed on the server without re-running the app, and only the visible rows are
+   * sent to the browser. This makes it possible to explore large tables.
+   * <p>
+   * Equivalent to {@code Jt.table(dataframe).interactive(true)}.
+   *
+   * @param dataframe A tablesaw Table instance. tablesaw is an optional dependency, so this method is not typed.
+   */
+  public static TableComponent.Builder dataframe(final @Nonnull Object dataframe) {
+    return table(dataframe).interactive(true);
+  }
 
   /**
    * Programmatically switch the current page in a multipage app.
@@ -1301,6 +1530,57 @@ public final class Jt {
     Jt.rerun(false);
   }
 
+  /**
+   * Returns a task that can call {@code Jt} methods from another thread, for instance a thread of an {@link java.util.concurrent.ExecutorService},
+   * a virtual thread or a parallel stream.
+   * <p>
+   * {@code Jt} methods are bound to the thread running the app. Wrap a task with {@code Jt.withAppContext} in the app thread
+   * to run it in a worker thread with the context of the current app run:
+   * <pre>
+   * {@code
+   * var cols = Jt.columns(2).use();
+   * try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+   *   executor.submit(Jt.withAppContext(() -> Jt.text(slowQuery("sales")).use(cols.col(0))));
+   *   executor.submit(Jt.withAppContext(() -> Jt.text(slowQuery("returns")).use(cols.col(1))));
+   * }
+   * }
+   * </pre>
+   * Components added to a container by a task are in the order of the calls of the task.
+   * The components of each running task must be added to a distinct container: adding a component to a container
+   * while another thread is adding components to it throws, because the order of the components would change between runs.
+   * A container can be filled by the app thread before the task is created, and after the task has ended.
+   * The tasks must complete before the end of the app: components cannot be added once the app run has ended.
+   * {@link #rerun()} must be called from the app thread.
+   * <p>
+   * Examples:
+   * Compute panels in parallel
+   * {@snippet file = "WorkerThreadsApp.java"}
+   *
+   * @param task The task to run in another thread.
+   */
+  public static <T> Callable<T> withAppContext(final @Nonnull Callable<T> task) {
+    return StateManager.bindCurrentExecution(task);
+  }
+
+  /**
+   * Returns a task that can call {@code Jt} methods from another thread. See {@link #withAppContext(Callable)}.
+   *
+   * @param task The task to run in another thread.
+   */
+  public static Runnable withAppContext(final @Nonnull Runnable task) {
+    final Callable<Object> bound = StateManager.bindCurrentExecution(Executors.callable(task));
+    return () -> {
+      try {
+        bound.call();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        // not thrown - the runnable cannot throw checked exceptions
+        throw new RuntimeException(e);
+      }
+    };
+  }
+
   private Jt() {
   }
 
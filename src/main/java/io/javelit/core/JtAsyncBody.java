@@ -15,29 +15,14 @@
  */
 package io.javelit.core;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
-import jakarta.annotation.Nonnull;
-import tech.tablesaw.api.Table;
-import tech.tablesaw.columns.Column;
-
 /**
- * All methods that help
+ * Builds the components of an async fragment from the result of its supplier. See {@link Jt#async}.
  */
-class TablesawUtils {
-  static Map<String, Object[]> toColumnArrays(final @Nonnull Table table) {
-    final Map<String, Object[]> map = new LinkedHashMap<>();
-    for (final Column<?> column : table.columns()) {
-      Object[] values = new Object[column.size()];
-      for (int i = 0; i < column.size(); i++) {
-        values[i] = column.get(i);
-      }
-      map.put(column.name(), values);
-    }
-    return map;
-  }
+public interface JtAsyncBody<T> {
 
-  private TablesawUtils() {
-  }
+  /**
+   * @param result    the value returned by the supplier
+   * @param container the container of the async fragment - the components must be added to this container or to its children
+   */
+  void run(T result, JtContainer container) throws Exception;
 }
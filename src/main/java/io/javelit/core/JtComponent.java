@@ -22,6 +22,7 @@ import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.mustachejava.Mustache;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.intellij.lang.annotations.Language;
@@ -225,7 +226,10 @@ public abstract class JtComponent<T> {
     // this looks like it could be set as a field at instantiation time but it cannot.
     // some components (eg layout/container components) start with a null value and have their actual value binded later
     // in their lifecycle, but before this method is called
-    return !(currentValue instanceof JtContainer) && !(currentValue instanceof JtLayout) && !(currentValue instanceof NONE);
+    return !(currentValue instanceof JtContainer)
+           && !(currentValue instanceof JtLayout)
+           && !(currentValue instanceof JtHandle)
+           && !(currentValue instanceof NONE);
   }
 
   protected final boolean requiresUniqueKey() {
@@ -325,6 +329,15 @@ public abstract class JtComponent<T> {
     return this.getClass().getName();
   }
 
+  /**
+   * Whether a container created by this component is displayed when the component is rendered,
+   * before the user interacts with it. For instance, an expander returns {@code false} if it starts collapsed.
+   * Used by lazy fragments, see {@link FragmentComponent.Builder#lazy()}.
+   */
+  protected boolean initiallyDisplays(final @Nonnull JtContainer container) {
+    return true;
+  }
+
   /**
    * Used to optimize re-rendering.
    * When the app is re-rendered, if the content at a given position is the same as the previous content at that position,
@@ -342,6 +355,34 @@ public abstract class JtComponent<T> {
     return other.render().equals(this.render());
   }
 
+  /**
+   * Handles a request sent by the frontend with {@code window.javelit.sendComponentRequest(componentKey, payload)}.
+   * The returned value is serialized to json and sent back to the frontend.
+   * Unlike component updates, requests do not change the component state and never trigger an app rerun.
+   * This can be used to serve data lazily, for instance the rows of a large table.
+   * The default implementation rejects all requests: the frontend receives an error response.
+   */
+  protected @Nullable Object handleFrontendRequest(final @Nullable Object payload) {
+    throw new IllegalStateException("Component %s does not support frontend requests.".formatted(getClass().getSimpleName()));
+  }
+
+  /**
+   * A channel to push messages to a component in the frontend, without re-running the app.
+   * Two channels are equal if they target the same component in the same session.
+   */
+  public interface FrontendChannel {
+    /**
+     * Sends the payload, serialized to json, to the component in the frontend.
+     * Returns false if the session is closed: messages will never be delivered.
+     */
+    boolean push(@Nullable Object payload);
+
+    /**
+     * Returns false once the session is closed or expired: messages will never be delivered.
+     */
+    boolean isOpen();
+  }
+
   /**
    * Label visibility options for components
    */
@@ -369,11 +410,36 @@ public abstract class JtComponent<T> {
     }
   }
 
+  /**
+   * Compiles a component template. Templates are compiled once and shared by all the components.
+   */
+  protected static Mustache compileTemplate(final @Nonnull String templatePath) {
+    return Templates.compile(templatePath, false);
+  }
+
+  /**
+   * Same as {@link #compileTemplate(String)}, for templates that call methods of Map values,
+   * for instance {@code {{#myMap.entrySet}}}.
+   */
+  protected static Mustache compileTemplateWithMapMethods(final @Nonnull String templatePath) {
+    return Templates.compile(templatePath, true);
+  }
+
+  protected static String executeTemplate(final @Nonnull Mustache template, final @Nullable Object scope) {
+    return Templates.render(template, scope);
+  }
+
   protected static @Language("html") String markdownToHtml(final @Language("markdown") @Nullable String markdown,
                                                            final boolean removeWrap) {
     return MarkdownUtils.markdownToHtml(markdown, removeWrap);
   }
 
+  // for markdown that changes all the time - does not pollute the render cache
+  protected static @Language("html") String markdownToHtmlUncached(final @Language("markdown") @Nullable String markdown,
+                                                                   final boolean removeWrap) {
+    return MarkdownUtils.markdownToHtmlUncached(markdown, removeWrap);
+  }
+
   // StateManager wrappers.
   //  The methods below are simply wrapping StateManager methods
   //  this is because the JtComponent class is part of the component developer API, and we will try to not break it
@@ -394,8 +460,42 @@ public abstract class JtComponent<T> {
     return StateManager.registerMedia(mediaEntry);
   }
 
+  /**
+   * Returns the number of components already added to the container in the current app run.
+   * Can be used to build an identifier that is unique in the run and stable across runs.
+   */
+  protected static int componentCountInCurrentRun(final @Nonnull JtContainer container) {
+    return StateManager.componentCountInCurrentRun(container);
+  }
+
+  /**
+   * Returns false if the component is built outside an app run, for instance when rendered in a notebook.
+   * Media cannot be registered outside an app run.
+   */
+  protected static boolean isInAppRun() {
+    return StateManager.isInAppRun();
+  }
+
   protected boolean isLastFrontendUpdate() {
     return StateManager.isLastFrontendUpdate(internalKey);
   }
+
+  /**
+   * Replaces this component by the given component in the current app run, without sending anything to the frontend.
+   * Use it when the frontend content of this component was updated incrementally through {@link #frontendChannel()}:
+   * the next run of the app is diffed against the replacement, which should render the final content.
+   */
+  protected final void replaceInCurrentRun(final @Nonnull JtComponent<?> replacement) {
+    StateManager.replaceComponent(this, replacement);
+  }
+
+  /**
+   * Returns a channel to push messages to this component in the frontend.
+   * Must be called while the app is running. The channel can then be used from any thread.
+   * The frontend receives the messages with {@code window.javelit.onComponentPush(componentKey, callback)}.
+   */
+  protected final @Nonnull FrontendChannel frontendChannel() {
+    return StateManager.frontendChannel(internalKey);
+  }
   // end of StateManager wrappers
 }
@@ -16,6 +16,7 @@
 package io.javelit.core;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -48,8 +49,11 @@ public abstract class JtComponentBuilder<B, T extends JtComponent<B>, SELF exten
   // WARNING - will get broken if multiple inheritance level of builders are introduced
   private static Field[] getFields(final @Nonnull Class<?> clazz) {
     // this only retrieves fields defined directly in the implem - does not retrieve JtComponentBuilder inherited field
-    final Field[] f = clazz.getDeclaredFields();
-    Arrays.sort(f, Comparator.comparing(Field::getName));
+    // transient fields are not part of the key - see generateInternalKey
+    final Field[] f = Arrays.stream(clazz.getDeclaredFields())
+                            .filter(field -> !Modifier.isTransient(field.getModifiers()))
+                            .sorted(Comparator.comparing(Field::getName))
+                            .toArray(Field[]::new);
     for (final Field field : f) {
       field.setAccessible(true);
     }
@@ -84,7 +88,9 @@ public abstract class JtComponentBuilder<B, T extends JtComponent<B>, SELF exten
 
   /**
    * Implementation helper.
-   * Uses reflection to construct a key value from userKey, className and other fields hash
+   * Uses reflection to construct a key value from userKey, className and other fields hash.
+   * Fields marked {@code transient} are ignored. Builders holding large payloads (eg table data) should mark them
+   * {@code transient} and expose a cheap fingerprint field instead.
    * <p>
    * See <a href="https://github.com/streamlit/streamlit/blob/4cc8cbccf529f351a29af88c15685a8a90153dd9/lib/streamlit/elements/lib/utils.py#L153">streamlit implementation</a> for reference.
    **/
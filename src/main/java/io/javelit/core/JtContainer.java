@@ -30,18 +30,21 @@ public final class JtContainer {
 
   public static final Set<String> RESERVED_PATHS = Set.of("main", "sidebar");
 
-  public static final JtContainer MAIN = new JtContainer("main", null, false, false);
-  public static final JtContainer SIDEBAR = new JtContainer("sidebar", null, false, false);
+  public static final JtContainer MAIN = new JtContainer("main", null, false, false, false);
+  public static final JtContainer SIDEBAR = new JtContainer("sidebar", null, false, false, false);
 
   private final @Nonnull List<@NotNull String> path;
   private final @Nullable JtContainer parent;
   private final boolean inPlace;
   private final boolean formContainer;
+  // components are only appended to this container - see ContainerComponent.Builder#appendOnly
+  private final boolean appendOnly;
 
   private JtContainer(final @NotNull String key,
                       @Nullable JtContainer parent,
                       final boolean inPlace,
-                      final boolean formContainer) {
+                      final boolean formContainer,
+                      final boolean appendOnly) {
     if (key.contains(",")) {
       throw new IllegalArgumentException(
           "Container path cannot contain a comma. Please remove the comma from your key or container path.");
@@ -52,6 +55,7 @@ public final class JtContainer {
     }
     this.inPlace = inPlace;
     this.formContainer = formContainer;
+    this.appendOnly = appendOnly;
     this.parent = parent;
     if (this.parent == null) {
       this.path = List.of(key);
@@ -64,11 +68,15 @@ public final class JtContainer {
   }
 
   public JtContainer child(final @NotNull String key) {
-    return new JtContainer(key, this, false, false);
+    return new JtContainer(key, this, false, false, false);
   }
 
   public JtContainer inPlaceChild(final @NotNull String key) {
-    return new JtContainer(key, this, true, false);
+    return new JtContainer(key, this, true, false, false);
+  }
+
+  public JtContainer appendOnlyChild(final @NotNull String key) {
+    return new JtContainer(key, this, false, false, true);
   }
 
   public JtContainer formChild(final @NotNull String key) {
@@ -77,7 +85,7 @@ public final class JtContainer {
                   "Attempting to create a form with key %s in a form %s. A form cannot be embedded inside another form.",
                   key,
                   parentFormComponentKey);
-    return new JtContainer(key, this, false, true);
+    return new JtContainer(key, this, false, true, false);
   }
 
   @Nonnull
@@ -90,6 +98,10 @@ public final class JtContainer {
     return inPlace;
   }
 
+  boolean isAppendOnly() {
+    return appendOnly;
+  }
+
   // returns null if the Container has no parent (if main or sidebar)
   @Nullable
   JtContainer parent() {
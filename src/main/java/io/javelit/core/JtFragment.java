@@ -0,0 +1,27 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+/**
+ * The body of a fragment. See {@link Jt#fragment(JtFragment)}.
+ */
+public interface JtFragment {
+
+  /**
+   * @param container the container of the fragment - the components of the fragment must be added to this container or to its children
+   */
+  void run(JtContainer container) throws Exception;
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+/**
+ * A block of {@link Jt#parallel(java.util.List, JtParallelBody)}, run once per container.
+ */
+public interface JtParallelBody {
+
+  /**
+   * @param index     the index of the container in the list of containers
+   * @param container the container of the block - the components of the block must be added to this container or to its children
+   */
+  void run(int index, JtContainer container) throws Exception;
+}
@@ -18,6 +18,10 @@ package io.javelit.core;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
 import com.vladsch.flexmark.ext.autolink.AutolinkExtension;
 import com.vladsch.flexmark.ext.emoji.EmojiExtension;
 import com.vladsch.flexmark.ext.emoji.EmojiImageType;
@@ -28,14 +32,31 @@ import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.data.MutableDataSet;
 import com.vladsch.flexmark.util.misc.Extension;
+import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.intellij.lang.annotations.Language;
 
 public final class MarkdownUtils {
 
+  // total number of chars (markdown + html) kept in the render cache - ~16Mb
+  static final long MAX_CACHE_WEIGHT = 8_000_000;
+  // larger markdown is rendered every time - it is rarely static and would evict many labels
+  static final int MAX_CACHED_MARKDOWN_LENGTH = 64_000;
+
   private static final Parser parser;
   private static final HtmlRenderer renderer;
 
+  private record RenderKey(@Nonnull String markdown, boolean removeWrap) {
+  }
+
+  // labels, titles and help texts are mostly static: the same markdown is rendered at each run, in every session
+  private static final LoadingCache<RenderKey, String> RENDER_CACHE = CacheBuilder
+      .newBuilder()
+      .maximumWeight(MAX_CACHE_WEIGHT)
+      .<RenderKey, String>weigher((key, html) -> key.markdown().length() + html.length())
+      .recordStats()
+      .build(CacheLoader.from(key -> render(key.markdown(), key.removeWrap())));
+
   static {
     final MutableDataSet options = new MutableDataSet();
     final List<Extension> extensions = new ArrayList<>();
@@ -56,6 +77,24 @@ public final class MarkdownUtils {
     if (markdown == null) {
       return null;
     }
+    if (markdown.length() > MAX_CACHED_MARKDOWN_LENGTH) {
+      return render(markdown, removeWrap);
+    }
+    return RENDER_CACHE.getUnchecked(new RenderKey(markdown, removeWrap));
+  }
+
+  /**
+   * Same as {@link #markdownToHtml(String, boolean)}, without the render cache.
+   * Use it for markdown that changes all the time, for instance a text being streamed.
+   */
+  static @Language("html") String markdownToHtmlUncached(final @Nullable String markdown, final boolean removeWrap) {
+    if (markdown == null) {
+      return null;
+    }
+    return render(markdown, removeWrap);
+  }
+
+  private static @Language("html") String render(final @Nonnull String markdown, final boolean removeWrap) {
     final Node document = parser.parse(markdown);
     @Language("html") String html = renderer.render(document).trim();
     if (!html.isBlank() && removeWrap) {
@@ -68,6 +107,31 @@ public final class MarkdownUtils {
     return html;
   }
 
+  static @Nonnull CacheStats cacheStats() {
+    return RENDER_CACHE.stats();
+  }
+
+  static long cacheSize() {
+    return RENDER_CACHE.size();
+  }
+
+  /**
+   * Loads the parser, the extensions and the emoji table, and renders the markdown used by the framework itself.
+   * Called in the background when the server starts, so that the first run of the app does not pay for it.
+   */
+  static void warmUp() {
+    markdownToHtml("""
+                       # Title
+                       Some _emphasis_, **strong** and ~~strikethrough~~ text :sunglasses: https://javelit.io
+                       
+                       | a | b |
+                       |---|---|
+                       | 1 | 2 |
+                       """, false);
+    markdownToHtml("Compilation interrupted.", false);
+    markdownToHtml("Clear cache", true);
+  }
+
   private MarkdownUtils() {
   }
 }
@@ -15,16 +15,13 @@
  */
 package io.javelit.core;
 
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.jetbrains.annotations.NotNull;
@@ -45,9 +42,8 @@ public final class NavigationComponent extends JtComponent<JtPage> {
   }
 
   static {
-    final MustacheFactory mf = new DefaultMustacheFactory();
-    registerTemplate = mf.compile("components/multipage/NavigationComponent.register.html.mustache");
-    renderTemplate = mf.compile("components/multipage/NavigationComponent.render.html.mustache");
+    registerTemplate = compileTemplate("components/multipage/NavigationComponent.register.html.mustache");
+    renderTemplate = compileTemplate("components/multipage/NavigationComponent.render.html.mustache");
   }
 
   private NavigationComponent(final Builder builder) {
@@ -161,16 +157,12 @@ public final class NavigationComponent extends JtComponent<JtPage> {
 
   @Override
   protected String register() {
-    final StringWriter writer = new StringWriter();
-    registerTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(registerTemplate, this);
   }
 
   @Override
   protected String render() {
-    final StringWriter writer = new StringWriter();
-    renderTemplate.execute(writer, this);
-    return writer.toString();
+    return executeTemplate(renderTemplate, this);
   }
 
   @Override
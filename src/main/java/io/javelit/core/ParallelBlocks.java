@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jakarta.annotation.Nonnull;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Runs the blocks of {@link Jt#parallel(List, JtParallelBody)}: one virtual thread per container, bound to the current execution.
+ */
+final class ParallelBlocks {
+
+  private ParallelBlocks() {
+  }
+
+  static void run(final @Nonnull List<JtContainer> containers, final @Nonnull JtParallelBody body) {
+    // one block per container - the components of a container are always in the order of the calls of its block
+    checkArgument(new HashSet<>(containers).size() == containers.size(),
+                  "The containers of Jt.parallel must be distinct. Got %s",
+                  containers);
+    final List<Callable<Object>> blocks = new ArrayList<>(containers.size());
+    for (int i = 0; i < containers.size(); i++) {
+      final int index = i;
+      final JtContainer container = containers.get(i);
+      blocks.add(StateManager.bindCurrentExecution(() -> {
+        try {
+          body.run(index, container);
+        } catch (BreakAndReloadAppException e) {
+          throw e;
+        } catch (Exception e) {
+          // the error is displayed in the container of the block - the other blocks are not impacted
+          AppRunner.sendUserFeedback(e, container);
+        }
+        return null;
+      }));
+    }
+
+    // threads are created by the app thread: they inherit its context classloader
+    final List<Future<Object>> results;
+    try (final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("javelit-parallel-", 0).factory())) {
+      results = executor.invokeAll(blocks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for the blocks of Jt.parallel", e);
+    }
+    for (final Future<Object> result : results) {
+      try {
+        result.get();
+      } catch (InterruptedException e) {
+        // not possible - all the blocks are done
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        // a rerun, or an error that could not be displayed in the container
+        if (e.getCause() instanceof RuntimeException re) {
+          throw re;
+        }
+        if (e.getCause() instanceof Error error) {
+          throw error;
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
+  }
+}
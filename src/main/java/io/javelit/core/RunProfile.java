@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Timings of a run, recorded for developer sessions only. Sent to the frontend with the END status.
+ * <p>
+ * For each component added to the app, records:
+ * <ul>
+ *     <li>the time spent in the app code since the previous component was added - the code that produced the component</li>
+ *     <li>the time spent comparing the component with the one of the previous run</li>
+ *     <li>the time spent rendering the component</li>
+ *     <li>whether the component was sent, and whether it was sent while unchanged since the previous run</li>
+ * </ul>
+ */
+final class RunProfile {
+
+  // above this, blocks are only counted - keeps the status message small for apps generating many components
+  static final int MAX_BLOCKS = 1000;
+
+  enum BlockStatus {
+    // equal to the component at the same position in the previous run - not sent
+    UNCHANGED,
+    SENT,
+    // sent but equal to the component with the same key in the previous run - a difference above it caused the resend
+    RESENT_UNCHANGED
+  }
+
+  private record Block(@Nonnull String component,
+                       @Nullable String key,
+                       @Nonnull String container,
+                       long scriptNanos,
+                       long equalsNanos,
+                       long renderNanos,
+                       @Nonnull BlockStatus status) {
+  }
+
+  private final long startNanos = System.nanoTime();
+  private final List<Block> blocks = new ArrayList<>();
+  private long lastMarkNanos = startNanos;
+  private long callbackNanos;
+  private int droppedBlocks;
+
+  void recordCallback(final long nanos) {
+    callbackNanos += nanos;
+    lastMarkNanos = System.nanoTime();
+  }
+
+  /**
+   * Returns the time spent in the app code since the last recorded block.
+   */
+  long scriptNanos(final long nowNanos) {
+    return nowNanos - lastMarkNanos;
+  }
+
+  void recordBlock(final @Nonnull JtComponent<?> component,
+                   final @Nonnull JtContainer container,
+                   final long scriptNanos,
+                   final long equalsNanos,
+                   final long renderNanos,
+                   final @Nonnull BlockStatus status) {
+    if (blocks.size() < MAX_BLOCKS) {
+      final String className = component.getClass().getSimpleName();
+      blocks.add(new Block(className.endsWith("Component") ? className.substring(0, className.length() - "Component".length()) : className,
+                           component.getUserKey(),
+                           container.frontendDataContainerField(),
+                           scriptNanos,
+                           equalsNanos,
+                           renderNanos,
+                           status));
+    } else {
+      droppedBlocks++;
+    }
+    // the time spent profiling is not attributed to the app code
+    lastMarkNanos = System.nanoTime();
+  }
+
+  @Nonnull Map<String, Object> toMessage() {
+    final long endNanos = System.nanoTime();
+    final List<Map<String, Object>> blocksMessage = new ArrayList<>(blocks.size());
+    for (final Block b : blocks) {
+      final Map<String, Object> m = new LinkedHashMap<>();
+      m.put("component", b.component());
+      if (b.key() != null) {
+        m.put("key", b.key());
+      }
+      m.put("container", b.container());
+      m.put("scriptMs", toMs(b.scriptNanos()));
+      m.put("equalsMs", toMs(b.equalsNanos()));
+      m.put("renderMs", toMs(b.renderNanos()));
+      m.put("status", b.status());
+      blocksMessage.add(m);
+    }
+    final Map<String, Object> message = new LinkedHashMap<>();
+    message.put("totalMs", toMs(endNanos - startNanos));
+    message.put("callbackMs", toMs(callbackNanos));
+    // app code after the last component
+    message.put("tailMs", toMs(endNanos - lastMarkNanos));
+    message.put("blocks", blocksMessage);
+    message.put("droppedBlocks", droppedBlocks);
+    return message;
+  }
+
+  private static double toMs(final long nanos) {
+    // microsecond precision is enough
+    return Math.round(nanos / 1_000.0) / 1_000.0;
+  }
+}
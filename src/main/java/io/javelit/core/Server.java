@@ -44,12 +44,17 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
@@ -127,6 +132,8 @@ public final class Server implements StateManager.RenderServer {
   private final boolean standaloneMode;
   private final @Nullable String originalUrl;
   private final @Nullable String basePath;
+  private final @Nullable TrafficRecorder trafficRecorder;
+  private final @Nonnull Predicate<InetAddress> metricsClientFilter;
   private boolean ready;
 
   private Undertow server;
@@ -137,30 +144,35 @@ public final class Server implements StateManager.RenderServer {
     public static final int UNDELIVERED_CAPACITY = 2000;
     @Nullable private final WebSocketChannel channel;
     private final String xsrf;
-    private final ExecutorService executor;
+    private final ThreadPoolExecutor executor;
     private final ArrayBlockingQueue<Map<String, Object>> undeliveredMessages;
     private final @Nullable Instant disconnectTime;
+    // whether the browser tab is hidden - as reported by the frontend
+    private final AtomicBoolean hidden;
 
     // only use in the methods of this class - use of() static builder outside
-    private AppSession(@Nullable WebSocketChannel channel, String xsrf, ExecutorService executor,
-                       ArrayBlockingQueue<Map<String, Object>> undeliveredMessages, @Nullable Instant disconnectTime) {
+    private AppSession(@Nullable WebSocketChannel channel, String xsrf, ThreadPoolExecutor executor,
+                       ArrayBlockingQueue<Map<String, Object>> undeliveredMessages, @Nullable Instant disconnectTime,
+                       AtomicBoolean hidden) {
       this.channel = channel;
       this.xsrf = xsrf;
       this.executor = executor;
       this.undeliveredMessages = undeliveredMessages;
       this.disconnectTime = disconnectTime;
+      this.hidden = hidden;
     }
 
-    private static AppSession of(@Nullable WebSocketChannel channel, String xsrf, ExecutorService executor) {
-      return new AppSession(channel, xsrf, executor, new ArrayBlockingQueue<>(UNDELIVERED_CAPACITY), null);
+    private static AppSession of(@Nullable WebSocketChannel channel, String xsrf, ThreadPoolExecutor executor) {
+      return new AppSession(channel, xsrf, executor, new ArrayBlockingQueue<>(UNDELIVERED_CAPACITY), null,
+                            new AtomicBoolean(false));
     }
 
     private AppSession disconnected() {
-      return new AppSession(null, xsrf, executor, undeliveredMessages, Instant.now());
+      return new AppSession(null, xsrf, executor, undeliveredMessages, Instant.now(), hidden);
     }
 
     private AppSession reconnected(final WebSocketChannel newChannel) {
-      return new AppSession(newChannel, xsrf, executor, undeliveredMessages, null);
+      return new AppSession(newChannel, xsrf, executor, undeliveredMessages, null, hidden);
     }
 
     private boolean isExpired() {
@@ -182,6 +194,7 @@ public final class Server implements StateManager.RenderServer {
                                                                                                               true)
                                                                                                           .build());
   private final String customHeaders;
+  private final FragmentRefresher fragmentRefresher = new FragmentRefresher(this::enqueueFragmentRun);
 
   private static final Mustache indexTemplate;
   private static final Mustache SAFARI_WARNING_TEMPLATE;
@@ -208,6 +221,8 @@ public final class Server implements StateManager.RenderServer {
     // this is not the root path, this is only used to build media, ws and pages urls properly
     private @Nullable String basePath;
     private @Nullable String host;
+    private @Nullable Path trafficRecordingFile;
+    private @Nonnull List<String> metricsAllowedClients = List.of();
 
     private Builder(final @Nonnull Path appPath, final int port) {
       this.appPath = appPath;
@@ -260,6 +275,24 @@ public final class Server implements StateManager.RenderServer {
       return this;
     }
 
+    /**
+     * Records the anonymized messages sent by the browsers, with the duration of the runs they trigger, in the given
+     * file. The recording can be replayed against another version of the app or of Javelit to compare run durations.
+     */
+    public Builder recordTraffic(final @Nullable Path trafficRecordingFile) {
+      this.trafficRecordingFile = trafficRecordingFile;
+      return this;
+    }
+
+    /**
+     * Clients allowed to read the {@code /_/metrics} endpoint, in addition to local clients.
+     * An entry is an IP address, a CIDR block like {@code 10.0.0.0/8}, or {@code *} for all clients.
+     */
+    public Builder metricsAllowedClients(final @Nonnull List<String> metricsAllowedClients) {
+      this.metricsAllowedClients = List.copyOf(metricsAllowedClients);
+      return this;
+    }
+
     public void originalUrl(final @Nonnull String originalUrl) {
       this.originalUrl = originalUrl;
     }
@@ -301,6 +334,8 @@ public final class Server implements StateManager.RenderServer {
     this.ready = false;
     this.originalUrl = builder.originalUrl;
     this.basePath = builder.basePath == null ? null : cleanBasePath(builder.basePath);
+    this.trafficRecorder = builder.trafficRecordingFile == null ? null : new TrafficRecorder(builder.trafficRecordingFile);
+    this.metricsClientFilter = ServerMetrics.clientFilter(builder.metricsAllowedClients);
 
     sessionsCleaner.scheduleAtFixedRate(() -> {
       try {
@@ -311,6 +346,16 @@ public final class Server implements StateManager.RenderServer {
           if (session.isExpired()) {
             it.remove();
             final String sessionId = entry.getKey();
+            fragmentRefresher.cancel(sessionId);
+            if (trafficRecorder != null) {
+              trafficRecorder.forgetSession(sessionId);
+            }
+            final JfrEvents.SessionExpired expiredEvent = new JfrEvents.SessionExpired();
+            if (expiredEvent.shouldCommit()) {
+              expiredEvent.sessionId = sessionId;
+              expiredEvent.undeliveredMessages = session.undeliveredMessages.size();
+              expiredEvent.commit();
+            }
             try {
               session.executor.execute(() -> StateManager.clearSession(sessionId));
             } catch (RejectedExecutionException e) {
@@ -344,6 +389,7 @@ public final class Server implements StateManager.RenderServer {
     HttpHandler app = new PathHandler()
         .addExactPath("/_/health", new HealthHandler())
         .addExactPath("/_/ready", new ReadyHandler())
+        .addExactPath("/_/metrics", new MetricsHandler())
         .addExactPath("/_/oembed", new OEmbedHandler())
         .addExactPath("/_/ws",
                       Handlers.websocket(new WebSocketHandler()).addExtension(new PerMessageDeflateHandshake()))
@@ -395,6 +441,8 @@ public final class Server implements StateManager.RenderServer {
         throw new RuntimeException(e);
       }
     }
+    // the parser and the emoji table take a few hundred ms to load - not on the first run of the app
+    Thread.ofVirtual().name("javelit-markdown-warmup").start(MarkdownUtils::warmUp);
     ready = true;
     LOG.info("Javelit server started on http://{}:{}", "0.0.0.0".equals(host) ? "localhost" : host, port);
   }
@@ -423,6 +471,9 @@ public final class Server implements StateManager.RenderServer {
       server.stop();
     }
     sessionsCleaner.shutdown();
+    if (trafficRecorder != null) {
+      trafficRecorder.close();
+    }
   }
 
   private static HttpHandler resource(final @Nonnull ResourceManager resourceManager) {
@@ -648,6 +699,41 @@ public final class Server implements StateManager.RenderServer {
     }
   }
 
+  private class MetricsHandler implements HttpHandler {
+    @Override
+    public void handleRequest(HttpServerExchange exchange) {
+      final InetAddress clientAddress = optional(exchange.getSourceAddress()).map(InetSocketAddress::getAddress).orElse(null);
+      if (clientAddress == null || !metricsClientFilter.test(clientAddress)) {
+        exchange.setStatusCode(StatusCodes.FORBIDDEN);
+        exchange.getResponseSender().send("Forbidden");
+        return;
+      }
+      int connected = 0;
+      int disconnected = 0;
+      long queued = 0;
+      long maxQueued = 0;
+      long undelivered = 0;
+      for (final AppSession session : sessions.values()) {
+        if (session.channel != null) {
+          connected++;
+        } else {
+          disconnected++;
+        }
+        final int sessionQueued = session.executor.getQueue().size();
+        queued += sessionQueued;
+        maxQueued = Math.max(maxQueued, sessionQueued);
+        undelivered += session.undeliveredMessages.size();
+      }
+      final String metrics = ServerMetrics.scrape(
+          new ServerMetrics.SessionsSnapshot(connected, disconnected, queued, maxQueued, undelivered),
+          StateManager.mediaStoreBytes(),
+          StateManager.getCache().size());
+      exchange.setStatusCode(StatusCodes.OK);
+      exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "text/plain; version=0.0.4; charset=utf-8");
+      exchange.getResponseSender().send(metrics);
+    }
+  }
+
   /**
    * Handler for oEmbed endpoint that returns embed information for the app.
    * Implements the oEmbed specification: https://oembed.com/
@@ -724,6 +810,9 @@ public final class Server implements StateManager.RenderServer {
     }
 
     private void handlePuts(HttpServerExchange exchange) {
+      final long receivedNanos = System.nanoTime();
+      final JfrEvents.Upload uploadEvent = new JfrEvents.Upload();
+      uploadEvent.begin();
       try (final FormDataParser parser = formParserFactory.createParser(exchange)) {
         if (parser == null) {
           exchange.setStatusCode(StatusCodes.BAD_REQUEST);
@@ -750,6 +839,10 @@ public final class Server implements StateManager.RenderServer {
                                                       formValue.getHeaders().getFirst("Content-Type"),
                                                       content);
           uploadedFiles.add(f);
+          ServerMetrics.FILES_UPLOADED.increment();
+          ServerMetrics.BYTES_UPLOADED.add(content.length);
+          uploadEvent.fileCount++;
+          uploadEvent.size += content.length;
         }
 
         // TODO NEED TO GET THE SESSION ID PROPERLY
@@ -759,9 +852,16 @@ public final class Server implements StateManager.RenderServer {
                                                               componentKey,
                                                               uploadedFiles,
                                                               null,
+                                                              null,
+                                                              null,
                                                               null);
-        handleMessage(sessionId, componentUpdate);
+        handleMessage(sessionId, componentUpdate, receivedNanos);
         exchange.setStatusCode(StatusCodes.OK);
+        if (uploadEvent.shouldCommit()) {
+          uploadEvent.sessionId = sessionId;
+          uploadEvent.componentKey = componentKey;
+          uploadEvent.commit();
+        }
       } catch (Exception e) {
         LOG.error("Error processing file upload", e);
         exchange.setStatusCode(StatusCodes.INTERNAL_SERVER_ERROR);
@@ -807,15 +907,25 @@ public final class Server implements StateManager.RenderServer {
 
       final String hash = exchange.getRelativePath().substring(1);
       final MediaEntry media = StateManager.getMedia(sessionId, hash);
-      writeResponse(exchange, media, hash);
+      final JfrEvents.MediaServed mediaEvent = new JfrEvents.MediaServed();
+      mediaEvent.begin();
+      final long size = writeResponse(exchange, media, hash);
+      if (size > 0 && mediaEvent.shouldCommit()) {
+        mediaEvent.sessionId = sessionId;
+        mediaEvent.format = media.format();
+        mediaEvent.size = size;
+        mediaEvent.partial = exchange.getStatusCode() == StatusCodes.PARTIAL_CONTENT;
+        mediaEvent.commit();
+      }
     }
 
-    private void writeResponse(final @NotNull HttpServerExchange exchange,
+    // returns the number of bytes of media written
+    private long writeResponse(final @NotNull HttpServerExchange exchange,
                                final @Nullable MediaEntry media,
                                final @Nonnull String hash) {
       if (media == null || hash.isBlank()) {
         exchange.setStatusCode(StatusCodes.NOT_FOUND);
-        return;
+        return 0;
       }
       // X-Frame-Options is NONE when embed=true is not set (the most common case)
       // we allow iframe for media because the component pdf uses iframe
@@ -823,7 +933,7 @@ public final class Server implements StateManager.RenderServer {
       final String ifNoneMatch = exchange.getRequestHeaders().getFirst(Headers.IF_NONE_MATCH);
       if (ifNoneMatch != null && ifNoneMatch.equals(hash)) {
         exchange.setStatusCode(StatusCodes.NOT_MODIFIED);
-        return;
+        return 0;
       }
       exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, media.format());
       exchange.getResponseHeaders().put(Headers.ACCEPT_RANGES, "bytes");
@@ -834,8 +944,7 @@ public final class Server implements StateManager.RenderServer {
       final ByteRange range = ByteRange.parse(rangeHeader);
       if (range == null) {
         // no range header, or invalid / unsupported range format (e.g., multi-range)
-        writeFullContent(exchange, data);
-        return;
+        return writeFullContent(exchange, data);
       }
       final ByteRange.RangeResponseResult result = range.getResponseResult(
           data.length,
@@ -846,12 +955,11 @@ public final class Server implements StateManager.RenderServer {
       if (result.getStatusCode() == StatusCodes.REQUEST_RANGE_NOT_SATISFIABLE) {
         exchange.setStatusCode(StatusCodes.REQUEST_RANGE_NOT_SATISFIABLE);
         exchange.getResponseHeaders().put(Headers.CONTENT_RANGE, "bytes */" + data.length);
-        return;
+        return 0;
       }
       if (result.getStatusCode() == StatusCodes.OK) {
         // Range not satisfiable for some reason (e.g., If-Range mismatch) - serve full content
-        writeFullContent(exchange, data);
-        return;
+        return writeFullContent(exchange, data);
       }
       // Handle partial content (206)
       final long start = result.getStart();
@@ -861,11 +969,15 @@ public final class Server implements StateManager.RenderServer {
       exchange.getResponseHeaders().put(Headers.CONTENT_RANGE, result.getContentRange());
       exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, length);
       exchange.getResponseSender().send(ByteBuffer.wrap(data, (int) start, length));
+      ServerMetrics.MEDIA_BYTES_SERVED.add(length);
+      return length;
     }
 
-    private void writeFullContent(final @Nonnull HttpServerExchange exchange, final byte[] data) {
+    private long writeFullContent(final @Nonnull HttpServerExchange exchange, final byte[] data) {
       exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, data.length);
       exchange.getResponseSender().send(ByteBuffer.wrap(data));
+      ServerMetrics.MEDIA_BYTES_SERVED.add(data.length);
+      return data.length;
     }
   }
 
@@ -896,11 +1008,13 @@ public final class Server implements StateManager.RenderServer {
         @Override
         protected void onFullTextMessage(final WebSocketChannel channel, final BufferedTextMessage message) {
           try {
+            // taken before the message waits in the session executor queue
+            final long receivedNanos = System.nanoTime();
             final String data = message.getData();
             session.executor.submit(() -> {
               try {
               final FrontendMessage msg = Shared.OBJECT_MAPPER.readValue(data, FrontendMessage.class);
-              handleMessage(sessionId, msg);
+              handleMessage(sessionId, msg, receivedNanos);
               } catch (Exception e) {
                 LOG.error("Error handling message", e);
               }
@@ -955,7 +1069,9 @@ public final class Server implements StateManager.RenderServer {
       // we introduce an appSession executor to not block. The single thread ensures messages are processed in order.
       // the same thread is used in dev-mode reload to ensure total ordering of messages
       // FIXME - this is unbounded - we need to put a bound on the number of app sessions, and refuse connection if server is full
-      final ExecutorService appSessionExecutor = Executors.newSingleThreadExecutor(
+      // a ThreadPoolExecutor and not Executors.newSingleThreadExecutor to expose the queue size in the metrics
+      final ThreadPoolExecutor appSessionExecutor = new ThreadPoolExecutor(
+          1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
           new ThreadFactoryBuilder().setNameFormat("javelit-app-session-runner-thread-%d-" + sessionId).build());
       final Session currentHttpSession = getHttpSessionFromWebSocket(exchange);
       if (currentHttpSession == null) {
@@ -1005,13 +1121,20 @@ public final class Server implements StateManager.RenderServer {
   }
 
   private record FrontendMessage(@Nonnull String type,
-                                 // for component_update message
+                                 // for component_update, component_request and form_submit message - for form_submit, the value is the map of the form widget values
                                  @Nullable String componentKey, @Nullable Object value,
+                                 // for component_request message
+                                 @Nullable Integer requestId,
                                  // for path_update message
-                                 @Nullable String path, @Nullable Map<String, List<String>> queryParameters) {
+                                 @Nullable String path, @Nullable Map<String, List<String>> queryParameters,
+                                 // for container_displayed message - the value is whether the container is displayed
+                                 @Nullable String container) {
   }
 
-  private void handleMessage(final String sessionId, final FrontendMessage frontendMessage) {
+  /**
+   * @param receivedNanos the {@link System#nanoTime()} when the message was received, before it was queued
+   */
+  private void handleMessage(final String sessionId, final FrontendMessage frontendMessage, final long receivedNanos) {
     boolean doRerun = false;
     try {
       switch (frontendMessage.type()) {
@@ -1020,7 +1143,21 @@ public final class Server implements StateManager.RenderServer {
                                                        frontendMessage.componentKey(),
                                                        frontendMessage.value());
         }
+        case "form_submit" -> {
+          checkArgument(frontendMessage.value() instanceof Map,
+                        "The values of a form submit must be a map. Got: %s",
+                        frontendMessage.value());
+          @SuppressWarnings("unchecked")
+          final Map<String, Object> formValues = (Map<String, Object>) frontendMessage.value();
+          doRerun = StateManager.handleFormSubmit(sessionId, frontendMessage.componentKey(), formValues);
+        }
+        case "component_request" -> sendComponentResponse(sessionId, frontendMessage);
         case "reload" -> doRerun = true;
+        case "container_displayed" -> doRerun = StateManager.handleContainerDisplayed(sessionId,
+                                                                               frontendMessage.container(),
+                                                                               Boolean.TRUE.equals(frontendMessage.value()));
+        case "visibility" -> optional(sessions.get(sessionId))
+            .ifPresent(session -> session.hidden.set("hidden".equals(frontendMessage.value())));
         case "path_update" -> {
           final UrlContext urlContext = new UrlContext(optional(
               frontendMessage.path()).orElse(""),
@@ -1054,10 +1191,12 @@ public final class Server implements StateManager.RenderServer {
     }
 
 
+    Long runNanos = null;
     if (doRerun) {
       if (lastCompilationErrorMessage != null) {
         sendCompilationError(sessionId, lastCompilationErrorMessage);
       } else {
+        final long runStart = System.nanoTime();
         try {
           appRunner.runApp(sessionId);
           lastCompilationErrorMessage = null;
@@ -1065,8 +1204,21 @@ public final class Server implements StateManager.RenderServer {
           lastCompilationErrorMessage = e.getMessage();
           sendCompilationError(sessionId, e.getMessage());
         }
+        runNanos = System.nanoTime() - runStart;
+        ServerMetrics.RUN_DURATION.observeNanos(runNanos);
       }
     }
+
+    if (trafficRecorder != null) {
+      trafficRecorder.record(sessionId,
+                             frontendMessage.type(),
+                             frontendMessage.componentKey(),
+                             frontendMessage.value(),
+                             frontendMessage.path(),
+                             frontendMessage.queryParameters(),
+                             receivedNanos,
+                             runNanos);
+    }
   }
 
   @Override
@@ -1077,6 +1229,25 @@ public final class Server implements StateManager.RenderServer {
                    final @Nullable Integer index,
                    final boolean clearBefore) {
     // Send message to frontend
+    final JfrEvents.DeltaSent event = new JfrEvents.DeltaSent();
+    event.begin();
+    final Map<String, Object> message = deltaMessage(renderHtml, registrationHtml, container, index, clearBefore);
+    LOG.debug("Sending delta to session {}: {}", sessionId, message);
+    ServerMetrics.DELTAS_SENT.increment();
+    final int size = sendMessage(sessionId, message);
+    if (event.shouldCommit()) {
+      event.sessionId = sessionId;
+      event.container = container.frontendDataContainerField();
+      event.size = size;
+      event.commit();
+    }
+  }
+
+  static @Nonnull Map<String, Object> deltaMessage(final @Nullable String renderHtml,
+                                                   final @Nullable String registrationHtml,
+                                                   final @Nonnull JtContainer container,
+                                                   final @Nullable Integer index,
+                                                   final boolean clearBefore) {
     final Map<String, Object> message = new HashMap<>();
     message.put("type", "delta");
     message.put("html", renderHtml);
@@ -1090,18 +1261,21 @@ public final class Server implements StateManager.RenderServer {
     if (registrationHtml != null && !registrationHtml.isBlank()) {
       message.put("registrations", List.of(registrationHtml));
     }
-    LOG.debug("Sending delta to session {}: {}", sessionId, message);
-    sendMessage(sessionId, message);
+    return message;
   }
 
   @SuppressWarnings("ClassEscapesDefinedScope")
   // StateManager.ExecutionStatus is not meant to be public but is used as interface method param which must be public
   @Override
   public void sendStatus(final @Nonnull String sessionId, @NotNull StateManager.ExecutionStatus executionStatus,
-                         final @Nullable Map<String, Integer> unusedComponents) {
+                         final @Nullable Map<String, Integer> unusedComponents,
+                         final @Nullable Map<String, Object> runProfile) {
     final Map<String, Object> message = new HashMap<>();
     message.put("type", "status");
     message.put("status", executionStatus);
+    if (runProfile != null) {
+      message.put("runProfile", runProfile);
+    }
     if (StateManager.isDeveloperSession(sessionId) && unusedComponents != null && !unusedComponents.isEmpty()) {
       message.put("toastDuration", 10);
       final List<String> unusedComponentsListItems = unusedComponents.entrySet().stream()
@@ -1122,34 +1296,117 @@ public final class Server implements StateManager.RenderServer {
     sendMessage(sessionId, message);
   }
 
+  @Override
+  public boolean push(final @Nonnull String sessionId, final @Nonnull String componentKey, final @Nullable Object payload) {
+    if (!sessions.containsKey(sessionId)) {
+      // pushes usually come from background threads that outlive the session - not an error
+      return false;
+    }
+    final Map<String, Object> message = new HashMap<>();
+    message.put("type", "component_push");
+    message.put("componentKey", componentKey);
+    message.put("value", payload);
+    sendMessage(sessionId, message);
+    return true;
+  }
+
+  @Override
+  public void scheduleFragmentRuns(final @Nonnull String sessionId, final @Nonnull Map<String, Duration> periods) {
+    fragmentRefresher.update(sessionId, periods);
+  }
+
+  @Override
+  public void runFragment(final @Nonnull String sessionId, final @Nonnull FragmentComponent fragment) {
+    // not skipped when the tab is hidden - the result would not be shown otherwise
+    enqueueRun(sessionId, fragment.getInternalKey(), () -> StateManager.requestFragmentRun(sessionId, fragment));
+  }
+
+  // returns null if the run is skipped - the session is gone, disconnected or its tab is hidden
+  private @Nullable Future<?> enqueueFragmentRun(final @Nonnull String sessionId, final @Nonnull String fragmentKey) {
+    final AppSession session = sessions.get(sessionId);
+    if (session == null || session.channel == null || session.hidden.get()) {
+      return null;
+    }
+    return enqueueRun(sessionId, fragmentKey, () -> StateManager.requestFragmentRun(sessionId, fragmentKey));
+  }
+
+  // requestRun is called in the session thread, before the run - the run is skipped if it returns false
+  private @Nullable Future<?> enqueueRun(final @Nonnull String sessionId,
+                                         final @Nonnull String fragmentKey,
+                                         final @Nonnull BooleanSupplier requestRun) {
+    final AppSession session = sessions.get(sessionId);
+    if (session == null) {
+      return null;
+    }
+    try {
+      return session.executor.submit(() -> {
+        if (lastCompilationErrorMessage != null || !requestRun.getAsBoolean()) {
+          return;
+        }
+        final long runStart = System.nanoTime();
+        try {
+          appRunner.runApp(sessionId);
+        } catch (Exception e) {
+          LOG.error("Failed to run fragment {} in session {}", fragmentKey, sessionId, e);
+        }
+        ServerMetrics.RUN_DURATION.observeNanos(System.nanoTime() - runStart);
+      });
+    } catch (RejectedExecutionException e) {
+      // the session is being cleaned up
+      return null;
+    }
+  }
+
   private static String unusedComponentToMarkdownLi(final String name, final Integer unusedCount) {
     final String userFriendlyName = name.substring(name.lastIndexOf(".") + 1).replace("Component", "");
     return "- " + userFriendlyName + " - _" + unusedCount + "_";
 
   }
 
-  private void sendMessage(final String sessionId, final Map<String, Object> message) {
+  // returns the number of bytes sent - 0 if the message was not sent
+  private int sendMessage(final String sessionId, final Map<String, Object> message) {
     final AppSession session = sessions.get(sessionId);
     if (session == null) {
       LOG.error("Error sending message. Unknown sessionId: {}", sessionId);
     } else if (session.channel != null) {
-      sendMessage(session.channel, message);
+      return sendMessage(session.channel, message);
     } else {
       final boolean inserted = session.undeliveredMessages.offer(message);
       LOG.debug("A message that cannot be delivered was stored in undelivered queue for session {}", sessionId);
       if (!inserted) {
+        ServerMetrics.MESSAGES_LOST.increment();
         LOG.warn("Messages lost for a disconnected session: {}.", sessionId);
       }
     }
+    return 0;
   }
 
-  private static void sendMessage(final @Nonnull WebSocketChannel channel, final Map<String, Object> message) {
+  private static int sendMessage(final @Nonnull WebSocketChannel channel, final Map<String, Object> message) {
     try {
-      String json = Shared.OBJECT_MAPPER.writeValueAsString(message);
-      WebSockets.sendText(json, channel, null);
+      // same encoding as WebSockets.sendText(String) - without the intermediate String
+      final byte[] json = Shared.OBJECT_MAPPER.writeValueAsBytes(message);
+      WebSockets.sendText(ByteBuffer.wrap(json), channel, null);
+      ServerMetrics.MESSAGES_SENT.increment();
+      ServerMetrics.BYTES_SENT.add(json.length);
+      return json.length;
     } catch (Exception e) {
       LOG.error("Error sending message", e);
+      return 0;
+    }
+  }
+
+  private void sendComponentResponse(final String sessionId, final FrontendMessage request) {
+    final Map<String, Object> message = new HashMap<>();
+    message.put("type", "component_response");
+    message.put("requestId", request.requestId());
+    try {
+      message.put("value", StateManager.handleComponentRequest(sessionId, request.componentKey(), request.value()));
+    } catch (Exception e) {
+      // not an error for the whole app - eg the component may have been removed by a re-run while the request was in flight
+      LOG.debug("Failed to handle component request for session {}", sessionId, e);
+      message.put("error", e.getMessage());
     }
+    sendMessage(sessionId, message);
   }
 
   private void sendFullScreenModalError(final String sessionId,
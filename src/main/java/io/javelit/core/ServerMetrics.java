@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.net.InetAddresses;
+import jakarta.annotation.Nonnull;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Counters and histograms of the server internals, exposed in the Prometheus text format on {@code /_/metrics}.
+ * <p>
+ * Recording is lock-free: counters are {@link LongAdder}s and histograms have fixed buckets, so the run hot path only
+ * pays for a few uncontended increments. Gauges (sessions, queues, media) are computed when the metrics are scraped.
+ */
+final class ServerMetrics {
+
+  private static final double[] RUN_BUCKETS_SECONDS = {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+  private static final double[] RELOAD_BUCKETS_SECONDS = {0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+
+  static final Histogram RUN_DURATION = new Histogram(RUN_BUCKETS_SECONDS);
+  static final Histogram DEPENDENCIES_RESOLUTION_DURATION = new Histogram(RELOAD_BUCKETS_SECONDS);
+  static final Histogram COMPILATION_DURATION = new Histogram(RELOAD_BUCKETS_SECONDS);
+  static final Histogram CLASS_LOADING_DURATION = new Histogram(RELOAD_BUCKETS_SECONDS);
+
+  static final LongAdder DELTAS_SENT = new LongAdder();
+  static final LongAdder MESSAGES_SENT = new LongAdder();
+  static final LongAdder BYTES_SENT = new LongAdder();
+  static final LongAdder MESSAGES_LOST = new LongAdder();
+  static final LongAdder FILES_UPLOADED = new LongAdder();
+  static final LongAdder BYTES_UPLOADED = new LongAdder();
+  static final LongAdder MEDIA_BYTES_SERVED = new LongAdder();
+
+  private ServerMetrics() {
+  }
+
+  /**
+   * Gauges of the server sessions, computed at scrape time.
+   *
+   * @param queuedMessages    messages waiting to be processed by the session executors
+   * @param maxQueuedMessages the largest number of messages waiting in a single session
+   */
+  record SessionsSnapshot(int connected,
+                          int disconnected,
+                          long queuedMessages,
+                          long maxQueuedMessages,
+                          long undeliveredMessages) {
+  }
+
+  /**
+   * Fixed buckets histogram. Bucket counts are not cumulative - they are cumulated when written.
+   */
+  static final class Histogram {
+    private final double[] upperBoundsSeconds;
+    private final long[] upperBoundsNanos;
+    // one more bucket for +Inf
+    private final LongAdder[] counts;
+    private final DoubleAdder sumSeconds = new DoubleAdder();
+
+    Histogram(final double[] upperBoundsSeconds) {
+      this.upperBoundsSeconds = upperBoundsSeconds;
+      this.upperBoundsNanos = new long[upperBoundsSeconds.length];
+      for (int i = 0; i < upperBoundsSeconds.length; i++) {
+        upperBoundsNanos[i] = (long) (upperBoundsSeconds[i] * 1e9);
+      }
+      this.counts = new LongAdder[upperBoundsSeconds.length + 1];
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = new LongAdder();
+      }
+    }
+
+    void observeNanos(final long nanos) {
+      int i = 0;
+      while (i < upperBoundsNanos.length && nanos > upperBoundsNanos[i]) {
+        i++;
+      }
+      counts[i].increment();
+      sumSeconds.add(nanos / 1e9);
+    }
+
+    void write(final @Nonnull StringBuilder sb, final @Nonnull String name, final @Nonnull String labels) {
+      final String labelPrefix = labels.isEmpty() ? "" : labels + ",";
+      long cumulated = 0;
+      for (int i = 0; i < counts.length; i++) {
+        cumulated += counts[i].sum();
+        final String le = i < upperBoundsSeconds.length ? String.valueOf(upperBoundsSeconds[i]) : "+Inf";
+        sb.append(name).append("_bucket{").append(labelPrefix).append("le=\"").append(le).append("\"} ")
+          .append(cumulated).append('\n');
+      }
+      final String labelsBlock = labels.isEmpty() ? "" : "{" + labels + "}";
+      sb.append(name).append("_sum").append(labelsBlock).append(' ').append(sumSeconds.sum()).append('\n');
+      sb.append(name).append("_count").append(labelsBlock).append(' ').append(cumulated).append('\n');
+    }
+  }
+
+  static @Nonnull String scrape(final @Nonnull SessionsSnapshot sessions,
+                                final long mediaStoreBytes,
+                                final long appCacheEntries) {
+    final StringBuilder sb = new StringBuilder(8 * 1024);
+    header(sb, "javelit_sessions", "gauge", "App sessions, by state.");
+    sample(sb, "javelit_sessions{state=\"connected\"}", sessions.connected());
+    sample(sb, "javelit_sessions{state=\"disconnected\"}", sessions.disconnected());
+    gauge(sb, "javelit_session_queued_messages", "Messages waiting to be processed, over all sessions.", sessions.queuedMessages());
+    gauge(sb, "javelit_session_queued_messages_max", "Messages waiting to be processed in the busiest session.", sessions.maxQueuedMessages());
+    gauge(sb, "javelit_undelivered_messages", "Messages kept for disconnected sessions, waiting for a reconnection.", sessions.undeliveredMessages());
+    counter(sb, "javelit_undelivered_messages_lost_total", "Messages dropped because the undelivered queue of a session was full.", MESSAGES_LOST.sum());
+
+    header(sb, "javelit_run_duration_seconds", "histogram", "Duration of the app runs triggered by the browsers.");
+    RUN_DURATION.write(sb, "javelit_run_duration_seconds", "");
+    counter(sb, "javelit_deltas_sent_total", "Component deltas sent to the browsers.", DELTAS_SENT.sum());
+    counter(sb, "javelit_messages_sent_total", "WebSocket messages sent to the browsers.", MESSAGES_SENT.sum());
+    counter(sb, "javelit_sent_bytes_total", "Bytes of the WebSocket messages sent to the browsers, before compression.", BYTES_SENT.sum());
+
+    header(sb, "javelit_reload_duration_seconds", "histogram", "Duration of the phases of the app reloads.");
+    DEPENDENCIES_RESOLUTION_DURATION.write(sb, "javelit_reload_duration_seconds", "phase=\"dependencies\"");
+    COMPILATION_DURATION.write(sb, "javelit_reload_duration_seconds", "phase=\"compile\"");
+    CLASS_LOADING_DURATION.write(sb, "javelit_reload_duration_seconds", "phase=\"load\"");
+
+    gauge(sb, "javelit_media_store_bytes", "Bytes of the media held for the sessions.", mediaStoreBytes);
+    counter(sb, "javelit_media_served_bytes_total", "Bytes of media served.", MEDIA_BYTES_SERVED.sum());
+    counter(sb, "javelit_uploaded_files_total", "Files uploaded by the browsers.", FILES_UPLOADED.sum());
+    counter(sb, "javelit_uploaded_bytes_total", "Bytes of the files uploaded by the browsers.", BYTES_UPLOADED.sum());
+
+    gauge(sb, "javelit_app_cache_entries", "Entries in Jt.cache().", appCacheEntries);
+    final CacheStats markdownStats = MarkdownUtils.cacheStats();
+    gauge(sb, "javelit_markdown_cache_entries", "Entries in the markdown rendering cache.", MarkdownUtils.cacheSize());
+    counter(sb, "javelit_markdown_cache_hits_total", "Hits of the markdown rendering cache.", markdownStats.hitCount());
+    counter(sb, "javelit_markdown_cache_misses_total", "Misses of the markdown rendering cache.", markdownStats.missCount());
+    counter(sb, "javelit_markdown_cache_evictions_total", "Evictions of the markdown rendering cache.", markdownStats.evictionCount());
+    return sb.toString();
+  }
+
+  /**
+   * Returns a filter of the clients allowed to read the metrics.
+   * An entry is an IP address, a CIDR block like {@code 10.0.0.0/8}, or {@code *} for all clients.
+   * Loopback addresses are always allowed.
+   */
+  static @Nonnull Predicate<InetAddress> clientFilter(final @Nonnull List<String> allowedClients) {
+    final List<Predicate<InetAddress>> filters = new ArrayList<>();
+    filters.add(InetAddress::isLoopbackAddress);
+    for (final String entry : allowedClients) {
+      final String e = entry.strip();
+      if (e.equals("*")) {
+        return a -> true;
+      }
+      final int slash = e.indexOf('/');
+      final InetAddress network = InetAddresses.forString(slash < 0 ? e : e.substring(0, slash));
+      final int maxPrefix = network.getAddress().length * 8;
+      final int prefix = slash < 0 ? maxPrefix : Integer.parseInt(e.substring(slash + 1));
+      checkArgument(prefix >= 0 && prefix <= maxPrefix, "Invalid CIDR prefix length in %s", e);
+      filters.add(a -> inNetwork(a, network, prefix));
+    }
+    return a -> filters.stream().anyMatch(f -> f.test(a));
+  }
+
+  private static boolean inNetwork(final @Nonnull InetAddress address, final @Nonnull InetAddress network, final int prefix) {
+    final byte[] a = address.getAddress();
+    final byte[] n = network.getAddress();
+    if (a.length != n.length) {
+      return false;
+    }
+    for (int bit = 0; bit < prefix; bit++) {
+      final int mask = 0x80 >> (bit % 8);
+      if ((a[bit / 8] & mask) != (n[bit / 8] & mask)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void header(final StringBuilder sb, final String name, final String type, final String help) {
+    sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(final StringBuilder sb, final String nameAndLabels, final long value) {
+    sb.append(nameAndLabels).append(' ').append(value).append('\n');
+  }
+
+  private static void gauge(final StringBuilder sb, final String name, final String help, final long value) {
+    header(sb, name, "gauge", help);
+    sample(sb, name, value);
+  }
+
+  private static void counter(final StringBuilder sb, final String name, final String help, final long value) {
+    header(sb, name, "counter", help);
+    sample(sb, name, value);
+  }
+}
@@ -16,12 +16,16 @@
 package io.javelit.core;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
@@ -38,6 +42,7 @@ import org.slf4j.LoggerFactory;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static io.javelit.core.Server.SESSION_ID_QUERY_PARAM;
+import static io.javelit.core.utils.LangUtils.optional;
 
 // no api here should ever be exposed
 // users should use Jt
@@ -61,7 +66,8 @@ final class StateManager {
     // does not record main and sidebar containers - only children of these 2 root containers
     private final Set<JtContainer> clearedContainers = new HashSet<>();
     private final Set<JtContainer> clearedLayoutContainers = new HashSet<>();
-    private final HashMap<String, Integer> unusedComponents = new HashMap<>();
+    // concurrent: components can be instantiated in threads bound with bindCurrentExecution
+    private final Map<String, Integer> unusedComponents = new ConcurrentHashMap<>();
     // this is not the "current page" according to the URL - this is the currentPage for key context purpose
     // for instance
     // var page1 = Jt.navigation().use(); // currentPage is null
@@ -69,6 +75,24 @@ final class StateManager {
     // Jt.text().use() // currentPage is back to null
     // this is used to implement: 1: key isolation by page  2: state persistence across pages when page is changed
     private JtPage executionPage;
+    private final JfrEvents.AppRun runEvent = new JfrEvents.AppRun();
+    // only for developer sessions
+    private @Nullable RunProfile profile;
+    // fragment internal key -> fragment used in the execution
+    private final Map<String, UsedFragment> fragments = new HashMap<>();
+    // set if only a fragment is run - the components outside the fragment are kept from the last execution
+    private @Nullable UsedFragment fragmentRun;
+    // containers of skipped lazy fragments - their components are kept from the last execution
+    private final Set<JtContainer> retainedContainers = new HashSet<>();
+    // set by endExecution - threads bound to the execution cannot add components anymore
+    private volatile boolean ended;
+    // components of the last execution per container, by position - built once per container and run
+    private final Map<JtContainer, JtComponent<?>[]> previousComponents = new HashMap<>();
+    // orders the bindings, the ends of bound tasks and the component additions
+    private final AtomicLong clock = new AtomicLong();
+    private final Writer appThreadWriter = new Writer(0);
+    // guarded by this - last addition per container, to reject additions that are not ordered with it
+    private final Map<JtContainer, ContainerWrite> lastWrites = new HashMap<>();
 
     private AppExecution(final @Nonnull String sessionId, final @Nonnull RenderServer renderServer) {
       this.sessionId = sessionId;
@@ -76,7 +100,44 @@ final class StateManager {
     }
   }
 
+  /**
+   * @param parent  the container in which the fragment component was added
+   * @param page    the page context in which the fragment was used - keys of the fragment components depend on it
+   * @param skipped whether the body of the lazy fragment was skipped because the parent container was not displayed
+   */
+  private record UsedFragment(@Nonnull FragmentComponent component,
+                              @Nonnull JtContainer parent,
+                              @Nullable JtPage page,
+                              boolean skipped) {
+    // whether the container is the fragment container or one of its children
+    boolean contains(final @Nonnull JtContainer container) {
+      final List<String> fragmentPath = component.returnValue().path();
+      final List<String> path = container.path();
+      return path.size() >= fragmentPath.size() && path.subList(0, fragmentPath.size()).equals(fragmentPath);
+    }
+  }
+
+  /**
+   * A thread adding components: the app thread, or a task bound with {@link #bindCurrentExecution(Callable)}.
+   *
+   * @param boundAt clock of the execution when the task was bound - the additions before this are ordered with the task
+   */
+  private static final class Writer {
+    private final long boundAt;
+    // clock of the execution when the task ended
+    private volatile long endedAt = Long.MAX_VALUE;
+
+    private Writer(final long boundAt) {
+      this.boundAt = boundAt;
+    }
+  }
+
+  private record ContainerWrite(@Nonnull Writer writer, long at) {
+  }
+
   private static final ThreadLocal<AppExecution> CURRENT_EXECUTION_IN_THREAD = new ThreadLocal<>();
+  // null in the app thread
+  private static final ThreadLocal<Writer> CURRENT_WRITER_IN_THREAD = new ThreadLocal<>();
 
   private static final Map<String, InternalSessionState> SESSIONS = new ConcurrentHashMap<>();
   // session id to last AppExecution
@@ -99,8 +160,35 @@ final class StateManager {
               final @Nullable Integer index,
               final boolean clearBefore);
 
+    // runProfile is only set for developer sessions, with the END status
     void sendStatus(final @Nonnull String sessionId, final @Nonnull ExecutionStatus executionStatus,
-                    final @Nullable Map<String, Integer> unusedComponents);
+                    final @Nullable Map<String, Integer> unusedComponents,
+                    final @Nullable Map<String, Object> runProfile);
+
+    // returns false if the session does not exist anymore
+    boolean push(final @Nonnull String sessionId, final @Nonnull String componentKey, final @Nullable Object payload);
+
+    // fragment key -> refresh period, for all the fragments with a period in the last execution
+    void scheduleFragmentRuns(final @Nonnull String sessionId, final @Nonnull Map<String, Duration> periods);
+
+    // can be called from any thread - runs the fragment as soon as possible, if it is still in the app
+    void runFragment(final @Nonnull String sessionId, final @Nonnull FragmentComponent fragment);
+  }
+
+  // can be used from any thread - equality is used to identify a component across runs of the app
+  private record PushChannel(@Nonnull String sessionId,
+                             @Nonnull String componentKey,
+                             @Nonnull RenderServer renderServer) implements JtComponent.FrontendChannel {
+    @Override
+    public boolean push(final @Nullable Object payload) {
+      return renderServer.push(sessionId, componentKey, payload);
+    }
+
+    @Override
+    public boolean isOpen() {
+      // sessions are cleared when they expire
+      return SESSIONS.containsKey(sessionId);
+    }
   }
 
   private StateManager() {
@@ -118,11 +206,59 @@ final class StateManager {
   // must run on the same thread as the handler (it is the case) for CURRENT_EXECUTION_IN_THREAD.remove() to be correct
   static void clearSession(String sessionId) {
     SESSIONS.remove(sessionId);
-    LAST_EXECUTIONS.remove(sessionId);
+    final AppExecution lastExecution = LAST_EXECUTIONS.remove(sessionId);
+    if (lastExecution != null) {
+      lastExecution.fragments.values().forEach(f -> f.component().cancelAsync());
+    }
     CURRENT_EXECUTION_IN_THREAD.remove();
   }
 
 
+  /**
+   * Returns a task that runs with the execution of the current thread bound to the thread that runs the task,
+   * for instance a worker thread of an executor. The task can call Jt methods as if it was run by the app thread.
+   * The execution is only bound while the task runs: it is removed from the worker thread after the task.
+   * <p>
+   * Mutations of the execution are guarded by the execution monitor. The components added by a task to a container
+   * are in the order of its calls. The next run is diffed by position, so the order in a container must not depend on
+   * thread scheduling: adding a component to a container is rejected if the last component of the container was added
+   * by another thread, unless it was added before the task was bound, or by a task that has ended.
+   * <p>
+   * The tasks must complete before the end of the execution: components cannot be added after endExecution.
+   */
+  // same semantics as a ScopedValue binding - can be migrated once Java 25 is the minimum version, see notes/threads_scoped_values
+  static <T> @Nonnull Callable<T> bindCurrentExecution(final @Nonnull Callable<T> task) {
+    final AppExecution execution = CURRENT_EXECUTION_IN_THREAD.get();
+    checkState(execution != null,
+               "No active execution context. Tasks must be bound from the app thread, or from a thread running a bound task.");
+    final Writer writer = new Writer(execution.clock.incrementAndGet());
+    return () -> {
+      final AppExecution bound = CURRENT_EXECUTION_IN_THREAD.get();
+      final Writer previousWriter = CURRENT_WRITER_IN_THREAD.get();
+      if (bound != execution) {
+        checkState(bound == null, "The thread is already bound to another app execution.");
+        checkState(!execution.ended,
+                   "The app run ended before the task started. Wait for the completion of the tasks before the end of the app.");
+        CURRENT_EXECUTION_IN_THREAD.set(execution);
+      }
+      // the task may be run by the app thread - for instance the caller thread of a parallel stream
+      CURRENT_WRITER_IN_THREAD.set(writer);
+      try {
+        return task.call();
+      } finally {
+        writer.endedAt = execution.clock.incrementAndGet();
+        if (previousWriter == null) {
+          CURRENT_WRITER_IN_THREAD.remove();
+        } else {
+          CURRENT_WRITER_IN_THREAD.set(previousWriter);
+        }
+        if (bound != execution) {
+          CURRENT_EXECUTION_IN_THREAD.remove();
+        }
+      }
+    };
+  }
+
   static void handleUserCodeComponentUpdate(@NotNull String userKey, @Nullable Object value) {
     final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
     checkState(currentExecution != null, "No active execution context. Please reach out to support.");
@@ -133,10 +269,13 @@ final class StateManager {
                   "No component with key %s exists in current page context. Make sure the component has been rendered with .key(\"%s\") at least once before trying to update its value.",
                   userKey,
                   userKey);
-    boolean componentAlreadyUsedInRun = currentExecution.containerToComponents
-        .values()
-        .stream()
-        .anyMatch(components -> components.containsKey(internalKey));
+    final boolean componentAlreadyUsedInRun;
+    synchronized (currentExecution) {
+      componentAlreadyUsedInRun = currentExecution.containerToComponents
+          .values()
+          .stream()
+          .anyMatch(components -> components.containsKey(internalKey));
+    }
     checkArgument(!componentAlreadyUsedInRun,
                   """
                       Cannot update the value of component with key `%s`. The component has already been rendered in the current run. \s
@@ -166,15 +305,9 @@ final class StateManager {
     checkState(lastExecution != null,
                "Received an update from session %s but there wasn't any previous run in this session. Try to refresh the page.",
                sessionId);
-    JtComponent<?> component = null;
-    JtContainer componentContainer = null;
-    for (final Map.Entry<JtContainer, LinkedHashMap<String, JtComponent<?>>> entry : lastExecution.containerToComponents.entrySet()) {
-      if (entry.getValue().containsKey(componentKey)) {
-        component = entry.getValue().get(componentKey);
-        componentContainer = entry.getKey();
-        break;
-      }
-    }
+    final JtContainer componentContainer = containerOf(lastExecution, componentKey);
+    final JtComponent<?> component = componentContainer == null ? null : lastExecution.containerToComponents.get(
+        componentContainer).get(componentKey);
     checkState(component != null,
                "Received update for unknown component %s. Try to refresh the page.",
                componentKey);
@@ -203,9 +336,11 @@ final class StateManager {
       }
       session.updateComponentsState(componentKey, updatedValue);
       registerCallback(sessionId, componentKey);
+      session.setFragmentToRerun(fragmentKeyOf(lastExecution, componentContainer));
       return true;
     }
-    // handle special case of component inside a form
+    // handle special case of component inside a form - the browser keeps the values of the form widgets until the
+    // form is submitted, see handleFormSubmit. The values that are sent here, for instance uploaded files, are pending until the submit
     if (parentFormComponentKey != null) {
       if (component.returnValueIsAState()) {
         session.pendingInFormComponentsState()
@@ -217,9 +352,269 @@ final class StateManager {
     // handle normal case
     session.updateComponentsState(componentKey, component.convert(updatedValue));
     registerCallback(sessionId, componentKey);
+    session.setFragmentToRerun(fragmentKeyOf(lastExecution, componentContainer));
     return rerun;
   }
 
+  /**
+   * Handles the submit of a form by the frontend, with the values of the form widgets changed since the last submit,
+   * and returns true if the app should be re-run.
+   * The values are applied with the pending values of the form, all at once.
+   */
+  static boolean handleFormSubmit(final String sessionId,
+                                  final String submitButtonKey,
+                                  final Map<String, Object> formValues) {
+    final InternalSessionState session = SESSIONS.get(sessionId);
+    checkState(session != null, "No session with id %s. Implementation error ?", sessionId);
+    final AppExecution lastExecution = LAST_EXECUTIONS.get(sessionId);
+    checkState(lastExecution != null,
+               "Received a form submit from session %s but there wasn't any previous run in this session. Try to refresh the page.",
+               sessionId);
+    final JtContainer buttonContainer = containerOf(lastExecution, submitButtonKey);
+    checkState(buttonContainer != null
+               && lastExecution.containerToComponents.get(buttonContainer).get(submitButtonKey) instanceof FormSubmitButtonComponent,
+               "Received a form submit for unknown form submit button %s. Try to refresh the page.",
+               submitButtonKey);
+    final String formComponentKey = buttonContainer.getParentFormComponentKey();
+    checkState(formComponentKey != null, "FormSubmitButton must be inside a form container");
+    final Map<String, Object> pendingInFormComponentStates = session
+        .pendingInFormComponentsState()
+        .computeIfAbsent(formComponentKey, e -> new LinkedHashMap<>());
+    for (final Map.Entry<String, Object> entry : formValues.entrySet()) {
+      final JtContainer container = containerOf(lastExecution, entry.getKey());
+      // components that were removed from the form since the values were changed in the browser are ignored
+      if (container == null || !formComponentKey.equals(container.getParentFormComponentKey())) {
+        continue;
+      }
+      final JtComponent<?> component = lastExecution.containerToComponents.get(container).get(entry.getKey());
+      if (component.returnValueIsAState()) {
+        pendingInFormComponentStates.put(entry.getKey(), component.convert(entry.getValue()));
+      }
+    }
+    return handleComponentUpdate(sessionId, submitButtonKey, true);
+  }
+
+  private static @Nullable JtContainer containerOf(final @Nonnull AppExecution execution,
+                                                   final @Nonnull String internalKey) {
+    for (final Map.Entry<JtContainer, LinkedHashMap<String, JtComponent<?>>> entry : execution.containerToComponents.entrySet()) {
+      if (entry.getValue().containsKey(internalKey)) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+
+  // returns the key of the innermost fragment containing the container, or null if the container is not in a fragment
+  private static @Nullable String fragmentKeyOf(final @Nonnull AppExecution execution,
+                                                final @Nonnull JtContainer container) {
+    UsedFragment innermost = null;
+    for (final UsedFragment fragment : execution.fragments.values()) {
+      if (fragment.contains(container)
+          && (innermost == null || fragment.component().returnValue().path().size() > innermost.component().returnValue().path().size())) {
+        innermost = fragment;
+      }
+    }
+    return innermost == null ? null : innermost.component().getInternalKey();
+  }
+
+  /**
+   * Returns whether the container is displayed in the frontend.
+   * If the frontend did not report the state of the container, returns its state when it is rendered.
+   */
+  static boolean isDisplayed(final @Nonnull JtContainer container) {
+    final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
+    checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+    final Boolean reported = getCurrentSession().displayedContainers().get(container.frontendDataContainerField());
+    if (reported != null) {
+      return reported;
+    }
+    // the component that created the container: its key is the last element of the container path - or of the layout path for the containers of a layout
+    JtComponent<?> owner = findIn(currentExecution, container.path().getLast());
+    if (owner == null && container.parent() != null) {
+      owner = findIn(currentExecution, container.parent().path().getLast());
+    }
+    return owner == null || owner.initiallyDisplays(container);
+  }
+
+  /**
+   * Skips the body of a lazy fragment: the components of the fragment are kept from the last execution.
+   * They are sent again if the fragment container was sent again in this execution.
+   */
+  static void skipFragment(final @Nonnull FragmentComponent fragment) {
+    final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
+    checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+    synchronized (currentExecution) {
+      final UsedFragment used = currentExecution.fragments.get(fragment.getInternalKey());
+      checkState(used != null, "Implementation error. Please reach out to support.");
+      currentExecution.fragments.put(fragment.getInternalKey(),
+                                     new UsedFragment(fragment, used.parent(), used.page(), true));
+      final AppExecution lastExecution = LAST_EXECUTIONS.get(currentExecution.sessionId);
+      if (lastExecution == null) {
+        return;
+      }
+      final boolean resend = currentExecution.clearedContainers.contains(fragment.returnValue());
+      final Set<String> registeredInFrontend = SESSIONS.get(currentExecution.sessionId).getRegisteredInFrontend();
+      // insertion order: a container appears after the container of its component
+      for (final Map.Entry<JtContainer, LinkedHashMap<String, JtComponent<?>>> e : lastExecution.containerToComponents.entrySet()) {
+        final JtContainer container = e.getKey();
+        if (!used.contains(container)) {
+          continue;
+        }
+        currentExecution.containerToComponents.put(container, new LinkedHashMap<>(e.getValue()));
+        currentExecution.containerToCurrentIndex.put(container, e.getValue().size());
+        currentExecution.containerToFoundDifference.put(container, true);
+        currentExecution.retainedContainers.add(container);
+        if (resend) {
+          int i = 0;
+          for (final JtComponent<?> component : e.getValue().values()) {
+            final String registrationKey = component.frontendRegistrationKey();
+            currentExecution.renderServer.send(currentExecution.sessionId,
+                                               component.render(),
+                                               registeredInFrontend.contains(registrationKey) ? null : component.register(),
+                                               container,
+                                               i == 0 ? 0 : null,
+                                               i == 0);
+            registeredInFrontend.add(registrationKey);
+            i++;
+          }
+        }
+      }
+      // fragments inside the skipped fragment are kept too
+      lastExecution.fragments.forEach((key, f) -> {
+        if (used.contains(f.parent())) {
+          currentExecution.fragments.put(key, f);
+        }
+      });
+    }
+  }
+
+  /**
+   * Handles the frontend reports of displayed containers, for instance when the user switches tab.
+   * Returns true if a lazy fragment has to be run.
+   */
+  static boolean handleContainerDisplayed(final @Nonnull String sessionId,
+                                          final @Nonnull String containerPath,
+                                          final boolean displayed) {
+    final InternalSessionState session = SESSIONS.get(sessionId);
+    checkState(session != null, "No session with id %s. Implementation error ?", sessionId);
+    session.displayedContainers().put(containerPath, displayed);
+    final AppExecution lastExecution = LAST_EXECUTIONS.get(sessionId);
+    if (!displayed || lastExecution == null) {
+      return false;
+    }
+    final List<String> skipped = lastExecution.fragments.entrySet()
+                                                        .stream()
+                                                        .filter(e -> e.getValue().skipped())
+                                                        .filter(e -> e.getValue().parent().frontendDataContainerField().equals(containerPath))
+                                                        .map(Map.Entry::getKey)
+                                                        .toList();
+    if (skipped.isEmpty()) {
+      return false;
+    }
+    // a single fragment can be run alone - run the whole app if there are multiple fragments in the container
+    session.setFragmentToRerun(skipped.size() == 1 ? skipped.getFirst() : null);
+    return true;
+  }
+
+  /**
+   * Makes the next run of the session a run of the fragment. Returns false if the fragment is not in the last execution.
+   * Used for the automatic refreshes of fragments.
+   */
+  static boolean requestFragmentRun(final @Nonnull String sessionId, final @Nonnull String fragmentKey) {
+    final InternalSessionState session = SESSIONS.get(sessionId);
+    final AppExecution lastExecution = LAST_EXECUTIONS.get(sessionId);
+    if (session == null || lastExecution == null || !lastExecution.fragments.containsKey(fragmentKey)) {
+      return false;
+    }
+    session.setFragmentToRerun(fragmentKey);
+    return true;
+  }
+
+  /**
+   * Same as {@link #requestFragmentRun(String, String)}, but returns false if the fragment was replaced by a more recent run
+   * of the app, even if the replacement has the same key.
+   * Used for async fragments: the result of a superseded fragment is dropped.
+   */
+  static boolean requestFragmentRun(final @Nonnull String sessionId, final @Nonnull FragmentComponent fragment) {
+    final AppExecution lastExecution = LAST_EXECUTIONS.get(sessionId);
+    if (lastExecution == null) {
+      return false;
+    }
+    final UsedFragment used = lastExecution.fragments.get(fragment.getInternalKey());
+    return used != null && used.component() == fragment && requestFragmentRun(sessionId, fragment.getInternalKey());
+  }
+
+  /**
+   * Returns a callback that runs the fragment in the session of the current execution. The callback can be called from any thread.
+   */
+  static @Nonnull Runnable fragmentRunner(final @Nonnull FragmentComponent fragment) {
+    final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
+    checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+    final String sessionId = currentExecution.sessionId;
+    final RenderServer renderServer = currentExecution.renderServer;
+    return () -> renderServer.runFragment(sessionId, fragment);
+  }
+
+  /**
+   * Returns the fragment to run instead of the app, or null if the whole app should be run.
+   * Must be called after beginExecution.
+   */
+  static @Nullable FragmentComponent fragmentToRun() {
+    final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
+    checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+    return optional(currentExecution.fragmentRun).map(UsedFragment::component).orElse(null);
+  }
+
+  /**
+   * Handles frontend requests for a component of the last execution. Requests never trigger a re-run.
+   */
+  static @Nullable Object handleComponentRequest(final String sessionId,
+                                                 final String componentKey,
+                                                 final @Nullable Object payload) {
+    final AppExecution lastExecution = LAST_EXECUTIONS.get(sessionId);
+    checkState(lastExecution != null,
+               "Received a request from session %s but there wasn't any previous run in this session. Try to refresh the page.",
+               sessionId);
+    final JtComponent<?> component = findIn(lastExecution, componentKey);
+    checkState(component != null,
+               "Received request for unknown component %s. Try to refresh the page.",
+               componentKey);
+    return component.handleFrontendRequest(payload);
+  }
+
+  static @Nonnull JtComponent.FrontendChannel frontendChannel(final @Nonnull String componentKey) {
+    final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
+    checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+    return new PushChannel(currentExecution.sessionId, componentKey, currentExecution.renderServer);
+  }
+
+  /**
+   * Replaces a component of the current execution without sending anything to the frontend.
+   * The replacement takes the position of the component: the next execution is diffed against the replacement.
+   */
+  static void replaceComponent(final @Nonnull JtComponent<?> component, final @Nonnull JtComponent<?> replacement) {
+    final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
+    checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+    synchronized (currentExecution) {
+      for (final Map.Entry<JtContainer, LinkedHashMap<String, JtComponent<?>>> e : currentExecution.containerToComponents.entrySet()) {
+        if (e.getValue().get(component.getInternalKey()) == component) {
+          final LinkedHashMap<String, JtComponent<?>> replaced = new LinkedHashMap<>();
+          e.getValue().forEach((key, c) -> {
+            if (c == component) {
+              replaced.put(replacement.getInternalKey(), replacement);
+            } else {
+              replaced.put(key, c);
+            }
+          });
+          e.setValue(replaced);
+          return;
+        }
+      }
+      throw new IllegalStateException("Component %s is not in the current execution. Please reach out to support.".formatted(
+          component.getInternalKey()));
+    }
+  }
+
   static boolean isLastFrontendUpdate(final @Nonnull String componentKey) {
     final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
     checkState(currentExecution != null, "No active execution context.");
@@ -283,6 +678,19 @@ final class StateManager {
     SESSIONS.get(sessionId).setCallbackComponentKey(componentKey);
   }
 
+  static int componentCountInCurrentRun(final @Nonnull JtContainer container) {
+    final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
+    checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+    synchronized (currentExecution) {
+      final LinkedHashMap<String, JtComponent<?>> components = currentExecution.containerToComponents.get(container);
+      return components == null ? 0 : components.size();
+    }
+  }
+
+  static boolean isInAppRun() {
+    return CURRENT_EXECUTION_IN_THREAD.get() != null;
+  }
+
   static @Nonnull String registerMedia(final MediaEntry mediaEntry) {
     final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
     checkState(currentExecution != null, "No active execution context. Please reach out to support.");
@@ -307,6 +715,17 @@ final class StateManager {
     return sessionState.getMedia().get(hash);
   }
 
+  // bytes of the media held by all sessions
+  static long mediaStoreBytes() {
+    long bytes = 0;
+    for (final InternalSessionState sessionState : SESSIONS.values()) {
+      for (final MediaEntry media : sessionState.getMedia().values()) {
+        bytes += media.bytes().length;
+      }
+    }
+    return bytes;
+  }
+
   /**
    * Usage:
    * - beginExecution
@@ -318,8 +737,12 @@ final class StateManager {
     checkState(CURRENT_EXECUTION_IN_THREAD.get() == null,
                "Attempting to get a context without having removed the previous one. Application is in a bad state. Please reach out to support.");
     final AppExecution execution = new AppExecution(sessionId, renderServer);
+    execution.runEvent.begin();
     CURRENT_EXECUTION_IN_THREAD.set(execution);
-    execution.renderServer.sendStatus(sessionId, ExecutionStatus.BEGIN, null);
+    execution.renderServer.sendStatus(sessionId, ExecutionStatus.BEGIN, null, null);
+    if (isDeveloperSession(sessionId)) {
+      execution.profile = new RunProfile();
+    }
 
     final InternalSessionState internalSessionState = SESSIONS.computeIfAbsent(sessionId,
                                                                                k -> new InternalSessionState());
@@ -327,6 +750,28 @@ final class StateManager {
     // clean-up media - does not happen in endExecution because media need to be available between executions
     internalSessionState.getMedia().clear();
 
+    // fragment run - the components outside the fragment are kept as is and are not diffed
+    final String fragmentKey = internalSessionState.getFragmentToRerun();
+    internalSessionState.setFragmentToRerun(null);
+    final AppExecution lastExecution = LAST_EXECUTIONS.get(sessionId);
+    if (fragmentKey != null && lastExecution != null && lastExecution.fragments.containsKey(fragmentKey)) {
+      final UsedFragment fragment = lastExecution.fragments.get(fragmentKey);
+      execution.fragmentRun = fragment;
+      execution.executionPage = fragment.page();
+      lastExecution.containerToComponents.forEach((container, components) -> {
+        if (!fragment.contains(container)) {
+          execution.containerToComponents.put(container, new LinkedHashMap<>(components));
+        }
+      });
+      // fragments inside the fragment are registered again when the fragment runs
+      lastExecution.fragments.forEach((key, f) -> {
+        if (!fragment.contains(f.parent())) {
+          execution.fragments.put(key, f);
+        }
+      });
+      execution.fragments.put(fragmentKey, new UsedFragment(fragment.component(), fragment.parent(), fragment.page(), false));
+    }
+
     // run callback before everything else
     final String callbackComponentKey = internalSessionState.getCallbackComponentKey();
     if (callbackComponentKey != null) {
@@ -341,7 +786,11 @@ final class StateManager {
         LOG.warn("Failed to run callback method. Component with key {} not found. " + "To ensure the key of a component is not changed when the component is edited or mutated, pass a key parameter. " + "This issue is caused by the hot reload and will not happen when the app is deployed, so you may ignore this warning.",
                  callbackComponentKey);
       } else {
+        final long callbackStart = System.nanoTime();
         jtComponent.executeCallback();
+        if (execution.profile != null) {
+          execution.profile.recordCallback(System.nanoTime() - callbackStart);
+        }
       }
     }
   }
@@ -356,6 +805,50 @@ final class StateManager {
   static void addComponent(final @Nonnull JtComponent<?> component, final @Nonnull JtContainer container) {
     final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
     checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+    // components can be added by threads bound with bindCurrentExecution
+    synchronized (currentExecution) {
+      checkState(!currentExecution.ended,
+                 "Cannot add the component %s: the app run has ended. Wait for the completion of the tasks using Jt methods before the end of the app.",
+                 component.getInternalKey());
+      checkOrderedWrite(currentExecution, container);
+      addComponent(currentExecution, component, container);
+    }
+  }
+
+  // the order of the components of a container must be the same in every run - see bindCurrentExecution
+  private static void checkOrderedWrite(final @Nonnull AppExecution currentExecution,
+                                        final @Nonnull JtContainer container) {
+    final Writer writer = optional(CURRENT_WRITER_IN_THREAD.get()).orElse(currentExecution.appThreadWriter);
+    final long now = currentExecution.clock.incrementAndGet();
+    final ContainerWrite last = currentExecution.lastWrites.get(container);
+    checkArgument(last == null
+                  || last.writer() == writer
+                  || last.at() < writer.boundAt
+                  || last.writer().endedAt < now,
+                  "Cannot add a component to the container %s: another thread is adding components to it. The order of the components would change between runs. Add the components of each task to a distinct container.",
+                  container);
+    currentExecution.lastWrites.put(container, new ContainerWrite(writer, now));
+  }
+
+  // in append-only containers, the internal key of a component without user key is a hash of its content:
+  // comparing the keys avoids rendering the components that are already displayed.
+  // Components with a handle are updated after their creation - their key does not represent what is displayed
+  private static boolean comparedByKey(final @Nonnull JtContainer container, final @Nonnull JtComponent<?> component) {
+    return container.isAppendOnly()
+           && component.getUserKey() == null
+           && !component.returnValueIsAState()
+           && !(component.returnValue() instanceof JtHandle);
+  }
+
+  private static void addComponent(final @Nonnull AppExecution currentExecution,
+                                   final @Nonnull JtComponent<?> component,
+                                   final @Nonnull JtContainer container) {
+    final RunProfile profile = currentExecution.profile;
+    final long scriptNanos = profile == null ? 0 : profile.scriptNanos(System.nanoTime());
+    checkArgument(currentExecution.fragmentRun == null || currentExecution.fragmentRun.contains(container),
+                  "Cannot add a component to the container %s from the fragment %s. The components of a fragment must be added to the fragment container or to its children.",
+                  container,
+                  optional(currentExecution.fragmentRun).map(f -> f.component().returnValue()).orElse(null));
 
     if (component.requiresUniqueKey()) {
       if (currentExecution.containerToComponents
@@ -385,6 +878,10 @@ final class StateManager {
       componentsMap.clear();
     }
     componentsMap.put(component.getInternalKey(), component);
+    if (component instanceof FragmentComponent fragment) {
+      currentExecution.fragments.put(fragment.getInternalKey(),
+                                     new UsedFragment(fragment, container, currentExecution.executionPage, false));
+    }
 
     // Restore state from session if available
     final InternalSessionState session = getCurrentSession();
@@ -412,6 +909,7 @@ final class StateManager {
     // Point-of-difference streaming logic
     final AppExecution lastExecution = LAST_EXECUTIONS.get(currentExecution.sessionId);
     boolean clearBefore = false;
+    long equalsNanos = 0;
 
     currentExecution.containerToCurrentIndex.putIfAbsent(container, 0);
     currentExecution.containerToFoundDifference.putIfAbsent(container, false);
@@ -437,14 +935,22 @@ final class StateManager {
         .size();
     if (lookForDifference) {
       // Get previous component at the same position
-      final JtComponent<?>[] previousComponents = lastExecution.containerToComponents.get(
-                                                                   container).values()
-                                                                                     .toArray(new JtComponent<?>[0]);
+      final JtComponent<?>[] previousComponents = currentExecution.previousComponents.computeIfAbsent(
+          container,
+          c -> lastExecution.containerToComponents.get(c).values().toArray(new JtComponent<?>[0]));
       final JtComponent<?> previousAtIndex = previousComponents[currentExecution.containerToCurrentIndex.get(
           container)];
-      if (previousAtIndex.contentEquals(component)) {
+      final long equalsStart = profile == null ? 0 : System.nanoTime();
+      final boolean unchanged = comparedByKey(container, component) ?
+          previousAtIndex.getInternalKey().equals(component.getInternalKey()) :
+          previousAtIndex.contentEquals(component);
+      equalsNanos = profile == null ? 0 : System.nanoTime() - equalsStart;
+      if (unchanged) {
         // skip sending - increment index by 1 for container
         currentExecution.containerToCurrentIndex.merge(container, 1, Integer::sum);
+        if (profile != null) {
+          profile.recordBlock(component, container, scriptNanos, equalsNanos, 0, RunProfile.BlockStatus.UNCHANGED);
+        }
         return;
       } else {
         // Found difference! tell the frontend to clear from this point before adding the component
@@ -457,11 +963,13 @@ final class StateManager {
     // send the component with clear instruction if needed
     final Set<String> registeredInFrontend = session.getRegisteredInFrontend();
     final String frontendRegistrationKey = component.frontendRegistrationKey();
+    final long renderStart = profile == null ? 0 : System.nanoTime();
+    final String renderHtml = component.render();
+    final String registrationHtml = registeredInFrontend.contains(frontendRegistrationKey) ? null : component.register();
+    final long renderNanos = profile == null ? 0 : System.nanoTime() - renderStart;
     currentExecution.renderServer.send(currentExecution.sessionId,
-                                       component.render(),
-                                       registeredInFrontend.contains(frontendRegistrationKey) ?
-                                           null :
-                                           component.register(),
+                                       renderHtml,
+                                       registrationHtml,
                                        container,
                                        // not necessary to pass the index if a difference has been found and the clear message has been sent already
                                        currentExecution.containerToFoundDifference.get(container) && !clearBefore ?
@@ -471,6 +979,15 @@ final class StateManager {
                                        clearBefore);
     // assume that if send does not throw, the message was well received by the frontend and the component was registered properly
     registeredInFrontend.add(frontendRegistrationKey);
+    // the containers of the component are rendered again in their initial state - eg the first tab is active
+    if (!session.displayedContainers().isEmpty()) {
+      if (component.returnValue() instanceof JtContainer c) {
+        session.displayedContainers().remove(c.frontendDataContainerField());
+      } else if (component.returnValue() instanceof JtLayout layout) {
+        final String layoutPrefix = layout.layoutContainer().frontendDataContainerField() + ",";
+        session.displayedContainers().keySet().removeIf(path -> path.startsWith(layoutPrefix));
+      }
+    }
     currentExecution.containerToCurrentIndex.merge(container, 1, Integer::sum);
     if (component.returnValue() instanceof JtContainer) {
       currentExecution.clearedContainers.add((JtContainer) component.returnValue());
@@ -479,6 +996,17 @@ final class StateManager {
     if (component.returnValue() instanceof JtLayout) {
       currentExecution.clearedLayoutContainers.add(((JtLayout) component.returnValue()).layoutContainer());
     }
+    if (profile != null) {
+      final JtComponent<?> previous = lastExecution == null ?
+          null :
+          optional(lastExecution.containerToComponents.get(container))
+              .map(components -> components.get(component.getInternalKey()))
+              .orElse(null);
+      final RunProfile.BlockStatus status = previous != null && previous.contentEquals(component) ?
+          RunProfile.BlockStatus.RESENT_UNCHANGED :
+          RunProfile.BlockStatus.SENT;
+      profile.recordBlock(component, container, scriptNanos, equalsNanos, renderNanos, status);
+    }
   }
 
   /**
@@ -492,6 +1020,10 @@ final class StateManager {
     try {
       final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
       checkState(currentExecution != null, "No active execution context. Please reach out to support.");
+      synchronized (currentExecution) {
+        // waits for the components being added by bound threads
+        currentExecution.ended = true;
+      }
       final AppExecution previousExecution = LAST_EXECUTIONS.get(currentExecution.sessionId);
       // empty containers that did not appear in the current execution
       // clean up the end of containers that had their number of components decrease - can happen if no clear is triggered, eg if only a statement is removed
@@ -520,6 +1052,11 @@ final class StateManager {
       final InternalSessionState session = SESSIONS.get(currentExecution.sessionId);
       for (final Map.Entry<JtContainer, LinkedHashMap<String, JtComponent<?>>> e : currentExecution.containerToComponents.entrySet()) {
         final JtContainer container = e.getKey();
+        if ((currentExecution.fragmentRun != null && !currentExecution.fragmentRun.contains(container))
+            || currentExecution.retainedContainers.contains(container)) {
+          // not run - the states of these components may have been changed by the code that ran
+          continue;
+        }
         final LinkedHashMap<String, JtComponent<?>> currentComponents = e.getValue();
         // reset and save components state
         for (final Map.Entry<String, JtComponent<?>> entry : currentComponents.entrySet()) {
@@ -577,10 +1114,29 @@ final class StateManager {
         }
       }
 
+      if (previousExecution != null) {
+        // async fragments replaced or removed by this execution - their results would be dropped
+        previousExecution.fragments.forEach((key, fragment) -> {
+          final UsedFragment current = currentExecution.fragments.get(key);
+          if (current == null || current.component() != fragment.component()) {
+            fragment.component().cancelAsync();
+          }
+        });
+      }
+
       LAST_EXECUTIONS.put(currentExecution.sessionId, currentExecution);
+      final Map<String, Duration> refreshPeriods = new HashMap<>();
+      currentExecution.fragments.forEach((key, fragment) -> {
+        if (fragment.component().runEvery() != null) {
+          refreshPeriods.put(key, fragment.component().runEvery());
+        }
+      });
+      currentExecution.renderServer.scheduleFragmentRuns(currentExecution.sessionId, refreshPeriods);
       currentExecution.renderServer.sendStatus(currentExecution.sessionId,
                                                ExecutionStatus.END,
-                                               currentExecution.unusedComponents);
+                                               currentExecution.unusedComponents,
+                                               optional(currentExecution.profile).map(RunProfile::toMessage).orElse(null));
+      commitRunEvent(currentExecution, session);
     } catch (Exception e) {
       LOG.error(
           "Failed to end execution properly. A reload of the app may be necessary. If this happens multiple times, please reach out to support.",
@@ -590,6 +1146,21 @@ final class StateManager {
     }
   }
 
+  private static void commitRunEvent(final @Nonnull AppExecution execution, final @Nullable InternalSessionState session) {
+    final JfrEvents.AppRun event = execution.runEvent;
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.sessionId = execution.sessionId;
+    event.pagePath = optional(session).map(InternalSessionState::getUrlContext).map(UrlContext::currentPath).orElse(null);
+    int componentCount = 0;
+    for (final Map<String, JtComponent<?>> components : execution.containerToComponents.values()) {
+      componentCount += components.size();
+    }
+    event.componentCount = componentCount;
+    event.commit();
+  }
+
   static void setUrlContext(final @Nonnull String sessionId,
                             final @Nonnull UrlContext urlContext) {
     final InternalSessionState session = SESSIONS.computeIfAbsent(sessionId, k -> new InternalSessionState());
@@ -614,14 +1185,16 @@ final class StateManager {
 
   static @Nullable NavigationComponent getNavigationComponent() {
     final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
-    return (NavigationComponent) findIn(currentExecution, JtComponent.UNIQUE_NAVIGATION_COMPONENT_KEY);
+    synchronized (currentExecution) {
+      return (NavigationComponent) findIn(currentExecution, JtComponent.UNIQUE_NAVIGATION_COMPONENT_KEY);
+    }
 
   }
 
   static void recordComponentInstantiation(final @Nonnull String componentName) {
     final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
     if (currentExecution != null) {
-      currentExecution.unusedComponents.compute(componentName, (k, v) -> v == null ? 1 : v + 1);
+      currentExecution.unusedComponents.merge(componentName, 1, Integer::sum);
     } else {
       // we need to support out-of-execution case for Nb
       // just do nothing, the record thing is a nice to have to tell users in dev mode they are not
@@ -632,12 +1205,8 @@ final class StateManager {
   // see recordComponentInstantiation
   static void recordComponentUsed(final @Nonnull String componentName) {
     final AppExecution currentExecution = CURRENT_EXECUTION_IN_THREAD.get();
-    if (currentExecution != null && currentExecution.unusedComponents.containsKey(componentName)) {
-      if (currentExecution.unusedComponents.get(componentName) == 1) {
-        currentExecution.unusedComponents.remove(componentName);
-      } else {
-        currentExecution.unusedComponents.compute(componentName, (k, v) -> v - 1);
-      }
+    if (currentExecution != null) {
+      currentExecution.unusedComponents.computeIfPresent(componentName, (k, v) -> v == 1 ? null : v - 1);
     }
   }
 
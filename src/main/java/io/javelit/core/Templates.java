@@ -0,0 +1,226 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheException;
+import com.github.mustachejava.ObjectHandler;
+import com.github.mustachejava.reflect.Guard;
+import com.github.mustachejava.reflect.ReflectionObjectHandler;
+import com.github.mustachejava.reflect.ReflectionWrapper;
+import com.github.mustachejava.util.GuardException;
+import com.github.mustachejava.util.Wrapper;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Compiles and renders the component templates.
+ * Compared to a plain {@link DefaultMustacheFactory}:
+ * <ul>
+ *     <li>templates are compiled once by a factory shared by all components</li>
+ *     <li>fields and getters used by the templates are read with method handles resolved once per template tag,
+ *     instead of a reflective call at each rendering</li>
+ *     <li>templates are written in a reusable per-thread buffer, instead of a new synchronized {@link java.io.StringWriter}</li>
+ * </ul>
+ * Rendering is on the hot path of every run: each used component is rendered to be compared with the previous run.
+ */
+final class Templates {
+
+  // buffers that grew larger than this are not kept for the next rendering
+  private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+
+  private static final DefaultMustacheFactory FACTORY = newFactory(false);
+  // for templates that call methods on maps, for instance {{#myMap.entrySet}}
+  private static final DefaultMustacheFactory MAP_METHODS_FACTORY = newFactory(true);
+
+  private static final ThreadLocal<BufferWriter> BUFFER = ThreadLocal.withInitial(BufferWriter::new);
+
+  private Templates() {
+  }
+
+  private static DefaultMustacheFactory newFactory(final boolean mapMethodsAccessible) {
+    final DefaultMustacheFactory factory = new DefaultMustacheFactory();
+    factory.setObjectHandler(new MethodHandleObjectHandler(mapMethodsAccessible));
+    return factory;
+  }
+
+  static @Nonnull Mustache compile(final @Nonnull String templatePath, final boolean mapMethodsAccessible) {
+    return (mapMethodsAccessible ? MAP_METHODS_FACTORY : FACTORY).compile(templatePath);
+  }
+
+  static @Nonnull String render(final @Nonnull Mustache template, final @Nullable Object scope) {
+    BufferWriter writer = BUFFER.get();
+    if (writer.inUse) {
+      // a template rendering another template - use a separate buffer
+      writer = new BufferWriter();
+    }
+    writer.inUse = true;
+    try {
+      template.execute(writer, scope);
+      return writer.builder.toString();
+    } finally {
+      writer.reset();
+    }
+  }
+
+  // unsynchronized Writer on a StringBuilder
+  private static final class BufferWriter extends Writer {
+    private StringBuilder builder = new StringBuilder(INITIAL_BUFFER_SIZE);
+    private boolean inUse;
+
+    @Override
+    public void write(final int c) {
+      builder.append((char) c);
+    }
+
+    @Override
+    public void write(final @Nonnull char[] cbuf, final int off, final int len) {
+      builder.append(cbuf, off, len);
+    }
+
+    @Override
+    public void write(final @Nonnull String str) {
+      builder.append(str);
+    }
+
+    @Override
+    public void write(final @Nonnull String str, final int off, final int len) {
+      builder.append(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) {
+      builder.append(csq);
+      return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void reset() {
+      inUse = false;
+      if (builder.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+        builder = new StringBuilder(INITIAL_BUFFER_SIZE);
+      } else {
+        builder.setLength(0);
+      }
+    }
+  }
+
+  // same lookup rules as the default handler - only the access to the field or getter is replaced
+  private static final class MethodHandleObjectHandler extends ReflectionObjectHandler {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final boolean mapMethodsAccessible;
+
+    private MethodHandleObjectHandler(final boolean mapMethodsAccessible) {
+      this.mapMethodsAccessible = mapMethodsAccessible;
+    }
+
+    @Override
+    protected boolean areMethodsAccessible(final Map<?, ?> map) {
+      return mapMethodsAccessible;
+    }
+
+    @Override
+    protected Wrapper createWrapper(final int scopeIndex,
+                                    final Wrapper[] wrappers,
+                                    final List<? extends Guard> guards,
+                                    final AccessibleObject member,
+                                    final Object[] arguments) {
+      final MethodHandle getter = getterOf(member, arguments);
+      if (getter == null) {
+        return super.createWrapper(scopeIndex, wrappers, guards, member, arguments);
+      }
+      return new MethodHandleWrapper(scopeIndex,
+                                     wrappers,
+                                     guards.toArray(Guard[]::new),
+                                     member,
+                                     arguments,
+                                     this,
+                                     getter);
+    }
+
+    // returns null for members that are not a simple instance getter or field - they use the default reflective call
+    private static @Nullable MethodHandle getterOf(final AccessibleObject member, final @Nullable Object[] arguments) {
+      try {
+        if (member instanceof Method method
+            && method.getParameterCount() == 0
+            && (arguments == null || arguments.length == 0)
+            && !Modifier.isStatic(method.getModifiers())) {
+          method.trySetAccessible();
+          return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+        }
+        if (member instanceof Field field && !Modifier.isStatic(field.getModifiers())) {
+          field.trySetAccessible();
+          return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        }
+      } catch (IllegalAccessException e) {
+        // not accessible with a method handle - fallback to reflection
+      }
+      return null;
+    }
+  }
+
+  private static final class MethodHandleWrapper extends ReflectionWrapper {
+    private final MethodHandle getter;
+
+    private MethodHandleWrapper(final int scopeIndex,
+                                final Wrapper[] wrappers,
+                                final Guard[] guards,
+                                final AccessibleObject member,
+                                final Object[] arguments,
+                                final ObjectHandler oh,
+                                final MethodHandle getter) {
+      super(scopeIndex, wrappers, guards, member, arguments, oh);
+      this.getter = getter;
+    }
+
+    @Override
+    public Object call(final List<Object> scopes) throws GuardException {
+      guardCall(scopes);
+      final Object scope = oh.coerce(unwrap(scopes));
+      if (scope == null) {
+        return null;
+      }
+      try {
+        return (Object) getter.invokeExact(scope);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new MustacheException("Error accessing " + (method != null ? method : field) + " on " + scope, t);
+      }
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the path_update, component_update and form_submit messages received from the browsers, one json object per line.
+ * A record contains an anonymous session number, the time since the first message of the session in milliseconds,
+ * the message, and the duration of the app run it triggered, if any.
+ * <p>
+ * Records are anonymized: session ids are replaced by a number. In values and query parameters, digits of strings
+ * are replaced by {@code 0} and all the other characters that are not punctuation or whitespace by {@code x}.
+ * Numbers are replaced by {@code 0} and map keys are anonymized like strings. Only booleans and the structure of the
+ * values are kept. The component keys of the messages, including the keys of the values of a form submit, are
+ * generated by the app and are kept so that the messages can be replayed.
+ */
+final class TrafficRecorder implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TrafficRecorder.class);
+
+  private final @Nonnull Path file;
+  private final @Nonnull BufferedWriter writer;
+  private final AtomicInteger sessionCounter = new AtomicInteger();
+  private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
+
+  private record SessionInfo(int number, long startNanos) {
+  }
+
+  TrafficRecorder(final @Nonnull Path file) {
+    this.file = file;
+    try {
+      this.writer = Files.newBufferedWriter(file,
+                                            StandardCharsets.UTF_8,
+                                            StandardOpenOption.CREATE,
+                                            StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to open the traffic recording file " + file, e);
+    }
+    LOG.info("Recording anonymized session traffic in {}", file);
+  }
+
+  /**
+   * @param receivedNanos the {@link System#nanoTime()} when the message was received
+   * @param runNanos      the duration of the app run triggered by the message, or null if the app was not run
+   */
+  void record(final @Nonnull String sessionId,
+              final @Nonnull String type,
+              final @Nullable String componentKey,
+              final @Nullable Object value,
+              final @Nullable String path,
+              final @Nullable Map<String, List<String>> queryParameters,
+              final long receivedNanos,
+              final @Nullable Long runNanos) {
+    if (!"path_update".equals(type) && !"component_update".equals(type) && !"form_submit".equals(type)) {
+      return;
+    }
+    final SessionInfo session = sessions.computeIfAbsent(sessionId,
+                                                         k -> new SessionInfo(sessionCounter.incrementAndGet(),
+                                                                              receivedNanos));
+    final Map<String, Object> line = new LinkedHashMap<>();
+    line.put("session", session.number());
+    line.put("t", (receivedNanos - session.startNanos()) / 1_000_000);
+    line.put("type", type);
+    if (componentKey != null) {
+      line.put("componentKey", componentKey);
+      if ("form_submit".equals(type) && value instanceof Map<?, ?> formValues) {
+        // the keys of a form submit are component keys
+        final Map<Object, Object> anonymized = new LinkedHashMap<>();
+        formValues.forEach((k, v) -> anonymized.put(k, anonymize(v)));
+        line.put("value", anonymized);
+      } else {
+        line.put("value", anonymize(value));
+      }
+    }
+    if (path != null) {
+      line.put("path", path);
+      line.put("queryParameters", anonymize(queryParameters));
+    }
+    if (runNanos != null) {
+      line.put("runMs", runNanos / 1e6);
+    }
+    try {
+      final String json = Shared.OBJECT_MAPPER.writeValueAsString(line);
+      synchronized (writer) {
+        writer.write(json);
+        writer.newLine();
+        writer.flush();
+      }
+    } catch (IOException e) {
+      LOG.error("Failed to record session traffic in {}", file, e);
+    }
+  }
+
+  void forgetSession(final @Nonnull String sessionId) {
+    sessions.remove(sessionId);
+  }
+
+  @Override
+  public void close() {
+    synchronized (writer) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        LOG.error("Failed to close the traffic recording file {}", file, e);
+      }
+    }
+  }
+
+  static @Nullable Object anonymize(final @Nullable Object value) {
+    if (value instanceof String s) {
+      final StringBuilder sb = new StringBuilder(s.length());
+      s.codePoints().forEach(c -> sb.append(anonymize(c)));
+      return sb.toString();
+    }
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      return 0;
+    }
+    if (value instanceof Number) {
+      return 0.0;
+    }
+    if (value instanceof List<?> list) {
+      return list.stream().map(TrafficRecorder::anonymize).toList();
+    }
+    if (value instanceof Map<?, ?> map) {
+      final Map<Object, Object> anonymized = new LinkedHashMap<>();
+      map.forEach((k, v) -> anonymized.put(anonymize(k), anonymize(v)));
+      return anonymized;
+    }
+    return value;
+  }
+
+  private static char anonymize(final int codePoint) {
+    if (Character.isDigit(codePoint)) {
+      return '0';
+    }
+    if (Character.isWhitespace(codePoint) || isPunctuation(codePoint)) {
+      return (char) codePoint;
+    }
+    return 'x';
+  }
+
+  private static boolean isPunctuation(final int codePoint) {
+    return switch (Character.getType(codePoint)) {
+      case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+           Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION, Character.FINAL_QUOTE_PUNCTUATION,
+           Character.OTHER_PUNCTUATION -> true;
+      default -> false;
+    };
+  }
+}
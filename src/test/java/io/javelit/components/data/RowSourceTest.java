@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RowSourceTest {
+
+  @Test
+  void testCsvSource(@TempDir final Path tempDir) throws Exception {
+    final Path csv = tempDir.resolve("data.csv");
+    final StringBuilder content = new StringBuilder("id,name,score\n");
+    // a quoted field with a line break and an escaped quote
+    content.append("0,\"multi\nline \"\"quoted\"\"\",0.5\n");
+    for (int i = 1; i < 1000; i++) {
+      content.append(i).append(",name ").append(i).append(',').append(i * 0.5).append('\n');
+    }
+    Files.writeString(csv, content.toString());
+
+    final CsvRowSource source = CsvRowSource.of(csv);
+    assertThat(source.columns()).containsExactly("id", "name", "score");
+    assertThat(source.awaitRowCount(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(source.rowCount()).isEqualTo(1000);
+    assertThat(source.rowCountComplete()).isTrue();
+
+    assertThat(source.rows(0, 1)[0]).containsExactly(0L, "multi\nline \"quoted\"", 0.5);
+    // after several checkpoints
+    assertThat(source.rows(700, 702)).containsExactly(new Object[]{700L, "name 700", 350.0},
+                                                      new Object[]{701L, "name 701", 350.5});
+    assertThat(source.rows(998, 1010)).hasSize(2);
+    // unchanged files reuse the index
+    assertThat(CsvRowSource.of(csv)).isSameAs(source);
+  }
+
+  @Test
+  void testCsvColumnTypes(@TempDir final Path tempDir) throws Exception {
+    final Path csv = tempDir.resolve("types.csv");
+    Files.writeString(csv, """
+        zip,amount,count,code
+        01234,1,0,A1
+        75001,2.5,,2
+        """);
+
+    final CsvRowSource source = CsvRowSource.of(csv);
+    // leading zeros are kept, types are the same for all the values of a column
+    assertThat(source.rows(0, 2)).containsExactly(new Object[]{"01234", 1.0, 0L, "A1"},
+                                                  new Object[]{"75001", 2.5, null, "2"});
+  }
+
+  @Test
+  void testIteratorSource() throws Exception {
+    final AtomicInteger opened = new AtomicInteger();
+    final AtomicInteger closed = new AtomicInteger();
+    final Supplier<Stream<Map<String, Integer>>> streamSupplier = () -> {
+      opened.incrementAndGet();
+      return IntStream.range(0, 5000).mapToObj(i -> Map.of("id", i)).onClose(closed::incrementAndGet);
+    };
+    final IteratorRowSource source = IteratorRowSource.of(streamSupplier);
+    assertThat(source.columns()).containsExactly("id");
+    assertThat(source.awaitRowCount(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(source.rowCount()).isEqualTo(5000);
+    assertThat(source.rows(4998, 5005)).containsExactly(new Object[]{4998}, new Object[]{4999});
+    // the streams are closed after each read
+    assertThat(closed.get()).isEqualTo(opened.get());
+    // a re-run with the same data reuses the source and its row count
+    assertThat(IteratorRowSource.of(streamSupplier)).isSameAs(source);
+  }
+
+  @Test
+  void testResultSetSource() throws Exception {
+    try (final Connection connection = DriverManager.getConnection("jdbc:h2:mem:rowsource;DB_CLOSE_DELAY=-1")) {
+      try (final Statement statement = connection.createStatement()) {
+        statement.execute("CREATE TABLE people AS SELECT X AS ID, 'person ' || X AS NAME FROM SYSTEM_RANGE(1, 3000)");
+      }
+      // the rows of a forward-only ResultSet are counted while pages are read
+      final String query = "SELECT ID, NAME FROM people ORDER BY ID";
+      final ResultSetRowSource forwardOnly = ResultSetRowSource.of(() -> connection.createStatement().executeQuery(query));
+      assertThat(forwardOnly.columns()).containsExactly("ID", "NAME");
+      assertThat(forwardOnly.rowCount()).isEqualTo(TableComponent.FIRST_PAGE_SIZE + ResultSetRowSource.LOOKAHEAD);
+      assertThat(forwardOnly.rowCountComplete()).isFalse();
+      // not counted in the background - the browser must not poll the row count
+      assertThat(forwardOnly.rowCountInProgress()).isFalse();
+      assertThat(forwardOnly.rows(0, 1)[0]).containsExactly(1L, "person 1");
+      assertThat(forwardOnly.rows(2500, 2502)).containsExactly(new Object[]{2501L, "person 2501"},
+                                                               new Object[]{2502L, "person 2502"});
+      assertThat(forwardOnly.rowCount()).isEqualTo(3000);
+      assertThat(forwardOnly.rowCountComplete()).isTrue();
+
+      // the rows of a scrollable ResultSet are counted at once
+      final String descQuery = "SELECT ID, NAME FROM people ORDER BY ID DESC";
+      final ResultSetRowSource scrollable = ResultSetRowSource.of(
+          () -> connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY).executeQuery(descQuery));
+      assertThat(scrollable.rowCount()).isEqualTo(3000);
+      assertThat(scrollable.rowCountComplete()).isTrue();
+      assertThat(scrollable.rows(2500, 2502)).containsExactly(new Object[]{500L, "person 500"},
+                                                              new Object[]{499L, "person 499"});
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import org.junit.jupiter.api.Test;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.Table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TableColumnTest {
+
+  @Test
+  void testFloatsAreWidenedFromTheirDecimalValue() {
+    final TableColumn column = TableColumn.of(new Object[]{0.1f, 1.5d, null});
+    assertThat(column).isInstanceOf(TableColumn.DoubleColumn.class);
+    assertThat(column.get(0)).isEqualTo(0.1);
+    assertThat(column.get(1)).isEqualTo(1.5);
+    assertThat(column.get(2)).isNull();
+  }
+
+  @Test
+  void testTablesawFloatsAreWidenedFromTheirDecimalValue() {
+    final FloatColumn floats = FloatColumn.create("f", 0.1f, 2.5f);
+    floats.appendMissing();
+    final TableColumn column = TablesawColumns.of(Table.create("t", floats)).get("f");
+    assertThat(column).isInstanceOf(TableColumn.DoubleColumn.class);
+    assertThat(column.get(0)).isEqualTo(0.1);
+    assertThat(column.get(1)).isEqualTo(2.5);
+    assertThat(column.get(2)).isNull();
+  }
+}
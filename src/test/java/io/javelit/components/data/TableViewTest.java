@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.components.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TableViewTest {
+
+  // name, city, age, score
+  private static TableView people() {
+    return new TableView(List.of("name", "city", "age", "score"),
+                         new TableColumn[]{
+                             TableColumn.of(new Object[]{"Ada", "Alan", "Grace", "Linus", "Barbara"}),
+                             TableColumn.of(new Object[]{"London", "London", null, "Helsinki", "Boston"}),
+                             TableColumn.of(new Object[]{36, 41, null, 54, 41}),
+                             TableColumn.of(new Object[]{1.5, 2.5, 3.0, null, 4.0})},
+                         null);
+  }
+
+  private static List<Object> column(final TableView view, final int column) {
+    final List<Object> res = new ArrayList<>();
+    for (int i = 0; i < view.rowCount(); i++) {
+      res.add(view.get(column, i));
+    }
+    return res;
+  }
+
+  @Test
+  void testSortKeepsNullsLast() {
+    final TableView view = people();
+    assertThat(column(view.sort(2, false), 2)).containsExactly(36, 41, 41, 54, null);
+    assertThat(column(view.sort(2, true), 2)).containsExactly(54, 41, 41, 36, null);
+    assertThat(column(view.sort(3, true), 3)).containsExactly(4.0, 3.0, 2.5, 1.5, null);
+  }
+
+  @Test
+  void testSortIsStable() {
+    final TableView view = people();
+    assertThat(column(view.sort(2, false), 0)).containsExactly("Ada", "Alan", "Barbara", "Linus", "Grace");
+    assertThat(column(view.sort(2, true), 0)).containsExactly("Linus", "Alan", "Barbara", "Ada", "Grace");
+  }
+
+  @Test
+  void testSortStringsByValue() {
+    final TableView view = people();
+    assertThat(column(view.sort(1, false), 1)).containsExactly("Boston", "Helsinki", "London", "London", null);
+    assertThat(column(view.sort(0, true), 0)).containsExactly("Linus", "Grace", "Barbara", "Alan", "Ada");
+  }
+
+  @Test
+  void testSortFilteredView() {
+    final TableView view = people().filter(Map.of(2, "> 36")).sort(0, false);
+    assertThat(column(view, 0)).containsExactly("Alan", "Barbara", "Linus");
+  }
+
+  @Test
+  void testSortLargeColumnInParallel() {
+    final Random random = new Random(42);
+    final Object[] values = new Object[100_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i % 97 == 0 ? null : random.nextInt(1000);
+    }
+    final TableView view = new TableView(List.of("v"), new TableColumn[]{TableColumn.of(values)}, null);
+
+    final List<Object> expected = new ArrayList<>(Arrays.asList(values));
+    expected.sort(Comparator.nullsLast(Comparator.comparingInt(o -> (Integer) o)));
+    assertThat(column(view.sort(0, false), 0)).isEqualTo(expected);
+  }
+
+  @Test
+  void testFilterNumberConditions() {
+    final TableView view = people();
+    assertThat(column(view.filter(Map.of(2, ">= 41")), 0)).containsExactly("Alan", "Linus", "Barbara");
+    assertThat(column(view.filter(Map.of(2, "41")), 0)).containsExactly("Alan", "Barbara");
+    assertThat(column(view.filter(Map.of(2, "!= 41")), 0)).containsExactly("Ada", "Linus");
+    assertThat(column(view.filter(Map.of(3, "< 3")), 0)).containsExactly("Ada", "Alan");
+  }
+
+  @Test
+  void testFilterContainsIsCaseInsensitive() {
+    final TableView view = people();
+    assertThat(column(view.filter(Map.of(1, "lon")), 0)).containsExactly("Ada", "Alan");
+    assertThat(column(view.filter(Map.of(0, "A", 1, "on")), 0)).containsExactly("Ada", "Alan", "Barbara");
+    assertThat(view.filter(Map.of(0, " ")).rowCount()).isEqualTo(5);
+  }
+
+  @Test
+  void testGroupByCountsAndMeans() {
+    final TableView grouped = people().groupBy(1);
+    assertThat(grouped.columns).containsExactly("city", "count", "mean(age)", "mean(score)");
+    assertThat(column(grouped, 0)).containsExactly("London", null, "Helsinki", "Boston");
+    assertThat(column(grouped, 1)).containsExactly(2, 1, 1, 1);
+    assertThat(column(grouped, 2)).containsExactly(38.5, null, 54.0, 41.0);
+    assertThat(column(grouped, 3)).containsExactly(2.0, 3.0, null, 4.0);
+  }
+}
@@ -17,6 +17,7 @@ package io.javelit.core;
 
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -54,5 +55,18 @@ public class MarkdownUtilsTest {
   public void testMarkdownConversion(final String input, final String keepWrap, final String removeWrap) {
     assertThat(MarkdownUtils.markdownToHtml(input, false)).isEqualTo(keepWrap);
     assertThat(MarkdownUtils.markdownToHtml(input, true)).isEqualTo(removeWrap);
+    assertThat(MarkdownUtils.markdownToHtmlUncached(input, false)).isEqualTo(keepWrap);
+  }
+
+  @Test
+  public void testRenderCache() {
+    final String markdown = "A **cached** label " + System.nanoTime();
+    final long hitsBefore = MarkdownUtils.cacheStats().hitCount();
+    final String html = MarkdownUtils.markdownToHtml(markdown, true);
+    // same markdown, same wrap option: served from the cache
+    assertThat(MarkdownUtils.markdownToHtml(markdown, true)).isSameAs(html);
+    assertThat(MarkdownUtils.cacheStats().hitCount()).isGreaterThan(hitsBefore);
+    // the wrap option is part of the key
+    assertThat(MarkdownUtils.markdownToHtml(markdown, false)).isEqualTo("<p>" + html + "</p>");
   }
 }
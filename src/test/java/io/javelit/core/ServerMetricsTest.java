@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ServerMetricsTest {
+
+  @Test
+  public void testHistogram() {
+    final ServerMetrics.Histogram histogram = new ServerMetrics.Histogram(new double[]{0.01, 0.1});
+    histogram.observeNanos(5_000_000);
+    histogram.observeNanos(50_000_000);
+    histogram.observeNanos(2_000_000_000);
+    final StringBuilder sb = new StringBuilder();
+    histogram.write(sb, "test_seconds", "phase=\"a\"");
+    assertThat(sb.toString()).isEqualTo("""
+                                            test_seconds_bucket{phase="a",le="0.01"} 1
+                                            test_seconds_bucket{phase="a",le="0.1"} 2
+                                            test_seconds_bucket{phase="a",le="+Inf"} 3
+                                            test_seconds_sum{phase="a"} 2.055
+                                            test_seconds_count{phase="a"} 3
+                                            """);
+  }
+
+  @Test
+  public void testScrape() {
+    final String metrics = ServerMetrics.scrape(new ServerMetrics.SessionsSnapshot(2, 1, 3, 2, 5), 1024, 7);
+    assertThat(metrics).contains("javelit_sessions{state=\"connected\"} 2\n",
+                                 "javelit_sessions{state=\"disconnected\"} 1\n",
+                                 "javelit_session_queued_messages_max 2\n",
+                                 "javelit_undelivered_messages 5\n",
+                                 "javelit_media_store_bytes 1024\n",
+                                 "javelit_app_cache_entries 7\n",
+                                 "# TYPE javelit_run_duration_seconds histogram\n",
+                                 "javelit_reload_duration_seconds_count{phase=\"compile\"}");
+  }
+
+  @Test
+  public void testClientFilter() throws Exception {
+    final Predicate<InetAddress> localOnly = ServerMetrics.clientFilter(List.of());
+    assertThat(localOnly.test(InetAddress.getByName("127.0.0.1"))).isTrue();
+    assertThat(localOnly.test(InetAddress.getByName("::1"))).isTrue();
+    assertThat(localOnly.test(InetAddress.getByName("10.1.2.3"))).isFalse();
+
+    final Predicate<InetAddress> filter = ServerMetrics.clientFilter(List.of("10.0.0.0/8", "192.168.1.7"));
+    assertThat(filter.test(InetAddress.getByName("10.1.2.3"))).isTrue();
+    assertThat(filter.test(InetAddress.getByName("11.1.2.3"))).isFalse();
+    assertThat(filter.test(InetAddress.getByName("192.168.1.7"))).isTrue();
+    assertThat(filter.test(InetAddress.getByName("192.168.1.8"))).isFalse();
+
+    assertThat(ServerMetrics.clientFilter(List.of("*")).test(InetAddress.getByName("8.8.8.8"))).isTrue();
+    assertThatThrownBy(() -> ServerMetrics.clientFilter(List.of("10.0.0.0/33"))).isInstanceOf(IllegalArgumentException.class);
+  }
+}
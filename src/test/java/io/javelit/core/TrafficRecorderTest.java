@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.core;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrafficRecorderTest {
+
+  @Test
+  public void testAnonymize() {
+    assertThat(TrafficRecorder.anonymize("John Doe, 2025-01-31")).isEqualTo("xxxx xxx, 0000-00-00");
+    assertThat(TrafficRecorder.anonymize("+33 6 12 34 56 78 $5")).isEqualTo("x00 0 00 00 00 00 x0");
+    assertThat(TrafficRecorder.anonymize(42)).isEqualTo(0);
+    assertThat(TrafficRecorder.anonymize(3.14)).isEqualTo(0.0);
+    assertThat(TrafficRecorder.anonymize(true)).isEqualTo(true);
+    assertThat(TrafficRecorder.anonymize(null)).isNull();
+    assertThat(TrafficRecorder.anonymize(List.of("ab", 1))).isEqualTo(List.of("xx", 0));
+    assertThat(TrafficRecorder.anonymize(Map.of("q1", List.of("secret")))).isEqualTo(Map.of("x0", List.of("xxxxxx")));
+  }
+
+  @Test
+  public void testRecord(@TempDir final Path tempDir) throws Exception {
+    final Path file = tempDir.resolve("traffic.jsonl");
+    try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+      recorder.record("session-a", "path_update", null, null, "/", Map.of(), 1_000_000_000L, 5_000_000L);
+      recorder.record("session-a", "component_update", "key", "hello", null, null, 1_250_000_000L, null);
+      recorder.record("session-b", "component_update", "key", 3, null, null, 2_000_000_000L, 2_500_000L);
+      recorder.record("session-b", "form_submit", "submit", Map.of("input", "Ada 1"), null, null, 2_100_000_000L, 1_000_000L);
+      // not recorded
+      recorder.record("session-a", "reload", null, null, null, null, 3_000_000_000L, null);
+    }
+    final List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(4);
+    final JsonNode first = Shared.OBJECT_MAPPER.readTree(lines.get(0));
+    assertThat(first.get("session").asInt()).isEqualTo(1);
+    assertThat(first.get("t").asLong()).isEqualTo(0);
+    assertThat(first.get("runMs").asDouble()).isEqualTo(5.0);
+    final JsonNode second = Shared.OBJECT_MAPPER.readTree(lines.get(1));
+    assertThat(second.get("t").asLong()).isEqualTo(250);
+    assertThat(second.get("value").asText()).isEqualTo("xxxxx");
+    assertThat(second.has("runMs")).isFalse();
+    final JsonNode third = Shared.OBJECT_MAPPER.readTree(lines.get(2));
+    assertThat(third.get("session").asInt()).isEqualTo(2);
+    assertThat(third.get("t").asLong()).isEqualTo(0);
+    // the component keys of a form submit are kept, the values are anonymized
+    final JsonNode fourth = Shared.OBJECT_MAPPER.readTree(lines.get(3));
+    assertThat(fourth.get("type").asText()).isEqualTo("form_submit");
+    assertThat(fourth.get("value").get("input").asText()).isEqualTo("xxx 0");
+  }
+}
@@ -15,11 +15,17 @@
  */
 package io.javelit.e2e.components.chart;
 
+import java.util.regex.Pattern;
+
+import com.microsoft.playwright.Locator;
 import io.javelit.components.chart.EchartsComponent;
+import io.javelit.components.chart.LiveChart;
 import io.javelit.core.Jt;
 import io.javelit.core.JtRunnable;
 import io.javelit.e2e.helpers.PlaywrightUtils;
 import org.icepear.echarts.Bar;
+import org.icepear.echarts.Line;
+import org.icepear.echarts.Scatter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -27,6 +33,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
  * End-to-end tests for EchartsComponent.
@@ -55,6 +62,56 @@ public class EchartsComponentE2ETest {
     });
   }
 
+  @Test
+  void testEcharts_LargeSeriesSentAsBinary(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      final Number[][] points = new Number[50_000][];
+      for (int i = 0; i < points.length; i++) {
+        points[i] = new Number[]{i, Math.sin(i / 100.0)};
+      }
+      Scatter chart = new Scatter()
+          .addXAxis()
+          .addYAxis()
+          .addSeries("Signal", points);
+
+      Jt.echarts(chart).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.locator("jt-echarts")).isVisible(WAIT_1_SEC_MAX);
+      // the series data is not in the option json
+      assertThat(page.locator("jt-echarts")).hasAttribute("option", Pattern.compile(".*\\$jtBinary.*"));
+      assertThat(page.locator("jt-echarts canvas")).isVisible(WAIT_1_SEC_MAX);
+    });
+  }
+
+  @Test
+  void testEcharts_LiveChartAppendFromBackgroundThread(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      Line chart = new Line()
+          .addXAxis()
+          .addYAxis()
+          .addSeries("Metric", new Number[][]{{0, 1}, {1, 3}, {2, 2}});
+
+      final LiveChart live = Jt.echarts(chart).useLive();
+      final Thread producer = new Thread(() -> {
+        for (int i = 3; i < 8; i++) {
+          live.append(0, new Number[]{i, i % 3});
+        }
+      });
+      producer.setDaemon(true);
+      producer.start();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      final Locator chart = page.locator("jt-echarts");
+      assertThat(chart).isVisible(WAIT_1_SEC_MAX);
+      assertThat(chart).hasAttribute("live", "");
+      // points are flushed after 100ms
+      page.waitForTimeout(1000);
+      assertEquals(8, chart.evaluate("el => el.chart.getOption().series[0].data.length"));
+    });
+  }
 
   @ParameterizedTest
   @ValueSource(booleans = {false, true})
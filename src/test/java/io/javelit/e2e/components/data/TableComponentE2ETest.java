@@ -17,15 +17,21 @@ package io.javelit.e2e.components.data;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.assertions.LocatorAssertions;
 import io.javelit.core.Jt;
 import io.javelit.core.JtRunnable;
 import io.javelit.e2e.helpers.PlaywrightUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 
@@ -105,4 +111,143 @@ public class TableComponentE2ETest {
       assertThat(page.locator("jt-table").nth(3)).containsText("Inactive");
     });
   }
+
+  @Test
+  void testTypedColumns(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      final Map<String, Object[]> columns = new LinkedHashMap<>();
+      columns.put("int", new Object[]{1, null, 3});
+      columns.put("double", new Object[]{1.5, 2.25, null});
+      columns.put("bool", new Object[]{true, false, null});
+      columns.put("string", new Object[]{"a", "b", "a"});
+      Jt.tableFromArrayColumns(columns).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      final Locator table = page.locator("jt-table");
+      assertThat(table.locator("tbody tr")).hasCount(3);
+      assertThat(table.locator("tbody tr").nth(0).locator("td").nth(0)).hasText("1");
+      assertThat(table.locator("tbody tr").nth(0).locator("td").nth(0)).hasClass("number-cell");
+      assertThat(table.locator("tbody tr").nth(1).locator("td").nth(0)).hasText("null");
+      assertThat(table.locator("tbody tr").nth(1).locator("td").nth(1)).containsText("2.25");
+      assertThat(table.locator("tbody tr").nth(2).locator("td").nth(1)).hasText("null");
+      assertThat(table.locator("tbody tr").nth(0).locator("td").nth(2)).hasText("true");
+      assertThat(table.locator("tbody tr").nth(1).locator("td").nth(2)).hasText("false");
+      assertThat(table.locator("tbody tr").nth(2).locator("td").nth(2)).hasText("null");
+      assertThat(table.locator("tbody tr").nth(2).locator("td").nth(3)).hasText("a");
+    });
+  }
+
+  @Test
+  void testTablesawTable(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      final Table table = Table.create("people",
+                                       StringColumn.create("name", "Alice", "Bob"),
+                                       IntColumn.create("age", 30, 40),
+                                       DoubleColumn.create("score", 1.5, Double.NaN));
+      Jt.table(table).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      final Locator table = page.locator("jt-table");
+      assertThat(table.locator("th")).hasCount(3);
+      assertThat(table.locator("tbody tr").nth(0)).containsText("Alice");
+      assertThat(table.locator("tbody tr").nth(0).locator("td").nth(1)).hasText("30");
+      assertThat(table.locator("tbody tr").nth(1).locator("td").nth(2)).hasText("null");
+    });
+  }
+
+  @Test
+  void testPagedTable(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      final int rowCount = 10_000;
+      final Object[] ids = new Object[rowCount];
+      final Object[] labels = new Object[rowCount];
+      for (int i = 0; i < rowCount; i++) {
+        ids[i] = i;
+        labels[i] = "label_" + i;
+      }
+      final Map<String, Object[]> columns = new LinkedHashMap<>();
+      columns.put("id", ids);
+      columns.put("label", labels);
+      Jt.tableFromArrayColumns(columns).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      final Locator table = page.locator("jt-table");
+      assertThat(table).hasAttribute("paged", "");
+      // first rows are sent with the render
+      assertThat(table).containsText("label_0");
+      // only the visible rows are rendered
+      assertThat(table).not().containsText("label_9999");
+
+      // scroll to the end - rows are requested from the server
+      table.locator(".table-container").evaluate("el => el.scrollTop = el.scrollHeight");
+      assertThat(table).containsText("label_9999");
+      assertThat(table).not().containsText("label_5000");
+    });
+  }
+
+  @Test
+  void testMillionRowsTableScrollsToLastRow(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      // a full height spacer would be taller than browsers allow
+      final int rowCount = 1_200_000;
+      final Object[] ids = new Object[rowCount];
+      for (int i = 0; i < rowCount; i++) {
+        ids[i] = i;
+      }
+      final Map<String, Object[]> columns = new LinkedHashMap<>();
+      columns.put("id", ids);
+      Jt.tableFromArrayColumns(columns).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      final Locator table = page.locator("jt-table");
+      assertThat(table).containsText("0");
+      final Locator container = table.locator(".table-container");
+
+      container.evaluate("el => el.scrollTop = el.scrollHeight / 2");
+      assertThat(table).containsText("59999");
+
+      container.evaluate("el => el.scrollTop = el.scrollHeight");
+      final Locator lastRow = table.locator("tbody tr:not(.spacer)").last();
+      assertThat(lastRow.locator("td").nth(0)).hasText("1199999");
+      // the last row is visible, not hidden below the viewport
+      assertThat(lastRow).isInViewport();
+    });
+  }
+
+  @Test
+  void testInteractiveTable(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      final Map<String, Object[]> columns = new LinkedHashMap<>();
+      columns.put("city", new Object[]{"Paris", "Lyon", "Paris", "Nice"});
+      columns.put("sales", new Object[]{10, 30, 20, null});
+      Jt.tableFromArrayColumns(columns).interactive(true).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      final Locator table = page.locator("jt-table");
+      final Locator firstRow = table.locator("tbody tr:not(.spacer)").first();
+      assertThat(firstRow).containsText("Paris");
+
+      // sort by sales descending
+      table.locator("th.sortable").nth(1).click();
+      table.locator("th.sortable").nth(1).click();
+      assertThat(firstRow.locator("td").nth(1)).hasText("30");
+      assertThat(table.locator("tbody tr:not(.spacer)").last().locator("td").nth(1)).hasText("null");
+
+      // filter
+      table.locator(".filter-input").nth(1).fill("> 15");
+      assertThat(table.locator("tbody tr:not(.spacer)")).hasCount(2);
+
+      // group by city - sort and filters are reset
+      table.locator("select").selectOption("0");
+      assertThat(table.locator("th.sortable")).hasCount(3);
+      assertThat(table.locator("tbody tr:not(.spacer)")).hasCount(3);
+      assertThat(firstRow.locator("td").nth(1)).hasText("2");
+      assertThat(firstRow.locator("td").nth(2)).hasText("15");
+    });
+  }
 }
@@ -24,7 +24,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_100_MS_MAX_CLICK;
 import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX_COUNT;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX_TEXT_C;
 import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_50_MS_MAX;
 
 /**
@@ -71,4 +74,41 @@ public class ContainerComponentE2ETest {
 
     });
   }
+
+  @Test
+  void testAppendOnlyContainer(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      if (Jt.button("Add message").use()) {
+        Jt.sessionState().put("messages", Jt.sessionState().computeIfAbsentInt("messages", k -> 0) + 1);
+      }
+      if (Jt.button("Edit first message").use()) {
+        Jt.sessionState().put("edited", true);
+      }
+      JtContainer container = Jt.container().appendOnly().use();
+      final int messages = Jt.sessionState().computeIfAbsentInt("messages", k -> 0);
+      for (int i = 1; i <= messages; i++) {
+        final boolean edited = i == 1 && Jt.sessionState().computeIfAbsentBoolean("edited", k -> false);
+        Jt.markdown(edited ? "Edited message" : "Message " + i).use(container);
+      }
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.locator("jt-container[append-only]")).isAttached();
+      final Page.LocatorOptions addButton = new Page.LocatorOptions().setHasText("Add message");
+      page.locator("jt-button button", addButton).click(WAIT_100_MS_MAX_CLICK);
+      assertThat(page.locator("jt-container jt-markdown")).hasCount(1, WAIT_1_SEC_MAX_COUNT);
+      page.locator("jt-button button", addButton).click(WAIT_100_MS_MAX_CLICK);
+      page.locator("jt-button button", addButton).click(WAIT_100_MS_MAX_CLICK);
+      // the messages are appended in order
+      assertThat(page.locator("jt-container jt-markdown")).hasCount(3, WAIT_1_SEC_MAX_COUNT);
+      assertThat(page.locator("jt-container jt-markdown").nth(0)).containsText("Message 1", WAIT_1_SEC_MAX_TEXT_C);
+      assertThat(page.locator("jt-container jt-markdown").nth(2)).containsText("Message 3", WAIT_1_SEC_MAX_TEXT_C);
+
+      // a message that changed is still updated
+      page.locator("jt-button button", new Page.LocatorOptions().setHasText("Edit first message"))
+          .click(WAIT_100_MS_MAX_CLICK);
+      assertThat(page.locator("jt-container jt-markdown").nth(0)).containsText("Edited message", WAIT_1_SEC_MAX_TEXT_C);
+      assertThat(page.locator("jt-container jt-markdown")).hasCount(3);
+    });
+  }
 }
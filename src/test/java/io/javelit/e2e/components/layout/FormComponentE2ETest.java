@@ -15,6 +15,8 @@
  */
 package io.javelit.e2e.components.layout;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import io.javelit.core.Jt;
@@ -78,4 +80,33 @@ public class FormComponentE2ETest {
       assertThat(page.getByText("Name: " + "John" + ", Email: " + "john@example.com")).isVisible(WAIT_1_SEC_MAX);
     });
   }
+
+  @Test
+  void testFormValuesAreSentTogetherOnSubmit(TestInfo testInfo) {
+    final AtomicInteger runs = new AtomicInteger();
+    JtRunnable app = () -> {
+      Jt.text("Runs: " + runs.incrementAndGet()).use();
+      JtContainer formContainer = Jt.form().use();
+      String name = Jt.textInput("Your Name").use(formContainer);
+      boolean subscribe = Jt.checkbox("Subscribe").use(formContainer);
+      Jt.formSubmitButton("Submit Form").use(formContainer);
+      Jt.text("Name: " + name + ", Subscribe: " + subscribe).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("Runs: 1")).isVisible(WAIT_1_SEC_MAX);
+      page.locator("jt-text-input[label='Your Name'] input").fill("Ada");
+      // get out of the input
+      page.getByText("Runs: 1").click(WAIT_1_SEC_MAX_CLICK);
+      page.locator("jt-checkbox .checkbox-visual").click(WAIT_1_SEC_MAX_CLICK);
+      // the changes are kept in the browser until the form is submitted
+      assertThat(page.getByText("Runs: 1")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.getByText("Name: , Subscribe: false")).isVisible(WAIT_1_SEC_MAX);
+
+      // all the values are applied in a single run
+      page.locator("jt-form-submit-button button").click(WAIT_1_SEC_MAX_CLICK);
+      assertThat(page.getByText("Runs: 2")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.getByText("Name: Ada, Subscribe: true")).isVisible(WAIT_1_SEC_MAX);
+    });
+  }
 }
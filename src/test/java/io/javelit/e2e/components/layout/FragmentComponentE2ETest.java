@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.e2e.components.layout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.microsoft.playwright.Page;
+import io.javelit.core.Jt;
+import io.javelit.core.JtRunnable;
+import io.javelit.e2e.helpers.PlaywrightUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+import static io.javelit.e2e.helpers.PlaywrightUtils.EXACT_MATCH;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_100_MS_MAX_CLICK;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX_CLICK;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_5_SEC_MAX;
+
+/**
+ * End-to-end tests for FragmentComponent.
+ */
+public class FragmentComponentE2ETest {
+
+  @Test
+  void testFragmentRerunsAlone(TestInfo testInfo) {
+    final AtomicInteger fullRuns = new AtomicInteger();
+    JtRunnable app = () -> {
+      final int run = fullRuns.incrementAndGet();
+      Jt.text("Full runs: " + run).use();
+      Jt.button("Outside button").use();
+
+      Jt.fragment(container -> {
+        final int clicks = Jt.sessionState().computeIfAbsentInt("clicks", k -> 0);
+        if (Jt.button("Fragment button").use(container)) {
+          Jt.sessionState().put("clicks", clicks + 1);
+        }
+        Jt.text("Fragment clicks: " + Jt.sessionState().getInt("clicks") + " - seen full run " + run).use(container);
+      }).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("Full runs: 1")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.getByText("Fragment clicks: 0 - seen full run 1")).isVisible(WAIT_1_SEC_MAX);
+
+      // only the fragment is re-run
+      page.locator("jt-button button", new Page.LocatorOptions().setHasText("Fragment button"))
+          .click(WAIT_100_MS_MAX_CLICK);
+      assertThat(page.getByText("Fragment clicks: 1 - seen full run 1")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.getByText("Full runs: 1")).isVisible(WAIT_1_SEC_MAX);
+
+      // a widget outside the fragment re-runs the whole app
+      page.locator("jt-button button", new Page.LocatorOptions().setHasText("Outside button"))
+          .click(WAIT_100_MS_MAX_CLICK);
+      assertThat(page.getByText("Full runs: 2")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.getByText("Fragment clicks: 1 - seen full run 2")).isVisible(WAIT_1_SEC_MAX);
+    });
+  }
+
+  @Test
+  void testFragmentRunEvery(TestInfo testInfo) {
+    final AtomicInteger fullRuns = new AtomicInteger();
+    final AtomicInteger fragmentRuns = new AtomicInteger();
+    JtRunnable app = () -> {
+      Jt.text("Full runs: " + fullRuns.incrementAndGet()).use();
+      Jt.fragment(container -> Jt.text("Fragment runs: " + fragmentRuns.incrementAndGet()).use(container))
+        .runEvery(Duration.ofMillis(200))
+        .use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("Fragment runs: 4")).isVisible(WAIT_5_SEC_MAX);
+      assertThat(page.getByText("Full runs: 1")).isVisible(WAIT_1_SEC_MAX);
+    });
+  }
+
+  @Test
+  void testLazyFragmentInTab(TestInfo testInfo) {
+    final AtomicInteger lazyRuns = new AtomicInteger();
+    JtRunnable app = () -> {
+      var tabs = Jt.tabs(List.of("Summary", "Details")).use();
+      Jt.text("Summary content").use(tabs.tab(0));
+      Jt.fragment(container -> Jt.text("Details runs: " + lazyRuns.incrementAndGet()).use(container))
+        .lazy()
+        .use(tabs.tab(1));
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("Summary content")).isVisible(WAIT_1_SEC_MAX);
+      // the inactive tab is not run
+      assertThat(page.locator("jt-text", new Page.LocatorOptions().setHasText("Details runs"))).hasCount(0);
+
+      // selecting the tab runs the fragment only
+      page.getByText("Details", EXACT_MATCH).click(WAIT_1_SEC_MAX_CLICK);
+      assertThat(page.getByText("Details runs: 1")).isVisible(WAIT_1_SEC_MAX);
+    });
+  }
+
+  @Test
+  void testAsyncFragmentDoesNotBlockTheApp(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      Jt.async(() -> {
+        try {
+          Thread.sleep(1500);
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        return 42;
+      }, (result, container) -> Jt.text("Async result: " + result).use(container)).use();
+      Jt.text("After the async fragment").use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      // the rest of the app is rendered while the supplier runs
+      assertThat(page.getByText("After the async fragment")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.getByText("Loading...")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.getByText("Async result: 42")).isVisible(WAIT_5_SEC_MAX);
+      assertThat(page.getByText("Loading...")).hasCount(0);
+    });
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.e2e.components.status;
+
+import io.javelit.core.Jt;
+import io.javelit.core.JtRunnable;
+import io.javelit.e2e.helpers.PlaywrightUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_5_SEC_MAX;
+
+public class ProgressComponentE2ETest {
+
+  @Test
+  void testProgressUpdatedDuringRun(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      var progress = Jt.progress().text("Starting").use();
+      for (int i = 1; i <= 10; i++) {
+        Thread.sleep(200);
+        progress.update(i / 10.0, "Step " + i + "/10");
+      }
+      Jt.text("Finished").use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.locator("jt-progress")).isVisible(WAIT_1_SEC_MAX);
+      // intermediate updates are displayed before the end of the run
+      assertThat(page.getByText("Step 5/10")).isVisible(WAIT_5_SEC_MAX);
+      assertThat(page.getByText("Step 10/10")).isVisible(WAIT_5_SEC_MAX);
+      assertThat(page.getByText("Finished")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.locator("jt-progress [role='progressbar']")).hasAttribute("aria-valuenow", "100");
+    });
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.e2e.components.status;
+
+import io.javelit.components.status.StatusComponent;
+import io.javelit.core.Jt;
+import io.javelit.core.JtRunnable;
+import io.javelit.e2e.helpers.PlaywrightUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_5_SEC_MAX;
+
+public class StatusComponentE2ETest {
+
+  @Test
+  void testStatusUpdatedDuringRun(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      var status = Jt.status("Downloading").use();
+      Thread.sleep(1000);
+      status.update("Training");
+      Thread.sleep(1000);
+      status.update(StatusComponent.State.COMPLETE, "Model ready");
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("Downloading")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.locator("jt-status .loading-spinner")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.getByText("Training")).isVisible(WAIT_5_SEC_MAX);
+      assertThat(page.getByText("Model ready")).isVisible(WAIT_5_SEC_MAX);
+      assertThat(page.locator("jt-status .loading-spinner")).hasCount(0);
+    });
+  }
+}
@@ -15,6 +15,9 @@
  */
 package io.javelit.e2e.components.text;
 
+import java.util.Iterator;
+import java.util.stream.Stream;
+
 import com.microsoft.playwright.Locator;
 import io.javelit.core.Jt;
 import io.javelit.core.JtRunnable;
@@ -103,4 +106,31 @@ public class MarkdownComponentE2ETest {
       assertThat(page.locator("jt-markdown").nth(3).locator("blockquote")).isVisible(WAIT_1_SEC_MAX);
     });
   }
+
+  @Test
+  void testMarkdownStream(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      final Iterator<String> chunks = Stream.of("# Streamed", " title\n\n", "First **bold**", " paragraph.\n\n", "Last words")
+                                            .map(chunk -> {
+                                              try {
+                                                Thread.sleep(50);
+                                              } catch (InterruptedException e) {
+                                                throw new RuntimeException(e);
+                                              }
+                                              return chunk;
+                                            })
+                                            .iterator();
+      final String text = Jt.writeStream(chunks);
+      Jt.text("length: " + text.length()).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      final Locator markdown = page.locator("jt-markdown");
+      assertThat(markdown.locator("h1")).hasText("Streamed title", WAIT_1_SEC_MAX_TEXT);
+      assertThat(markdown.locator("strong")).hasText("bold", WAIT_1_SEC_MAX_TEXT);
+      assertThat(markdown).containsText("Last words", WAIT_1_SEC_MAX_TEXT);
+      // the component below the stream is only added once the stream is consumed
+      assertThat(page.getByText("length: 55")).isVisible(WAIT_1_SEC_MAX);
+    });
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.e2e.core;
+
+import java.util.List;
+
+import com.microsoft.playwright.Page;
+import io.javelit.core.Jt;
+import io.javelit.core.JtRunnable;
+import io.javelit.e2e.helpers.PlaywrightUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_5_SEC_MAX;
+
+/**
+ * End-to-end tests for Jt.parallel.
+ */
+public class ParallelE2ETest {
+
+  @Test
+  void testBlocksRunConcurrentlyAndErrorsAreIsolated(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      var cols = Jt.columns(3).use();
+      final long start = System.nanoTime();
+      Jt.parallel(List.of(cols.col(0), cols.col(1), cols.col(2)), (i, col) -> {
+        Thread.sleep(1000);
+        if (i == 1) {
+          throw new IllegalStateException("Panel 1 failed");
+        }
+        Jt.text("Panel " + i).use(col);
+      });
+      final long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+      Jt.text("Blocks ran concurrently: " + (elapsedMs < 2000)).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("Blocks ran concurrently: true")).isVisible(WAIT_5_SEC_MAX);
+      assertThat(page.locator("div[slot='col_0']", new Page.LocatorOptions().setHasText("Panel 0"))).isVisible(
+          WAIT_1_SEC_MAX);
+      assertThat(page.locator("div[slot='col_2']", new Page.LocatorOptions().setHasText("Panel 2"))).isVisible(
+          WAIT_1_SEC_MAX);
+      // the error is displayed in the column of the failed block
+      assertThat(page.locator("div[slot='col_1'] jt-callout")).isVisible(WAIT_1_SEC_MAX);
+      assertThat(page.locator("div[slot='col_1']", new Page.LocatorOptions().setHasText("Panel 1 failed"))).isVisible(
+          WAIT_1_SEC_MAX);
+    });
+  }
+}
@@ -124,4 +124,29 @@ public class ToolbarE2ETest {
           .containsText("Embed code copied to clipboard", WAIT_1_SEC_MAX_TEXT_C);
     });
   }
+
+  @Test
+  void testRunProfiler(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      Jt.text("Fast text").use();
+      Thread.sleep(300);
+      Jt.text("After slow code").key("slow").use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("After slow code")).isVisible(WAIT_1_SEC_MAX);
+      // localhost is a developer session - the profiler is shown with the duration of the last run
+      final Locator profilerButton = page.locator("jt-run-profiler .profiler-button");
+      assertThat(profilerButton).isVisible(WAIT_1_SEC_MAX);
+      assertThat(profilerButton).containsText("ms", WAIT_1_SEC_MAX_TEXT_C);
+
+      profilerButton.click(WAIT_1_SEC_MAX_CLICK);
+      final Locator panel = page.locator("jt-run-profiler .panel");
+      assertThat(panel).isVisible(WAIT_1_SEC_MAX);
+      assertThat(panel).containsText("Text (slow)", WAIT_1_SEC_MAX_TEXT_C);
+      // the component after the sleep is highlighted as one of the slowest blocks
+      assertThat(panel.locator(".row.slow").filter(new Locator.FilterOptions().setHasText("Text (slow)")))
+          .isVisible(WAIT_1_SEC_MAX);
+    });
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2025 Cyril de Catheu (cdecatheu@hey.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.javelit.e2e.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.microsoft.playwright.Locator;
+import io.javelit.core.Jt;
+import io.javelit.core.JtRunnable;
+import io.javelit.e2e.helpers.PlaywrightUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+import static io.javelit.e2e.helpers.PlaywrightUtils.WAIT_1_SEC_MAX;
+
+/**
+ * End-to-end tests for Jt calls from worker threads with Jt.withAppContext.
+ */
+public class WorkerThreadsE2ETest {
+
+  @Test
+  void testComponentsAddedFromWorkerThreads(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      var cols = Jt.columns(3).use();
+      try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int i = 0; i < 3; i++) {
+          final int col = i;
+          executor.submit(Jt.withAppContext(() -> {
+            for (int j = 0; j < 3; j++) {
+              Jt.text("col " + col + " item " + j).use(cols.col(col));
+            }
+          }));
+        }
+      }
+      Jt.text("After the workers").use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("After the workers")).isVisible(WAIT_1_SEC_MAX);
+      for (int i = 0; i < 3; i++) {
+        // components added by a thread are in the order of its calls
+        final Locator texts = page.locator("div[slot='col_" + i + "'] jt-text");
+        assertThat(texts).hasCount(3);
+        for (int j = 0; j < 3; j++) {
+          assertThat(texts.nth(j)).containsText("col " + i + " item " + j);
+        }
+      }
+    });
+  }
+
+  @Test
+  void testConcurrentAdditionsToTheSameContainerAreRejected(TestInfo testInfo) {
+    JtRunnable app = () -> {
+      // both tasks add a component to MAIN while the other one is running
+      final CyclicBarrier barrier = new CyclicBarrier(2);
+      final List<Future<?>> results = new ArrayList<>();
+      try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int i = 0; i < 2; i++) {
+          final int task = i;
+          results.add(executor.submit(Jt.withAppContext(() -> {
+            barrier.await();
+            try {
+              Jt.text("task " + task).use();
+            } finally {
+              barrier.await();
+            }
+            return null;
+          })));
+        }
+      }
+      int rejected = 0;
+      for (final Future<?> result : results) {
+        try {
+          result.get();
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof IllegalArgumentException) {
+            rejected++;
+          }
+        }
+      }
+      Jt.text("Rejected: " + rejected).use();
+    };
+
+    PlaywrightUtils.runInBrowser(testInfo, app, page -> {
+      assertThat(page.getByText("Rejected: 1")).isVisible(WAIT_1_SEC_MAX);
+    });
+  }
+}